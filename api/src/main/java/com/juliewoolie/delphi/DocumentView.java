@@ -92,6 +92,18 @@ public interface DocumentView {
    */
   boolean isSelected();
 
+  /**
+   * Gets the frame time statistics of this view.
+   * <p>
+   * Can be used to find out which part of a view's tick, style updates,
+   * layout, entity updates, scripts or event handling, is the most
+   * expensive.
+   *
+   * @return View statistics
+   */
+  @NotNull
+  ViewStats getStats();
+
   /**
    * Apply a transformation to the view's screen.
    *
@@ -0,0 +1,127 @@
+package com.juliewoolie.delphi;
+
+/**
+ * Frame time statistics of a {@link DocumentView}.
+ * <p>
+ * Every server tick, the time a view spends in each {@link Phase} is recorded
+ * as one sample. Statistics are calculated over the last {@link #WINDOW_SIZE}
+ * samples.
+ * <p>
+ * Phases can be nested, the time spent dispatching an event, for example,
+ * includes the time taken by the scripts and style updates the event's
+ * listeners cause.
+ *
+ * @see DocumentView#getStats()
+ */
+public interface ViewStats {
+
+  /**
+   * Amount of ticks the statistics are calculated over: {@code 200}
+   */
+  int WINDOW_SIZE = 200;
+
+  /**
+   * Gets the timings of a phase
+   * @param phase Phase
+   * @return Phase timings
+   */
+  Timings getTimings(Phase phase);
+
+  /**
+   * Gets the amount of display entities the view currently has
+   * @return Entity count
+   */
+  int getEntityCount();
+
+  /**
+   * Gets the amount of ticks the view has been ticked since it was opened or
+   * the statistics were last reset
+   *
+   * @return Tick count
+   */
+  long getTickCount();
+
+  /**
+   * Clears all recorded statistics
+   */
+  void reset();
+
+  /**
+   * The parts of a view's tick that are timed
+   */
+  enum Phase {
+    /**
+     * Computing element styles after the DOM or stylesheets changed
+     */
+    STYLE,
+
+    /**
+     * Laying out the render tree
+     */
+    LAYOUT,
+
+    /**
+     * Spawning and updating display entities
+     */
+    ENTITY_SYNC,
+
+    /**
+     * Running script timers, event attributes and script elements
+     */
+    SCRIPT,
+
+    /**
+     * Dispatching input and view events
+     */
+    EVENTS
+  }
+
+  /**
+   * Timing statistics of a single {@link Phase}.
+   * <p>
+   * Ticks in which the phase didn't run count as a sample with a time of 0.
+   */
+  interface Timings {
+
+    /**
+     * Gets the amount of ticks the statistics are calculated over
+     * @return Sample count, at most {@link #WINDOW_SIZE}
+     */
+    int getSampleCount();
+
+    /**
+     * Gets the amount of times the phase ran during the sampled ticks
+     * @return Run count
+     */
+    long getCallCount();
+
+    /**
+     * Gets the time spent in the phase in the last tick
+     * @return Last tick's time, in milliseconds
+     */
+    double getLastMillis();
+
+    /**
+     * Gets the average time per tick
+     * @return Average time, in milliseconds
+     */
+    double getAverageMillis();
+
+    /**
+     * Gets the longest time spent in the phase in a single tick
+     * @return Max time, in milliseconds
+     */
+    double getMaxMillis();
+
+    /**
+     * Gets a percentile of the time spent per tick.
+     *
+     * @param percentile Percentile, {@code 0} to {@code 100}
+     * @return Percentile time, in milliseconds
+     *
+     * @throws IllegalArgumentException If {@code percentile} is less than 0
+     *                                  or greater than 100
+     */
+    double getPercentileMillis(double percentile) throws IllegalArgumentException;
+  }
+}
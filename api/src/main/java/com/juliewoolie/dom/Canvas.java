@@ -1,6 +1,7 @@
 package com.juliewoolie.dom;
 
 import com.juliewoolie.dom.style.Color;
+import java.nio.ByteBuffer;
 import org.jetbrains.annotations.NotNull;
 import org.joml.Vector3fc;
 import org.joml.Vector3ic;
@@ -279,4 +280,81 @@ public interface Canvas {
    */
   void setColori(int x, int y, @NotNull Vector3ic color)
       throws IllegalArgumentException, NullPointerException;
+
+  /**
+   * Fill a rectangle with a single color.
+   * <p>
+   * Like every bulk operation, this only raises a single change
+   * notification, regardless of how many pixels were changed.
+   *
+   * @param x Rectangle X coordinate
+   * @param y Rectangle Y coordinate
+   * @param width Rectangle width
+   * @param height Rectangle height
+   * @param color Fill color
+   *
+   * @throws NullPointerException If {@code color} is {@code null}
+   * @throws IllegalArgumentException If the rectangle is not inside the canvas
+   */
+  void fillRect(int x, int y, int width, int height, @NotNull Color color)
+      throws NullPointerException, IllegalArgumentException;
+
+  /**
+   * Copy a rectangle of pixels from another canvas onto this canvas.
+   * <p>
+   * Pixels are copied as is, without any alpha blending. The source may be
+   * this canvas, overlapping areas are copied correctly.
+   *
+   * @param source Source canvas
+   * @param srcX Source rectangle X coordinate
+   * @param srcY Source rectangle Y coordinate
+   * @param width Rectangle width
+   * @param height Rectangle height
+   * @param destX Destination X coordinate
+   * @param destY Destination Y coordinate
+   *
+   * @throws NullPointerException If {@code source} is {@code null}
+   * @throws IllegalArgumentException If the rectangle is not inside either canvas
+   */
+  void blit(@NotNull Canvas source, int srcX, int srcY, int width, int height, int destX, int destY)
+      throws NullPointerException, IllegalArgumentException;
+
+  /**
+   * Set a rectangle of pixels from an array of ARGB colors.
+   * <p>
+   * The array is read row by row, {@code width} colors per row, starting at
+   * index 0. Each color is packed the same way as {@link Color#argb()}.
+   *
+   * @param x Rectangle X coordinate
+   * @param y Rectangle Y coordinate
+   * @param width Rectangle width
+   * @param height Rectangle height
+   * @param argb Pixel colors
+   *
+   * @throws NullPointerException If {@code argb} is {@code null}
+   * @throws IllegalArgumentException If the rectangle is not inside the canvas, or if the
+   *         array is shorter than {@code width * height}
+   */
+  void setPixels(int x, int y, int width, int height, int @NotNull [] argb)
+      throws NullPointerException, IllegalArgumentException;
+
+  /**
+   * Set a rectangle of pixels from a buffer of RGBA bytes.
+   * <p>
+   * The buffer is read row by row from its current position, 4 bytes per
+   * pixel in red, green, blue, alpha order, the same layout as an HTML
+   * canvas' image data. The buffer's position is not changed.
+   *
+   * @param x Rectangle X coordinate
+   * @param y Rectangle Y coordinate
+   * @param width Rectangle width
+   * @param height Rectangle height
+   * @param rgba Pixel data
+   *
+   * @throws NullPointerException If {@code rgba} is {@code null}
+   * @throws IllegalArgumentException If the rectangle is not inside the canvas, or if the
+   *         buffer has less than {@code width * height * 4} bytes remaining
+   */
+  void setPixels(int x, int y, int width, int height, @NotNull ByteBuffer rgba)
+      throws NullPointerException, IllegalArgumentException;
 }
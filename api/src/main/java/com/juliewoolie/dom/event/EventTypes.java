@@ -89,16 +89,22 @@ public interface EventTypes {
 
   /**
    * Called when the mouse scrolls up or down.
+   * <p>
+   * Unless cancelled, scrolls the closest {@code overflow: scroll} element
+   * that can still be scrolled in the event's direction.
+   * <p>
+   * Scrolling is detected through the player's selected hotbar slot
+   * changing, so pressing a number key also triggers this event.
    *
    * <table>
    *   <caption>Details</caption>
    *   <tr>
    *     <td>Bubbles</td>
-   *     <td>{@code false}</td>
+   *     <td>{@code true}</td>
    *   </tr>
    *   <tr>
    *     <td>Cancellable</td>
-   *     <td>{@code false}</td>
+   *     <td>{@code true}</td>
    *   </tr>
    *   <tr>
    *     <td>Type</td>
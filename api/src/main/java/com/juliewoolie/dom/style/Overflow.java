@@ -0,0 +1,21 @@
+package com.juliewoolie.dom.style;
+
+public enum Overflow implements KeywordRepresentable {
+  VISIBLE ("visible"),
+  HIDDEN ("hidden"),
+  SCROLL ("scroll"),
+  ;
+
+  public static final Overflow DEFAULT = VISIBLE;
+
+  private final String keyword;
+
+  Overflow(String keyword) {
+    this.keyword = keyword;
+  }
+
+  @Override
+  public String getKeyword() {
+    return keyword;
+  }
+}
@@ -167,6 +167,16 @@ public sealed interface Primitive permits PrimitiveImpl {
      * Represents an angle in a number of turns around the circle. A full circle is 1 turn.
      */
     TURN ("turn"),
+
+    /**
+     * Represents a duration in seconds.
+     */
+    S ("s"),
+
+    /**
+     * Represents a duration in milliseconds.
+     */
+    MS ("ms"),
     ;
 
     private final String unit;
@@ -183,6 +193,14 @@ public sealed interface Primitive permits PrimitiveImpl {
       return new Unit[]{ DEG, GRAD, RAD, TURN, NONE };
     }
 
+    /**
+     * Get an array of time units. (Includes {@link #NONE}, which is treated as game ticks)
+     * @return Time unit array
+     */
+    public static Unit[] timeUnits() {
+      return new Unit[]{ S, MS, NONE };
+    }
+
     /**
      * Get a string representation of the unit.
      * @return Unit CSS representation
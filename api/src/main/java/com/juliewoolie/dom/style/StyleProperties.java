@@ -888,6 +888,52 @@ public interface StyleProperties extends StylePropertiesReadonly {
    */
   StyleProperties setVerticalAlign(@Nullable String value);
 
+  /**
+   * Set the {@code overflow} property.
+   * @param value Overflow value
+   * @return {@code this}
+   */
+  StyleProperties setOverflow(@Nullable Overflow value);
+
+  /**
+   * Set the {@code overflow} property.
+   * @param value Overflow value
+   * @return {@code this}
+   */
+  StyleProperties setOverflow(@Nullable String value);
+
+  /**
+   * Set the {@code transition} property.
+   * <p>
+   * Changes to an element's position, size and colors are interpolated by the
+   * client over the given duration. Unitless values are measured in game ticks.
+   *
+   * @param value Transition duration
+   * @return {@code this}
+   */
+  StyleProperties setTransition(@Nullable Primitive value);
+
+  /**
+   * Set the {@code transition} property.
+   * @param value Transition duration
+   * @return {@code this}
+   */
+  StyleProperties setTransition(@Nullable String value);
+
+  /**
+   * Set the {@code transition-delay} property.
+   * @param value Delay before a transition starts
+   * @return {@code this}
+   */
+  StyleProperties setTransitionDelay(@Nullable Primitive value);
+
+  /**
+   * Set the {@code transition-delay} property.
+   * @param value Delay before a transition starts
+   * @return {@code this}
+   */
+  StyleProperties setTransitionDelay(@Nullable String value);
+
   /**
    * Set the {@code flex-grow} property.
    * <p>
@@ -178,6 +178,24 @@ public interface StylePropertiesReadonly {
    */
   @Nullable String getVerticalAlign();
 
+  /**
+   * Get the {@code overflow} property value.
+   * @return Overflow property, or {@code null}, if not set
+   */
+  @Nullable String getOverflow();
+
+  /**
+   * Get the {@code transition} property value.
+   * @return Transition duration, or {@code null}, if not set
+   */
+  @Nullable String getTransition();
+
+  /**
+   * Get the {@code transition-delay} property value.
+   * @return Transition delay, or {@code null}, if not set
+   */
+  @Nullable String getTransitionDelay();
+
   /**
    * Get the {@code flex-grow} property value.
    * @return Flex Grow, or {@code null}, if not set.
@@ -0,0 +1,58 @@
+plugins {
+  java
+  id("me.champeau.jmh") version "0.7.2"
+}
+
+repositories {
+  mavenCentral()
+}
+
+val paperApi = "io.papermc.paper:paper-api:1.21.7-R0.1-SNAPSHOT"
+
+dependencies {
+  jmh(project(":api"))
+  jmh(project(":chimera"))
+  jmh(project(":dom"))
+  jmh(project(":nlayout"))
+  jmh(project(":render"))
+
+  // Every module only has the server API at compile time, the benchmarks
+  // have to bring it, and the libraries it provides, onto the runtime classpath
+  jmh(paperApi)
+  jmh("org.ccil.cowan.tagsoup:tagsoup:1.2.1")
+  jmh("org.slf4j:slf4j-simple:2.0.13")
+}
+
+jmh {
+  jmhVersion.set("1.37")
+
+  fork.set(1)
+  warmupIterations.set(3)
+  iterations.set(5)
+
+  // Allocation rate per operation, next to the timing results
+  profilers.add("gc")
+
+  resultFormat.set("JSON")
+  resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+
+  // -PjmhInclude=Canvas only runs the benchmarks matching the pattern
+  if (project.hasProperty("jmhInclude")) {
+    includes.add(project.property("jmhInclude").toString())
+  }
+}
+
+// Copies the last JMH results to results/<commit>.json, so runs from
+// different commits can be compared with any JMH result visualizer
+tasks.register<Copy>("archiveJmhResults") {
+  group = "benchmark"
+  description = "Copies the latest JMH results into the results directory, named after the current commit"
+
+  val commit = providers.exec {
+    commandLine("git", "rev-parse", "--short", "HEAD")
+  }.standardOutput.asText.map { it.trim() }
+
+  from(layout.buildDirectory.file("results/jmh/results.json"))
+  into(layout.projectDirectory.dir("results"))
+  rename { "${commit.get()}.json" }
+}
@@ -0,0 +1,140 @@
+package com.juliewoolie.benchmarks;
+
+import static com.juliewoolie.delphidom.DelphiCanvas.CHANNELS;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_ALPHA;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_BLUE;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_GREEN;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_RED;
+
+import com.juliewoolie.delphirender.object.CanvasMesher;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Meshes canvas pixel data into quads.
+ * <p>
+ * Every quad becomes one text display entity, so next to the time taken
+ * the {@code quads} counter reports how many entities were needed, and
+ * {@code pixels} how many would be needed without meshing. JMH sums
+ * these over each iteration, divide them by {@code meshes} for the
+ * amount per canvas.
+ * <p>
+ * {@link #meshLegacy(Counters)} runs the mesher canvases used before
+ * {@link CanvasMesher}, as a baseline for both the time and entity count.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CanvasMeshBenchmark {
+
+  static final int[] TERRAIN = {
+      0xff3b7d2b, 0xff4f9a36, 0xff2d5fb8, 0xffc2b280, 0xff7a7a7a, 0xfff0f0f0
+  };
+
+  @Param({"64", "128"})
+  int size;
+
+  @Param({"SOLID", "MINIMAP", "NOISE"})
+  String pattern;
+
+  final CanvasMesher mesher = new CanvasMesher();
+  final IntArrayList quads = new IntArrayList();
+
+  byte[] data;
+  int opaquePixels;
+
+  LegacyCanvasMesher legacyMesher;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Counters {
+    public long meshes;
+    public long quads;
+    public long pixels;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      meshes = 0;
+      quads = 0;
+      pixels = 0;
+    }
+  }
+
+  @Setup
+  public void setup() {
+    data = new byte[size * size * CHANNELS];
+    Random random = new Random(size);
+
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        int argb = switch (pattern) {
+          case "SOLID" -> 0xff202020;
+          case "MINIMAP" -> minimapPixel(x, y);
+          default -> random.nextInt() | 0xff000000;
+        };
+
+        setPixel(x + (y * size), argb);
+      }
+    }
+
+    legacyMesher = new LegacyCanvasMesher(data, size, size);
+  }
+
+  /* Blocky terrain with a transparent border and a path through it */
+  int minimapPixel(int x, int y) {
+    if (x < 2 || y < 2 || x >= size - 2 || y >= size - 2) {
+      return 0;
+    }
+    if (x == y || x == y + 1) {
+      return 0xff8b5a2b;
+    }
+
+    int cell = ((x / 8) * 31) ^ ((y / 6) * 17);
+    return TERRAIN[Math.floorMod(cell, TERRAIN.length)];
+  }
+
+  void setPixel(int pixel, int argb) {
+    int idx = pixel * CHANNELS;
+    data[idx + CH_ALPHA] = (byte) (argb >>> 24);
+    data[idx + CH_RED] = (byte) (argb >>> 16);
+    data[idx + CH_GREEN] = (byte) (argb >>> 8);
+    data[idx + CH_BLUE] = (byte) argb;
+
+    if ((argb >>> 24) != 0) {
+      opaquePixels++;
+    }
+  }
+
+  @Benchmark
+  public int mesh(Counters counters) {
+    int count = mesher.mesh(data, size, size, quads);
+
+    counters.meshes++;
+    counters.quads += count;
+    counters.pixels += opaquePixels;
+
+    return count;
+  }
+
+  @Benchmark
+  public int meshLegacy(Counters counters) {
+    int count = legacyMesher.mesh();
+
+    counters.meshes++;
+    counters.quads += count;
+    counters.pixels += opaquePixels;
+
+    return count;
+  }
+}
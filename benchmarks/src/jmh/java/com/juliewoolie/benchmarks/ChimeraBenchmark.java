@@ -0,0 +1,48 @@
+package com.juliewoolie.benchmarks;
+
+import com.juliewoolie.chimera.ChimeraStylesheet;
+import com.juliewoolie.chimera.parse.ChimeraParser;
+import com.juliewoolie.chimera.parse.ast.SheetStatement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parsing and compiling a large SCSS stylesheet.
+ * <p>
+ * {@link #parse()} only builds the AST, {@link #compile()} also runs the
+ * interpreter and builds the final rule set, like a document load does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChimeraBenchmark {
+
+  @Param({"10", "100"})
+  int variants;
+
+  String source;
+
+  @Setup
+  public void setup() {
+    source = Fixtures.menuStylesheet(variants);
+  }
+
+  @Benchmark
+  public SheetStatement parse() {
+    ChimeraParser parser = new ChimeraParser(source);
+    parser.getErrors().setListener(error -> {});
+    return parser.stylesheet();
+  }
+
+  @Benchmark
+  public ChimeraStylesheet compile() {
+    return Fixtures.parseSheet(source);
+  }
+}
@@ -0,0 +1,62 @@
+package com.juliewoolie.benchmarks;
+
+import com.juliewoolie.delphidom.DelphiDocument;
+import com.juliewoolie.delphidom.parser.DelphiSaxParser;
+import com.juliewoolie.delphidom.parser.DocumentTemplate;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.xml.sax.InputSource;
+
+/**
+ * Loads a menu document from XML, and from a recorded template like cached
+ * documents are.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DocumentLoadBenchmark {
+
+  @Param({"10", "100"})
+  int cards;
+
+  String source;
+  DocumentTemplate template;
+
+  @Setup
+  public void setup() throws Exception {
+    source = Fixtures.menuDocument(cards);
+
+    DelphiSaxParser handler = new DelphiSaxParser();
+    handler.recordTemplate();
+    DelphiSaxParser.runParser(input(), handler);
+
+    template = handler.getTemplate();
+    if (template == null) {
+      throw new IllegalStateException("Failed to record document template");
+    }
+  }
+
+  InputSource input() {
+    InputSource input = new InputSource(new StringReader(source));
+    input.setSystemId("benchmark.xml");
+    return input;
+  }
+
+  @Benchmark
+  public DelphiDocument parse() throws Exception {
+    return DelphiSaxParser.runParser(input(), new DelphiSaxParser()).getDocument();
+  }
+
+  @Benchmark
+  public DelphiDocument instantiate() throws Exception {
+    return template.instantiate(new DelphiSaxParser());
+  }
+}
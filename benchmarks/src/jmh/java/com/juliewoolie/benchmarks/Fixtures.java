@@ -0,0 +1,249 @@
+package com.juliewoolie.benchmarks;
+
+import com.juliewoolie.chimera.ChimeraStylesheet;
+import com.juliewoolie.chimera.parse.Chimera;
+import com.juliewoolie.delphidom.DelphiDocument;
+import com.juliewoolie.delphidom.DelphiElement;
+
+/**
+ * Generates the documents and stylesheets the benchmarks run against.
+ * <p>
+ * The fixtures are modelled after a shop menu: a header, a grid of item
+ * cards with a title, a description and buttons, and a footer. Every card
+ * is 10 nodes, so 100 cards make a DOM of roughly 1,000 nodes.
+ */
+public final class Fixtures {
+  private Fixtures() {}
+
+  public static final int DEFAULT_CARDS = 100;
+
+  static final String[] THEMES = {"common", "rare", "epic", "legendary"};
+
+  static final String BASE_STYLE = """
+      $menu-bg: darken(white, 45%);
+      $card-bg: darken(gray, 20%);
+      $card-bg-hover: lighten($card-bg, 20%);
+      $button-bg: darken(gray, 10%);
+      $button-bg-active: darken($button-bg, 25%);
+      $gap: 2px;
+
+      :root {
+        background-color: $menu-bg;
+        min-width: 100vw;
+        min-height: 100vh;
+        padding: 1.5px;
+      }
+
+      div {
+        display: block;
+      }
+      span {
+        display: inline;
+      }
+      button {
+        display: inline-block;
+        padding: 1px;
+        background-color: $button-bg;
+
+        &:hover {
+          background-color: lighten($button-bg, 10%);
+        }
+        &:active {
+          background-color: $button-bg-active;
+        }
+      }
+
+      .header {
+        display: flex;
+        justify-content: space-between;
+        margin-bottom: $gap;
+
+        .title {
+          font-size: 200%;
+          bold: true;
+        }
+      }
+
+      .grid {
+        display: flex;
+        flex-wrap: wrap;
+        column-gap: $gap;
+        row-gap: $gap;
+      }
+
+      .card {
+        width: 30%;
+        padding: 1px;
+        background-color: $card-bg;
+
+        &:hover {
+          background-color: $card-bg-hover;
+        }
+
+        .title {
+          bold: true;
+        }
+
+        .row {
+          display: flex;
+          justify-content: flex-end;
+          column-gap: 1px;
+        }
+      }
+
+      .card:not(:first-child) .desc {
+        color: gray;
+      }
+
+      .footer > span {
+        italic: true;
+      }
+      """;
+
+  /**
+   * Creates a stylesheet with the base menu rules plus a set of generated,
+   * nested rules for each theme and variant
+   *
+   * @param variants Generated variants per theme
+   * @return SCSS source
+   */
+  public static String menuStylesheet(int variants) {
+    StringBuilder builder = new StringBuilder(BASE_STYLE);
+
+    for (String theme : THEMES) {
+      builder.append("\n$").append(theme).append("-color: ")
+          .append("darken(white, ").append(10 + theme.length()).append("%);\n");
+
+      for (int i = 0; i < variants; i++) {
+        builder.append(".card.").append(theme).append("-").append(i).append(" {\n")
+            .append("  outline: 1px;\n")
+            .append("  outline-color: $").append(theme).append("-color;\n")
+            .append("  margin-top: ").append(i % 4).append("px;\n")
+            .append("\n")
+            .append("  .title {\n")
+            .append("    color: lighten($").append(theme).append("-color, ")
+            .append(i % 50).append("%);\n")
+            .append("  }\n")
+            .append("\n")
+            .append("  &:hover .buy {\n")
+            .append("    background-color: darken($").append(theme).append("-color, 10%);\n")
+            .append("  }\n")
+            .append("}\n");
+      }
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * Creates the XML source of a menu document
+   *
+   * @param cards Amount of item cards
+   * @return XML source
+   */
+  public static String menuDocument(int cards) {
+    StringBuilder builder = new StringBuilder();
+
+    builder.append("<delphi>\n")
+        .append("  <head>\n")
+        .append("    <option name=\"screen-width\" value=\"5\"/>\n")
+        .append("    <option name=\"screen-height\" value=\"3\"/>\n")
+        .append("  </head>\n")
+        .append("  <body>\n")
+        .append("    <div class=\"header\">\n")
+        .append("      <span class=\"title\">Shop</span>\n")
+        .append("      <button class=\"close\">Close</button>\n")
+        .append("    </div>\n")
+        .append("    <div class=\"grid\">\n");
+
+    for (int i = 0; i < cards; i++) {
+      builder.append("      <div class=\"").append(cardClasses(i)).append("\" id=\"card-")
+          .append(i).append("\">\n")
+          .append("        <span class=\"title\">Item ").append(i).append("</span>\n")
+          .append("        <div class=\"desc\">A very useful item, costs ")
+          .append(i * 10).append(" coins</div>\n")
+          .append("        <div class=\"row\">\n")
+          .append("          <button class=\"btn buy\">Buy</button>\n")
+          .append("          <button class=\"btn info\">Info</button>\n")
+          .append("        </div>\n")
+          .append("      </div>\n");
+    }
+
+    builder.append("    </div>\n")
+        .append("    <div class=\"footer\"><span>Page 1 of 1</span></div>\n")
+        .append("  </body>\n")
+        .append("</delphi>\n");
+
+    return builder.toString();
+  }
+
+  static String cardClasses(int index) {
+    String theme = THEMES[index % THEMES.length];
+    return "card " + theme + "-" + (index % 8);
+  }
+
+  public static ChimeraStylesheet parseSheet(String source) {
+    return Chimera.parseSheet(new StringBuffer(source), "benchmark.scss", error -> {});
+  }
+
+  /**
+   * Creates a menu document without going through the XML parser
+   *
+   * @param cards Amount of item cards
+   * @param sheet Stylesheet to add to the document
+   *
+   * @return Created document
+   */
+  public static DelphiDocument menuDom(int cards, ChimeraStylesheet sheet) {
+    DelphiDocument doc = DelphiDocument.createEmpty();
+    doc.addStylesheet(sheet);
+
+    DelphiElement body = doc.getBody();
+
+    DelphiElement header = element(doc, "div", "header");
+    header.appendChild(textElement(doc, "span", "title", "Shop"));
+    header.appendChild(textElement(doc, "button", "close", "Close"));
+    body.appendChild(header);
+
+    DelphiElement grid = element(doc, "div", "grid");
+
+    for (int i = 0; i < cards; i++) {
+      DelphiElement card = element(doc, "div", cardClasses(i));
+      card.setAttribute("id", "card-" + i);
+
+      card.appendChild(textElement(doc, "span", "title", "Item " + i));
+      card.appendChild(
+          textElement(doc, "div", "desc", "A very useful item, costs " + (i * 10) + " coins")
+      );
+
+      DelphiElement row = element(doc, "div", "row");
+      row.appendChild(textElement(doc, "button", "btn buy", "Buy"));
+      row.appendChild(textElement(doc, "button", "btn info", "Info"));
+      card.appendChild(row);
+
+      grid.appendChild(card);
+    }
+
+    body.appendChild(grid);
+
+    DelphiElement footer = element(doc, "div", "footer");
+    footer.appendChild(textElement(doc, "span", null, "Page 1 of 1"));
+    body.appendChild(footer);
+
+    return doc;
+  }
+
+  static DelphiElement element(DelphiDocument doc, String tag, String classes) {
+    DelphiElement element = doc.createElement(tag);
+    if (classes != null) {
+      element.setAttribute("class", classes);
+    }
+    return element;
+  }
+
+  static DelphiElement textElement(DelphiDocument doc, String tag, String classes, String text) {
+    DelphiElement element = element(doc, tag, classes);
+    element.appendChild(doc.createText(text));
+    return element;
+  }
+}
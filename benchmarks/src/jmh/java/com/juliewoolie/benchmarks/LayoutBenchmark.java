@@ -0,0 +1,158 @@
+package com.juliewoolie.benchmarks;
+
+import com.juliewoolie.chimera.ComputedStyleSet;
+import com.juliewoolie.chimera.ValueOrAuto;
+import com.juliewoolie.dom.style.BoxSizing;
+import com.juliewoolie.dom.style.FlexWrap;
+import com.juliewoolie.dom.style.Primitive;
+import com.juliewoolie.dom.style.Primitive.Unit;
+import com.juliewoolie.nlayout.FlexLayoutBox;
+import com.juliewoolie.nlayout.FlowLayoutBox;
+import com.juliewoolie.nlayout.LayoutBox;
+import com.juliewoolie.nlayout.LayoutContext;
+import com.juliewoolie.nlayout.LayoutNode;
+import com.juliewoolie.nlayout.LayoutStyle;
+import java.util.concurrent.TimeUnit;
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reflows a menu shaped layout tree, built directly out of layout boxes
+ * without a DOM or style system.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LayoutBenchmark {
+
+  static final Vector2f SCREEN = new Vector2f(5, 3);
+
+  @Param({"FLEX", "FLOW"})
+  String container;
+
+  @Param({"100"})
+  int cards;
+
+  FlowLayoutBox root;
+  LayoutBox firstCard;
+
+  @Setup
+  public void setup() {
+    ComputedStyleSet rootStyle = new ComputedStyleSet();
+    rootStyle.width = ValueOrAuto.valueOf(Primitive.create(100, Unit.VW));
+    rootStyle.minHeight = ValueOrAuto.valueOf(Primitive.create(100, Unit.VH));
+    rootStyle.boxSizing = BoxSizing.BORDER_BOX;
+
+    root = new FlowLayoutBox(new LayoutStyle(), rootStyle);
+    root.position.y = SCREEN.y;
+
+    FlowLayoutBox header = box(-1, 10);
+    header.getNodes().add(box(40, 8));
+    header.getNodes().add(box(15, 8));
+    root.getNodes().add(header);
+
+    LayoutBox grid;
+
+    if (container.equals("FLEX")) {
+      ComputedStyleSet gridStyle = new ComputedStyleSet();
+      gridStyle.flexWrap = FlexWrap.WRAP;
+      gridStyle.columnGap = px(2);
+      gridStyle.rowGap = px(2);
+
+      grid = new FlexLayoutBox(new LayoutStyle(), gridStyle);
+    } else {
+      grid = new FlowLayoutBox(new LayoutStyle(), new ComputedStyleSet());
+    }
+
+    for (int i = 0; i < cards; i++) {
+      grid.getNodes().add(card(i));
+    }
+
+    firstCard = (LayoutBox) grid.getNodes().getFirst();
+    root.getNodes().add(grid);
+    root.getNodes().add(box(-1, 6));
+
+    root.reflow(new LayoutContext(SCREEN));
+  }
+
+  static ValueOrAuto px(float v) {
+    return ValueOrAuto.valueOf(Primitive.create(v, Unit.PX));
+  }
+
+  static FlowLayoutBox box(float width, float height) {
+    ComputedStyleSet style = new ComputedStyleSet();
+    if (width >= 0) {
+      style.width = px(width);
+    }
+    style.height = px(height);
+    return new FlowLayoutBox(new LayoutStyle(), style);
+  }
+
+  static LayoutBox card(int index) {
+    ComputedStyleSet cardStyle = new ComputedStyleSet();
+    cardStyle.width = ValueOrAuto.valueOf(Primitive.create(30, Unit.PERCENT));
+    cardStyle.paddingTop = px(1);
+    cardStyle.paddingRight = px(1);
+    cardStyle.paddingBottom = px(1);
+    cardStyle.paddingLeft = px(1);
+
+    FlowLayoutBox card = new FlowLayoutBox(new LayoutStyle(), cardStyle);
+    card.domIndex = index;
+
+    card.getNodes().add(box(20, 4));
+    card.getNodes().add(box(-1, 4 + (index % 3) * 4));
+
+    ComputedStyleSet rowStyle = new ComputedStyleSet();
+    rowStyle.columnGap = px(1);
+
+    FlexLayoutBox row = new FlexLayoutBox(new LayoutStyle(), rowStyle);
+    row.getNodes().add(box(8, 5));
+    row.getNodes().add(box(8, 5));
+    card.getNodes().add(row);
+
+    return card;
+  }
+
+  static void markDirty(LayoutNode node) {
+    node.layoutDirty = true;
+
+    if (!(node instanceof LayoutBox box)) {
+      return;
+    }
+
+    for (LayoutNode child : box.getNodes()) {
+      markDirty(child);
+    }
+  }
+
+  @Benchmark
+  public LayoutNode fullReflow() {
+    markDirty(root);
+    root.reflow(new LayoutContext(SCREEN));
+    return root;
+  }
+
+  @Benchmark
+  public LayoutNode singleCardReflow() {
+    // Same dirty path the render system marks when one card's style changes
+    firstCard.layoutDirty = true;
+    root.layoutDirty = true;
+    root.getNodes().get(1).layoutDirty = true;
+
+    root.reflow(new LayoutContext(SCREEN));
+    return root;
+  }
+
+  @Benchmark
+  public LayoutNode cleanReflow() {
+    root.reflow(new LayoutContext(SCREEN));
+    return root;
+  }
+}
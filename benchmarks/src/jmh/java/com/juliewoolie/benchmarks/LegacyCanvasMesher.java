@@ -0,0 +1,165 @@
+package com.juliewoolie.benchmarks;
+
+import static com.juliewoolie.delphidom.DelphiCanvas.CHANNELS;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_ALPHA;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_BLUE;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_GREEN;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_RED;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.joml.Vector4i;
+
+/**
+ * The canvas mesher {@code CanvasRenderObject} used before
+ * {@link com.juliewoolie.delphirender.object.CanvasMesher}, kept as the
+ * baseline for {@link CanvasMeshBenchmark}.
+ * <p>
+ * Every pixel is checked against every mesh found so far, meshes only
+ * cover runs of 2 or more pixels and may overlap, and every pixel not
+ * covered by a mesh is spawned as its own entity in a second pass.
+ */
+class LegacyCanvasMesher {
+
+  private final byte[] data;
+  private final int width;
+  private final int height;
+
+  LegacyCanvasMesher(byte[] data, int width, int height) {
+    this.data = data;
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * Meshes the canvas, the same way the old {@code spawn()} did.
+   * @return Amount of entities the canvas would need
+   */
+  int mesh() {
+    List<PixelMesh> meshes = greedyMesh();
+    int entities = meshes.size();
+
+    Vector4i color = new Vector4i();
+    int idx = 0;
+
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        if (containsAny(meshes, x, y)) {
+          idx++;
+          continue;
+        }
+
+        sample(idx, color);
+
+        if (color.w > 0) {
+          entities++;
+        }
+
+        idx++;
+      }
+    }
+
+    return entities;
+  }
+
+  List<PixelMesh> greedyMesh() {
+    List<PixelMesh> meshes = new ArrayList<>();
+
+    Vector4i color = new Vector4i();
+    Vector4i dcolor = new Vector4i();
+
+    yloop: for (int y = 0; y < height; y++) {
+      xloop: for (int x = 0; x < width; x++) {
+        if (containsAny(meshes, x, y)) {
+          continue xloop;
+        }
+
+        sample(x, y, color);
+        if (color.w <= 0) {
+          continue xloop;
+        }
+
+        int mw = 1;
+        int mh = 1;
+
+        sample(x + 1, y, dcolor);
+
+        while (dcolor.equals(color)) {
+          mw++;
+          sample(x + mw, y, dcolor);
+        }
+
+        while (sampleLineEquals(x, y + mh, mw, color, dcolor)) {
+          mh++;
+        }
+
+        if (mw < 2 && mh < 2) {
+          continue;
+        }
+
+        PixelMesh mesh = new PixelMesh();
+        mesh.x = x;
+        mesh.y = y;
+        mesh.width = mw;
+        mesh.height = mh;
+
+        meshes.add(mesh);
+
+        if (x == 0 && y == 0 && mw == width && mh == height) {
+          break yloop;
+        }
+      }
+    }
+
+    return meshes;
+  }
+
+  private boolean sampleLineEquals(int x, int y, int w, Vector4i color, Vector4i dcolor) {
+    for (int i = 0; i < w; i++) {
+      sample(x + i, y, dcolor);
+      if (!dcolor.equals(color)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean containsAny(List<PixelMesh> meshes, int x, int y) {
+    for (int i = 0; i < meshes.size(); i++) {
+      if (meshes.get(i).contains(x, y)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void sample(int x, int y, Vector4i out) {
+    if (x < 0 || y < 0 || x >= width || y >= height) {
+      out.set(0);
+      return;
+    }
+
+    sample(x + (y * width), out);
+  }
+
+  private void sample(int pixel, Vector4i out) {
+    int idx = pixel * CHANNELS;
+    out.x = data[idx + CH_RED] & 0xff;
+    out.y = data[idx + CH_GREEN] & 0xff;
+    out.z = data[idx + CH_BLUE] & 0xff;
+    out.w = data[idx + CH_ALPHA] & 0xff;
+  }
+
+  static class PixelMesh {
+    int x;
+    int y;
+
+    int width;
+    int height;
+
+    boolean contains(int x, int y) {
+      return (x >= this.x && (x < (this.x + width)))
+          && (y >= this.y && (y < (this.y + height)));
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.juliewoolie.benchmarks;
+
+import com.juliewoolie.chimera.parse.Chimera;
+import com.juliewoolie.chimera.selector.Selector;
+import com.juliewoolie.delphidom.DelphiDocument;
+import com.juliewoolie.delphidom.DelphiElement;
+import com.juliewoolie.delphidom.DelphiNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Matches a set of typical selectors against every element in a menu
+ * document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SelectorBenchmark {
+
+  static final String[] SELECTORS = {
+      "div",
+      ".card",
+      "#card-50",
+      ".card .title",
+      ".card.rare-3 .title",
+      ".grid > .card",
+      ".card:not(:first-child) .desc",
+      ".card.epic-2:hover .buy",
+      ".footer > span",
+      "button:active",
+  };
+
+  @Param({"100"})
+  int cards;
+
+  final List<Selector> selectors = new ArrayList<>();
+  final List<DelphiElement> elements = new ArrayList<>();
+
+  @Setup
+  public void setup() {
+    DelphiDocument doc = Fixtures.menuDom(cards, Fixtures.parseSheet(Fixtures.BASE_STYLE));
+
+    for (String selector : SELECTORS) {
+      selectors.add(Chimera.parseSelector(selector));
+    }
+
+    collectElements(doc.getBody());
+  }
+
+  private void collectElements(DelphiElement element) {
+    elements.add(element);
+
+    for (DelphiNode node : element.childList()) {
+      if (node instanceof DelphiElement child) {
+        collectElements(child);
+      }
+    }
+  }
+
+  @Benchmark
+  public int matchAll() {
+    int matches = 0;
+
+    for (Selector selector : selectors) {
+      for (DelphiElement element : elements) {
+        if (selector.test(element)) {
+          matches++;
+        }
+      }
+    }
+
+    return matches;
+  }
+}
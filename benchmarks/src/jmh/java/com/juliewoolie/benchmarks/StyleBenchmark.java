@@ -0,0 +1,45 @@
+package com.juliewoolie.benchmarks;
+
+import com.juliewoolie.chimera.ChimeraStylesheet;
+import com.juliewoolie.chimera.system.StyleNode;
+import com.juliewoolie.delphidom.DelphiDocument;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Recomputes the style of a whole document, like adding or removing a
+ * stylesheet would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StyleBenchmark {
+
+  /* 100 cards is roughly 1,000 nodes */
+  @Param({"100"})
+  int cards;
+
+  @Param({"8", "64"})
+  int variants;
+
+  StyleNode root;
+
+  @Setup
+  public void setup() {
+    ChimeraStylesheet sheet = Fixtures.parseSheet(Fixtures.menuStylesheet(variants));
+    DelphiDocument doc = Fixtures.menuDom(cards, sheet);
+    root = doc.getStyles().getStyleNode(doc.getBody());
+  }
+
+  @Benchmark
+  public void updateStyle() {
+    root.updateStyle();
+  }
+}
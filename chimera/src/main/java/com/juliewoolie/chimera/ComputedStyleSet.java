@@ -37,6 +37,7 @@ import static com.juliewoolie.chimera.Properties.MIN_HEIGHT;
 import static com.juliewoolie.chimera.Properties.MIN_WIDTH;
 import static com.juliewoolie.chimera.Properties.OBFUSCATED;
 import static com.juliewoolie.chimera.Properties.ORDER;
+import static com.juliewoolie.chimera.Properties.OVERFLOW;
 import static com.juliewoolie.chimera.Properties.OUTLINE;
 import static com.juliewoolie.chimera.Properties.OUTLINE_BOTTOM;
 import static com.juliewoolie.chimera.Properties.OUTLINE_COLOR;
@@ -52,6 +53,8 @@ import static com.juliewoolie.chimera.Properties.ROW_GAP;
 import static com.juliewoolie.chimera.Properties.SHRINK;
 import static com.juliewoolie.chimera.Properties.STRIKETHROUGH;
 import static com.juliewoolie.chimera.Properties.TEXT_SHADOW;
+import static com.juliewoolie.chimera.Properties.TRANSITION;
+import static com.juliewoolie.chimera.Properties.TRANSITION_DELAY;
 import static com.juliewoolie.chimera.Properties.UNDERLINED;
 import static com.juliewoolie.chimera.Properties.VERTICAL_ALIGN;
 import static com.juliewoolie.chimera.Properties.VISIBILITY;
@@ -68,6 +71,7 @@ import com.juliewoolie.dom.style.DisplayType;
 import com.juliewoolie.dom.style.FlexDirection;
 import com.juliewoolie.dom.style.FlexWrap;
 import com.juliewoolie.dom.style.JustifyContent;
+import com.juliewoolie.dom.style.Overflow;
 import com.juliewoolie.dom.style.Primitive;
 import com.juliewoolie.dom.style.Visibility;
 
@@ -138,6 +142,9 @@ public class ComputedStyleSet {
   public int shrink;
   public BoxSizing boxSizing;
   public Visibility visibility;
+  public Overflow overflow;
+  public Primitive transition;
+  public Primitive transitionDelay;
 
   public ComputedStyleSet() {
     clear();
@@ -206,6 +213,9 @@ public class ComputedStyleSet {
     shrink = 0;
     boxSizing = BoxSizing.DEFAULT;
     visibility = Visibility.DEFAULT;
+    overflow = Overflow.DEFAULT;
+    transition = TRANSITION.getDefaultValue();
+    transitionDelay = TRANSITION_DELAY.getDefaultValue();
   }
   
   public void putAll(PropertySet set) {
@@ -240,6 +250,9 @@ public class ComputedStyleSet {
     order = getExplicit(set, ORDER);
     boxSizing = getExplicit(set, BOX_SIZING);
     visibility = getExplicit(set, VISIBILITY);
+    overflow = getExplicit(set, OVERFLOW);
+    transition = getExplicit(set, TRANSITION);
+    transitionDelay = getExplicit(set, TRANSITION_DELAY);
     verticalAlign = getExplicit(set, VERTICAL_ALIGN);
 
     grow = getExplicit(set, GROW);
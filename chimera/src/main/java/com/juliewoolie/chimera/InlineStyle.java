@@ -1,8 +1,7 @@
 package com.juliewoolie.chimera;
 
 import com.juliewoolie.chimera.system.ElementStyleNode;
-import com.juliewoolie.dom.Attributes;
-import com.juliewoolie.dom.Element;
+import com.juliewoolie.chimera.system.StyleObjectModel;
 
 public class InlineStyle extends PropertiesMap {
 
@@ -15,17 +14,16 @@ public class InlineStyle extends PropertiesMap {
 
   @Override
   public PropertiesMap triggerChange() {
-    Element element = node.getDomNode();
+    StyleObjectModel system = node.getSystem();
 
-    if (element == null) {
-      // Null during testing
+    // Several properties are often set in a row, so when batching, the
+    // attribute write and restyle are deferred until the next flush
+    if (system != null && system.isBatchingInline()) {
+      system.queueInlineUpdate(node);
       return this;
     }
 
-    node.setSuppressingInlineUpdates(true);
-    element.setAttribute(Attributes.STYLE, set.toParseString());
-    node.setSuppressingInlineUpdates(false);
-
+    node.writeInlineAttribute();
     return this;
   }
 }
@@ -4,6 +4,7 @@ import static com.juliewoolie.chimera.PropertyValidator.NON_ANGLE;
 import static com.juliewoolie.chimera.PropertyValidator.NON_ANGLE_LR;
 import static com.juliewoolie.chimera.PropertyValidator.NON_ANGLE_RECT;
 import static com.juliewoolie.chimera.PropertyValidator.SCALAR;
+import static com.juliewoolie.chimera.PropertyValidator.TIME;
 
 import com.juliewoolie.dom.style.VerticalAlign;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
@@ -18,6 +19,7 @@ import com.juliewoolie.dom.style.FlexDirection;
 import com.juliewoolie.dom.style.FlexWrap;
 import com.juliewoolie.dom.style.JustifyContent;
 import com.juliewoolie.dom.style.NamedColor;
+import com.juliewoolie.dom.style.Overflow;
 import com.juliewoolie.dom.style.Primitive;
 import com.juliewoolie.dom.style.Visibility;
 
@@ -427,6 +429,32 @@ public final class Properties {
       .visualAffecting(true)
       .build();
 
+  public static final Property<Overflow> OVERFLOW = Property.builder(Overflow.class)
+      .defaultValue(Overflow.DEFAULT)
+      .cascading(false)
+      .layoutAffecting(true)
+      .contentAffecting(false)
+      .visualAffecting(true)
+      .build();
+
+  public static final Property<Primitive> TRANSITION = Property.builder(Primitive.class)
+      .defaultValue(Primitive.ZERO)
+      .cascading(true)
+      .layoutAffecting(false)
+      .contentAffecting(false)
+      .visualAffecting(true)
+      .validator(TIME)
+      .build();
+
+  public static final Property<Primitive> TRANSITION_DELAY = Property.builder(Primitive.class)
+      .defaultValue(Primitive.ZERO)
+      .cascading(true)
+      .layoutAffecting(false)
+      .contentAffecting(false)
+      .visualAffecting(true)
+      .validator(TIME)
+      .build();
+
   static {
     registerAll();
   }
@@ -465,6 +493,9 @@ public final class Properties {
     register("z-index",               Z_INDEX);
     register("visibility",            VISIBILITY);
     register("vertical-align",        VERTICAL_ALIGN);
+    register("overflow",              OVERFLOW);
+    register("transition",            TRANSITION);
+    register("transition-delay",      TRANSITION_DELAY);
 
     register("bold",                  BOLD);
     register("italic",                ITALIC);
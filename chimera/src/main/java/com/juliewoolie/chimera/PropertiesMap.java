@@ -21,6 +21,7 @@ import com.juliewoolie.dom.style.DisplayType;
 import com.juliewoolie.dom.style.FlexDirection;
 import com.juliewoolie.dom.style.FlexWrap;
 import com.juliewoolie.dom.style.JustifyContent;
+import com.juliewoolie.dom.style.Overflow;
 import com.juliewoolie.dom.style.Primitive;
 import com.juliewoolie.dom.style.StyleProperties;
 import org.jetbrains.annotations.NotNull;
@@ -55,7 +56,7 @@ public class PropertiesMap extends ReadonlyProperties implements StyleProperties
     ChimeraContext ctx = new ChimeraContext(parser.getStream().getInput());
     ctx.setErrors(errors);
 
-    Scope scope = Scope.createTopLevel();
+    Scope scope = Scope.globalFrame();
     if (system != null) {
       scope.getVariableMap().putAll(system.getVariables());
     }
@@ -814,6 +815,42 @@ public class PropertiesMap extends ReadonlyProperties implements StyleProperties
     return triggerChange();
   }
 
+  @Override
+  public StyleProperties setOverflow(@Nullable Overflow value) {
+    set(Properties.OVERFLOW, value);
+    return triggerChange();
+  }
+
+  @Override
+  public StyleProperties setOverflow(@Nullable String value) {
+    parse(Properties.OVERFLOW, value);
+    return triggerChange();
+  }
+
+  @Override
+  public StyleProperties setTransition(@Nullable Primitive value) {
+    set(Properties.TRANSITION, value);
+    return triggerChange();
+  }
+
+  @Override
+  public StyleProperties setTransition(@Nullable String value) {
+    parse(Properties.TRANSITION, value);
+    return triggerChange();
+  }
+
+  @Override
+  public StyleProperties setTransitionDelay(@Nullable Primitive value) {
+    set(Properties.TRANSITION_DELAY, value);
+    return triggerChange();
+  }
+
+  @Override
+  public StyleProperties setTransitionDelay(@Nullable String value) {
+    parse(Properties.TRANSITION_DELAY, value);
+    return triggerChange();
+  }
+
   @Override
   public StyleProperties setGap(@Nullable Primitive value) {
     if (value == null) {
@@ -10,7 +10,7 @@ public final class PropertySet {
 
   private Value[] values;
 
-  private boolean isEmpty() {
+  public boolean isEmpty() {
     if (values == null || values.length < 1) {
       return true;
     }
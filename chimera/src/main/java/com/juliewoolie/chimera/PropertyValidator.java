@@ -8,10 +8,22 @@ public interface PropertyValidator<T> {
   PropertyValidator<Primitive> NON_ANGLE = value -> {
     return switch (value.getUnit()) {
       case DEG, RAD, GRAD, TURN -> Optional.of("Angular measurement not allowed here");
+      case S, MS -> Optional.of("Time measurement not allowed here");
       default -> Optional.empty();
     };
   };
 
+  PropertyValidator<Primitive> TIME = value -> {
+    if (value.getValue() < 0) {
+      return Optional.of("Durations cannot be negative");
+    }
+
+    return switch (value.getUnit()) {
+      case S, MS, NONE -> Optional.empty();
+      default -> Optional.of("Only time measurements (s, ms or ticks) allowed here");
+    };
+  };
+
   PropertyValidator<Primitive> SCALAR = value -> {
     return switch (value.getUnit()) {
       case PERCENT, NONE -> Optional.empty();
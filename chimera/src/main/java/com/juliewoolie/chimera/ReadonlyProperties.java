@@ -296,6 +296,21 @@ public class ReadonlyProperties implements StylePropertiesReadonly {
     return get(Properties.VERTICAL_ALIGN);
   }
 
+  @Override
+  public @Nullable String getOverflow() {
+    return get(Properties.OVERFLOW);
+  }
+
+  @Override
+  public @Nullable String getTransition() {
+    return get(Properties.TRANSITION);
+  }
+
+  @Override
+  public @Nullable String getTransitionDelay() {
+    return get(Properties.TRANSITION_DELAY);
+  }
+
   @Override
   public @Nullable String getFlexGrow() {
     return get(Properties.GROW);
@@ -23,6 +23,7 @@ import com.juliewoolie.dom.style.DisplayType;
 import com.juliewoolie.dom.style.FlexDirection;
 import com.juliewoolie.dom.style.FlexWrap;
 import com.juliewoolie.dom.style.JustifyContent;
+import com.juliewoolie.dom.style.Overflow;
 import com.juliewoolie.dom.style.Primitive;
 import com.juliewoolie.dom.style.Visibility;
 import org.slf4j.LoggerFactory;
@@ -30,6 +31,26 @@ import org.slf4j.LoggerFactory;
 public final class Chimera {
   private Chimera() {}
 
+  private static final SelectorCache SELECTOR_CACHE
+      = new SelectorCache(SelectorCache.DEFAULT_CAPACITY);
+
+  public static SelectorCache getSelectorCache() {
+    return SELECTOR_CACHE;
+  }
+
+  /**
+   * Gets a compiled selector from the shared selector cache, parsing and
+   * caching it if it hasn't been seen before.
+   *
+   * @param selector Selector string
+   * @return Compiled selector
+   *
+   * @see #parseSelector(String)
+   */
+  public static Selector getSelector(String selector) {
+    return SELECTOR_CACHE.get(selector);
+  }
+
   public static Selector parseSelector(String selector) {
     ChimeraParser parser = new ChimeraParser(selector);
 
@@ -82,7 +103,15 @@ public final class Chimera {
   }
 
   public static void compileInline(InlineStyleStatement stat, PropertySet out, ChimeraContext ctx) {
-    Scope scope = Scope.createTopLevel();
+    compileInline(stat, out, ctx, Scope.globalFrame());
+  }
+
+  public static void compileInline(
+      InlineStyleStatement stat,
+      PropertySet out,
+      ChimeraContext ctx,
+      Scope scope
+  ) {
     Interpreter inter = new Interpreter(ctx, scope);
     inter.inline(stat, out);
   }
@@ -306,9 +335,10 @@ public final class Chimera {
       case CONTENT_BOX -> BoxSizing.CONTENT_BOX;
       case BORDER_BOX -> BoxSizing.BORDER_BOX;
 
-      case VISIBLE -> Visibility.VISIBLE;
-      case HIDDEN -> Visibility.HIDDEN;
+      case VISIBLE -> type == Overflow.class ? Overflow.VISIBLE : Visibility.VISIBLE;
+      case HIDDEN -> type == Overflow.class ? Overflow.HIDDEN : Visibility.HIDDEN;
       case COLLAPSE -> Visibility.COLLAPSE;
+      case SCROLL -> Overflow.SCROLL;
 
       case SUB -> VerticalAlign.SUB;
       case SUPER -> VerticalAlign.SUPER;
@@ -447,6 +477,13 @@ public final class Chimera {
           case COLLAPSE -> Keyword.COLLAPSE;
         };
       }
+      case Overflow of -> {
+        return switch (of) {
+          case VISIBLE -> Keyword.VISIBLE;
+          case HIDDEN -> Keyword.HIDDEN;
+          case SCROLL -> Keyword.SCROLL;
+        };
+      }
       case VerticalAlign a -> {
         return switch (a) {
           case SUB -> Keyword.SUB;
@@ -1636,6 +1636,14 @@ public class ChimeraParser {
           unit = Unit.TURN;
           next();
           break;
+        case "s":
+          unit = Unit.S;
+          next();
+          break;
+        case "ms":
+          unit = Unit.MS;
+          next();
+          break;
 
         default:
           errors.error(peek.location(), "Unknown/unsupported measurement %s", peek.value());
@@ -1776,6 +1784,9 @@ public class ChimeraParser {
       case "collapse":
         keyword = Keyword.COLLAPSE;
         break;
+      case "scroll":
+        keyword = Keyword.SCROLL;
+        break;
       case "sub":
         keyword = Keyword.SUB;
         break;
@@ -14,6 +14,9 @@ import com.juliewoolie.delphi.util.Nothing;
 @Getter @Setter
 public class Scope {
 
+  // Built-in functions, shared by every scope created with globalFrame()
+  private static final Scope GLOBAL_FUNCTIONS = createTopLevel();
+
   private final Scope parent;
 
   private Map<String, Object> variableMap = new HashMap<>();
@@ -70,6 +73,19 @@ public class Scope {
     return scope;
   }
 
+  /**
+   * Creates a scope whose parent is a shared scope containing the built-in
+   * functions.
+   * <p>
+   * Cheaper than {@link #createTopLevel()}, but functions, mixins and
+   * namespaces must not be declared in the returned scope's parent.
+   *
+   * @return Created scope
+   */
+  public static Scope globalFrame() {
+    return GLOBAL_FUNCTIONS.pushFrame();
+  }
+
   public Scope pushFrame() {
     return new Scope(this);
   }
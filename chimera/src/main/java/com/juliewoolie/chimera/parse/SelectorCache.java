@@ -0,0 +1,107 @@
+package com.juliewoolie.chimera.parse;
+
+import com.juliewoolie.chimera.selector.Selector;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least-recently-used cache of compiled selectors, keyed by the
+ * selector string.
+ * <p>
+ * Compiled selectors are never modified after compilation, so a single
+ * instance can be shared between every document. Strings that fail to parse
+ * are not cached, every lookup of them throws again.
+ */
+public class SelectorCache {
+
+  public static final int DEFAULT_CAPACITY = 512;
+
+  private final int capacity;
+  private final Map<String, Selector> selectors;
+
+  private long hits = 0;
+  private long misses = 0;
+
+  public SelectorCache(int capacity) {
+    this.capacity = capacity;
+    this.selectors = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Selector> eldest) {
+        return size() > SelectorCache.this.capacity;
+      }
+    };
+  }
+
+  /**
+   * Gets a compiled selector, parsing it if it isn't cached yet.
+   *
+   * @param selector Selector string
+   * @return Compiled selector
+   *
+   * @throws com.juliewoolie.dom.ParserException If the selector is invalid
+   */
+  public Selector get(String selector) {
+    synchronized (selectors) {
+      Selector cached = selectors.get(selector);
+
+      if (cached != null) {
+        hits++;
+        return cached;
+      }
+
+      misses++;
+    }
+
+    // Parse outside the lock, a selector parsed twice at the same time
+    // is cheaper than blocking every other lookup
+    Selector parsed = Chimera.parseSelector(selector);
+
+    synchronized (selectors) {
+      selectors.put(selector, parsed);
+    }
+
+    return parsed;
+  }
+
+  public int size() {
+    synchronized (selectors) {
+      return selectors.size();
+    }
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getHits() {
+    synchronized (selectors) {
+      return hits;
+    }
+  }
+
+  public long getMisses() {
+    synchronized (selectors) {
+      return misses;
+    }
+  }
+
+  public void clear() {
+    synchronized (selectors) {
+      selectors.clear();
+      hits = 0;
+      misses = 0;
+    }
+  }
+
+  @Override
+  public String toString() {
+    synchronized (selectors) {
+      return getClass().getSimpleName()
+          + "[size=" + selectors.size()
+          + ", capacity=" + capacity
+          + ", hits=" + hits
+          + ", misses=" + misses
+          + "]";
+    }
+  }
+}
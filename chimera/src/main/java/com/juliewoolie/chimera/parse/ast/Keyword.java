@@ -45,6 +45,9 @@ public enum Keyword {
   HIDDEN,
   COLLAPSE,
 
+  // Overflow
+  SCROLL,
+
   // Vertical Align
   SUB,
   SUPER,
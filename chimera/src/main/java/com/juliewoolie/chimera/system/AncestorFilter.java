@@ -0,0 +1,151 @@
+package com.juliewoolie.chimera.system;
+
+import com.google.common.base.Strings;
+import com.juliewoolie.chimera.selector.ClassNameSelector;
+import com.juliewoolie.chimera.selector.IdSelector;
+import com.juliewoolie.chimera.selector.Selector;
+import com.juliewoolie.chimera.selector.SelectorList;
+import com.juliewoolie.chimera.selector.SelectorList.ListType;
+import com.juliewoolie.chimera.selector.TagNameSelector;
+import com.juliewoolie.dom.Attributes;
+import com.juliewoolie.dom.Element;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.Arrays;
+
+/**
+ * Counting bloom filter of the ids, class names and tag names of the
+ * ancestors of the element currently being styled.
+ * <p>
+ * Filled during the top-down style update, it lets rules with descendant or
+ * child combinators be rejected before walking up the tree, when one of their
+ * ancestor compounds needs something no ancestor has.
+ */
+class AncestorFilter {
+
+  static final int SIZE = 2048;
+  static final int MASK = SIZE - 1;
+
+  static final int TYPE_TAG = 1;
+  static final int TYPE_CLASS = 2;
+  static final int TYPE_ID = 3;
+
+  private final int[] counts = new int[SIZE];
+
+  public void pushAncestors(Element element) {
+    Element p = element.getParent();
+
+    while (p != null) {
+      push(p);
+      p = p.getParent();
+    }
+  }
+
+  public void push(Element element) {
+    update(element, 1);
+  }
+
+  public void pop(Element element) {
+    update(element, -1);
+  }
+
+  public void clear() {
+    Arrays.fill(counts, 0);
+  }
+
+  private void update(Element element, int delta) {
+    add(hash(TYPE_TAG, element.getTagName(), true), delta);
+
+    String id = element.getAttribute(Attributes.ID);
+    if (!Strings.isNullOrEmpty(id)) {
+      add(hash(TYPE_ID, id, false), delta);
+    }
+
+    String classList = element.getAttribute(Attributes.CLASS);
+    if (Strings.isNullOrEmpty(classList)) {
+      return;
+    }
+
+    int len = classList.length();
+    int start = -1;
+
+    for (int i = 0; i <= len; i++) {
+      boolean space = i == len || Character.isWhitespace(classList.charAt(i));
+
+      if (!space) {
+        if (start == -1) {
+          start = i;
+        }
+        continue;
+      }
+
+      if (start != -1) {
+        add(hash(TYPE_CLASS, classList, start, i, false), delta);
+        start = -1;
+      }
+    }
+  }
+
+  private void add(int hash, int delta) {
+    counts[hash & MASK] += delta;
+    counts[(hash >>> 16) & MASK] += delta;
+  }
+
+  /**
+   * Tests if all the specified hashes may be present in the filter.
+   * @param hashes Ancestor hashes
+   * @return {@code false}, if at least one is definitely absent
+   */
+  public boolean mightContainAll(int[] hashes) {
+    for (int hash : hashes) {
+      if (counts[hash & MASK] == 0 || counts[(hash >>> 16) & MASK] == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Adds the hashes of the flag independent parts of a compound selector
+   * to the output list
+   */
+  static void collectHashes(Selector compound, IntList out) {
+    if (compound instanceof SelectorList list && list.getType() == ListType.AND) {
+      for (int i = 0; i < list.getSize(); i++) {
+        collectHashes(list.get(i), out);
+      }
+      return;
+    }
+
+    switch (compound) {
+      case TagNameSelector tag -> out.add(hash(TYPE_TAG, tag.tagName(), true));
+      case ClassNameSelector cl -> out.add(hash(TYPE_CLASS, cl.className(), false));
+      case IdSelector id -> out.add(hash(TYPE_ID, id.elementId(), false));
+      default -> {}
+    }
+  }
+
+  static int hash(int type, String str, boolean ignoreCase) {
+    return hash(type, str, 0, str.length(), ignoreCase);
+  }
+
+  static int hash(int type, String str, int start, int end, boolean ignoreCase) {
+    int h = type;
+
+    for (int i = start; i < end; i++) {
+      char ch = str.charAt(i);
+      if (ignoreCase) {
+        ch = Character.toLowerCase(ch);
+      }
+      h = 31 * h + ch;
+    }
+
+    // Spread the bits, both halves of the hash are used as separate indices
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+
+    return h;
+  }
+}
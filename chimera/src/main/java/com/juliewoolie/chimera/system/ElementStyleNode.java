@@ -10,15 +10,9 @@ import com.juliewoolie.chimera.Property;
 import com.juliewoolie.chimera.PropertySet;
 import com.juliewoolie.chimera.PropertySet.PropertyIterator;
 import com.juliewoolie.chimera.Rule;
-import com.juliewoolie.chimera.StyleLoggers;
 import com.juliewoolie.chimera.Value;
 import com.juliewoolie.chimera.Value.ValueType;
-import com.juliewoolie.chimera.parse.Chimera;
-import com.juliewoolie.chimera.parse.ChimeraContext;
-import com.juliewoolie.chimera.parse.ChimeraParser;
-import com.juliewoolie.chimera.parse.CompilerErrors;
-import com.juliewoolie.chimera.parse.Scope;
-import com.juliewoolie.chimera.parse.ast.InlineStyleStatement;
+import com.juliewoolie.dom.Attributes;
 import com.juliewoolie.dom.Element;
 
 @Getter
@@ -32,6 +26,9 @@ public class ElementStyleNode extends StyleNode {
   @Setter
   private boolean suppressingInlineUpdates = false;
 
+  // Set when an 'initial' value was resolved during the last match
+  private boolean initialResolved = false;
+
   public ElementStyleNode(Element domNode, StyleObjectModel system) {
     super(domNode, system);
 
@@ -40,20 +37,80 @@ public class ElementStyleNode extends StyleNode {
 
   @Override
   public void updateStyle() {
-    PropertySet newSet = new PropertySet();
-    applyCascading(newSet);
+    system.beginUpdate();
+    AncestorFilter filter = system.acquireFilter(getDomNode());
+
+    try {
+      updateStyle(filter, null);
+    } finally {
+      system.releaseFilter(filter);
+      system.endUpdate();
+    }
+  }
 
-    Element domElement = getDomNode();
+  private void updateStyle(AncestorFilter filter, StyleSharingCache cache) {
+    updateSelf(filter, cache);
 
-    for (Rule rule : system.rules) {
-      if (!rule.getSelectorObject().test(domElement)) {
-        continue;
+    filter.push(getDomNode());
+
+    StyleSharingCache childCache = children.size() > 1 ? new StyleSharingCache() : null;
+
+    for (StyleNode child : children) {
+      if (child instanceof ElementStyleNode el) {
+        el.updateStyle(filter, childCache);
+      } else {
+        child.updateStyle();
       }
+    }
 
-      resolveSetTo(rule.getPropertySet(), newSet);
+    filter.pop(getDomNode());
+  }
+
+  /**
+   * Updates this node's style and only descends into the children if
+   * anything changed, as the children's matched rules stay the same.
+   */
+  @Override
+  public void updateInherited() {
+    system.beginUpdate();
+    AncestorFilter filter = system.acquireFilter(getDomNode());
+
+    try {
+      updateInherited(filter);
+    } finally {
+      system.releaseFilter(filter);
+      system.endUpdate();
     }
+  }
 
-    resolveSetTo(inlineStyleSet, newSet);
+  private void updateInherited(AncestorFilter filter) {
+    if (updateSelf(filter, null) == 0) {
+      return;
+    }
+
+    filter.push(getDomNode());
+
+    for (StyleNode child : children) {
+      if (child instanceof ElementStyleNode el) {
+        el.updateInherited(filter);
+      } else {
+        child.updateInherited();
+      }
+    }
+
+    filter.pop(getDomNode());
+  }
+
+  private int updateSelf(AncestorFilter filter, StyleSharingCache cache) {
+    PropertySet newSet = null;
+
+    if (cache != null) {
+      newSet = cache.find(this);
+    }
+
+    if (newSet == null) {
+      newSet = matchStyle(filter, cache);
+    }
 
     int changes = styleSet.setAll(newSet);
 
@@ -62,9 +119,29 @@ public class ElementStyleNode extends StyleNode {
       triggerCallback(changes);
     }
 
-    for (StyleNode child : children) {
-      child.updateStyle();
+    return changes;
+  }
+
+  private PropertySet matchStyle(AncestorFilter filter, StyleSharingCache cache) {
+    PropertySet newSet = new PropertySet();
+    applyCascading(newSet);
+
+    Element domElement = getDomNode();
+    initialResolved = false;
+
+    boolean structural = system.ruleIndex.forEachCandidate(domElement, filter, rule -> {
+      resolveSetTo(rule.getPropertySet(), newSet);
+    });
+
+    resolveSetTo(inlineStyleSet, newSet);
+
+    // 'initial' values are looked up with the default style sheet's
+    // selectors, which aren't covered by the structural check
+    if (cache != null && !structural && !initialResolved) {
+      cache.add(this, newSet);
     }
+
+    return newSet;
   }
 
   <T> void trySet(Property<T> property, Value<T> value, PropertySet target) {
@@ -121,6 +198,8 @@ public class ElementStyleNode extends StyleNode {
     }
 
     // type = INITIAL
+    initialResolved = true;
+
     if (system.defaultStyleSheet == null) {
       return null;
     }
@@ -149,6 +228,28 @@ public class ElementStyleNode extends StyleNode {
     return (Element) super.getDomNode();
   }
 
+  /**
+   * Writes the inline style set to the element's {@code style} attribute.
+   * <p>
+   * The attribute's mutation event is what restyles the element, the inline
+   * set itself isn't re-parsed from the written value.
+   */
+  public void writeInlineAttribute() {
+    Element element = getDomNode();
+
+    if (element == null) {
+      // Null during testing
+      return;
+    }
+
+    suppressingInlineUpdates = true;
+    try {
+      element.setAttribute(Attributes.STYLE, inlineStyleSet.toParseString());
+    } finally {
+      suppressingInlineUpdates = false;
+    }
+  }
+
   public void setInline(String inline) {
     if (suppressingInlineUpdates) {
       return;
@@ -158,26 +259,29 @@ public class ElementStyleNode extends StyleNode {
       return;
     }
 
-    ChimeraParser parser = new ChimeraParser(inline);
-
-    CompilerErrors errors = parser.getErrors();
-    errors.setSourceName(getDomNode().toString());
-    errors.setListener(error -> {
-      StyleLoggers.getLogger()
-          .atLevel(error.getLevel())
-          .setMessage(error.getFormattedError())
-          .log();
-    });
+    PropertySet parsed = system.inlineCache.get(inline, getDomNode().toString(), system);
+    inlineStyleSet.putAll(parsed);
+  }
 
-    InlineStyleStatement statement = parser.inlineStyle();
+  /**
+   * Parses the element's {@code style} attribute again, used after a
+   * variable it may reference changed.
+   */
+  void reloadInline() {
+    Element element = getDomNode();
 
-    ChimeraContext context = new ChimeraContext(parser.getStream().getInput());
-    context.setErrors(errors);
+    if (element == null) {
+      // Null during testing
+      return;
+    }
 
-    Scope scope = Scope.createTopLevel();
-    scope.setVariableMap(getSystem().getVariables());
+    String inline = element.getAttribute(Attributes.STYLE);
+    if (Strings.isNullOrEmpty(inline)) {
+      return;
+    }
 
-    Chimera.compileInline(statement, inlineStyleSet, context);
+    inlineStyleSet.clear();
+    setInline(inline);
   }
 
   public void addChild(StyleNode node, int idx) {
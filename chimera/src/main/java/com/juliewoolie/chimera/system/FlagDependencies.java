@@ -0,0 +1,209 @@
+package com.juliewoolie.chimera.system;
+
+import com.juliewoolie.chimera.Rule;
+import com.juliewoolie.chimera.selector.ClassNameSelector;
+import com.juliewoolie.chimera.selector.GroupedIndexSelector;
+import com.juliewoolie.chimera.selector.IdSelector;
+import com.juliewoolie.chimera.selector.PseudoClassSelector;
+import com.juliewoolie.chimera.selector.PseudoFuncSelector;
+import com.juliewoolie.chimera.selector.RegularSelector;
+import com.juliewoolie.chimera.selector.Selector;
+import com.juliewoolie.chimera.selector.SelectorList;
+import com.juliewoolie.chimera.selector.SelectorList.ListType;
+import com.juliewoolie.chimera.selector.SelectorNode;
+import com.juliewoolie.chimera.selector.TagNameSelector;
+import com.juliewoolie.dom.Element;
+import com.juliewoolie.dom.NodeFlag;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of which rules depend on the {@code :hover} and {@code :active}
+ * pseudo classes, so a change to an element's {@link NodeFlag#HOVERED} or
+ * {@link NodeFlag#CLICKED} flag only restyles the nodes it can affect.
+ */
+class FlagDependencies {
+
+  private final Map<NodeFlag, List<Dependency>> dependencies = new EnumMap<>(NodeFlag.class);
+
+  public void rebuild(List<Rule> rules) {
+    dependencies.clear();
+
+    for (Rule rule : rules) {
+      addSelector(rule.getSelectorObject(), Reach.SELF);
+    }
+  }
+
+  /**
+   * @param selector Selector
+   * @param outer Reach of the compound selector this selector is nested in,
+   *              {@link Reach#SELF} for a rule's selector
+   */
+  private void addSelector(Selector selector, Reach outer) {
+    switch (selector) {
+      case RegularSelector regular -> {
+        SelectorNode[] nodes = regular.getNodes();
+
+        for (int i = 0; i < nodes.length; i++) {
+          addCompound(nodes[i].getSelector(), max(outer, reach(nodes, i)));
+        }
+      }
+
+      case SelectorNode node -> addCompound(node.getSelector(), outer);
+
+      case SelectorList list when list.getType() == ListType.OR -> {
+        for (int i = 0; i < list.getSize(); i++) {
+          addSelector(list.get(i), outer);
+        }
+      }
+
+      default -> addCompound(selector, outer);
+    }
+  }
+
+  /**
+   * Finds which nodes a change in the compound selector at {@code idx} can
+   * affect, by looking at the combinators between it and the subject
+   */
+  private static Reach reach(SelectorNode[] nodes, int idx) {
+    Reach reach = Reach.SELF;
+
+    for (int i = idx + 1; i < nodes.length; i++) {
+      Reach r = switch (nodes[i].getCombinator()) {
+        case NEST -> Reach.SELF;
+        case DESCENDANT, PARENT -> Reach.DESCENDANTS;
+        case SIBLING, DIRECT_SIBLING -> Reach.SIBLINGS;
+      };
+
+      reach = max(reach, r);
+    }
+
+    return reach;
+  }
+
+  private static Reach max(Reach a, Reach b) {
+    return a.ordinal() >= b.ordinal() ? a : b;
+  }
+
+  private void addCompound(Selector compound, Reach reach) {
+    if (compound instanceof SelectorList list && list.getType() == ListType.AND) {
+      for (int i = 0; i < list.getSize(); i++) {
+        addSimple(compound, list.get(i), reach);
+      }
+    } else {
+      addSimple(compound, compound, reach);
+    }
+  }
+
+  private void addSimple(Selector compound, Selector simple, Reach reach) {
+    switch (simple) {
+      case PseudoClassSelector pseudo -> {
+        switch (pseudo.pseudo()) {
+          case HOVER -> addDependency(NodeFlag.HOVERED, compound, reach);
+          case ACTIVE -> addDependency(NodeFlag.CLICKED, compound, reach);
+          default -> {}
+        }
+      }
+
+      // :is() and :not() test the same element as the compound they're in,
+      // so a selector inside them only reaches further if it has
+      // combinators of its own
+      case PseudoFuncSelector<?> func -> {
+        switch (func.argument()) {
+          case Selector argument -> addSelector(argument, reach);
+
+          // ':nth-child(An+B of S)', a flag change on a sibling can change
+          // the element's index among the siblings matching S
+          case GroupedIndexSelector grouped -> addSelector(grouped.group(), Reach.SIBLINGS);
+
+          default -> {}
+        }
+      }
+
+      default -> {}
+    }
+  }
+
+  private void addDependency(NodeFlag flag, Selector compound, Reach reach) {
+    List<Selector> required = new ObjectArrayList<>();
+
+    if (compound instanceof SelectorList list && list.getType() == ListType.AND) {
+      for (int i = 0; i < list.getSize(); i++) {
+        Selector part = list.get(i);
+        if (isStateless(part)) {
+          required.add(part);
+        }
+      }
+    }
+
+    Dependency dep = new Dependency(required.toArray(Selector[]::new), reach);
+    dependencies.computeIfAbsent(flag, f -> new ObjectArrayList<>()).add(dep);
+  }
+
+  private static boolean isStateless(Selector selector) {
+    return selector instanceof IdSelector
+        || selector instanceof ClassNameSelector
+        || selector instanceof TagNameSelector;
+  }
+
+  /**
+   * Gets how far a change to the specified flag on the element reaches.
+   *
+   * @param element Element whose flag changed
+   * @param flag Changed flag
+   * @return Invalidation reach
+   */
+  public Reach getReach(Element element, NodeFlag flag) {
+    List<Dependency> list = dependencies.get(flag);
+    if (list == null) {
+      return Reach.NONE;
+    }
+
+    Reach reach = Reach.NONE;
+
+    for (int i = 0; i < list.size(); i++) {
+      Dependency dep = list.get(i);
+
+      if (dep.reach.ordinal() <= reach.ordinal() || !dep.appliesTo(element)) {
+        continue;
+      }
+
+      reach = dep.reach;
+    }
+
+    return reach;
+  }
+
+  public enum Reach {
+    /** Nothing depends on the flag */
+    NONE,
+
+    /** Only the element itself, and any values its children inherit */
+    SELF,
+
+    /** The element and its descendants */
+    DESCENDANTS,
+
+    /** The element's parent and everything below it */
+    SIBLINGS
+  }
+
+  /**
+   * @param required Flag independent parts of the compound selector that
+   *                 must match for the dependency to apply to an element
+   * @param reach    How far a change reaches
+   */
+  private record Dependency(Selector[] required, Reach reach) {
+
+    boolean appliesTo(Element element) {
+      for (Selector selector : required) {
+        if (!selector.test(element)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.juliewoolie.chimera.system;
+
+import com.juliewoolie.chimera.PropertySet;
+import com.juliewoolie.chimera.StyleLoggers;
+import com.juliewoolie.chimera.parse.Chimera;
+import com.juliewoolie.chimera.parse.ChimeraContext;
+import com.juliewoolie.chimera.parse.ChimeraParser;
+import com.juliewoolie.chimera.parse.CompilerErrors;
+import com.juliewoolie.chimera.parse.Scope;
+import com.juliewoolie.chimera.parse.ast.InlineStyleStatement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of parsed {@code style} attribute values.
+ * <p>
+ * Templates tend to repeat the same inline style on many elements, so each
+ * value is only parsed once per variable map version. Cached sets are never
+ * modified, they're only copied into an element's inline style set.
+ */
+class InlineStyleCache {
+
+  static final int MAX_SIZE = 256;
+
+  private final Map<Key, PropertySet> entries = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, PropertySet> eldest) {
+      return size() > MAX_SIZE;
+    }
+  };
+
+  /**
+   * Gets the parsed form of an inline style, parsing it if it isn't cached.
+   * <p>
+   * Errors are only logged when the value is parsed.
+   *
+   * @param inline Inline style value
+   * @param sourceName Name used in logged errors
+   * @param system Style system whose variables the value may use
+   *
+   * @return Parsed properties, must not be modified
+   */
+  PropertySet get(String inline, String sourceName, StyleObjectModel system) {
+    Key key = new Key(inline, system.getVariablesVersion());
+    PropertySet cached = entries.get(key);
+
+    if (cached != null) {
+      return cached;
+    }
+
+    PropertySet parsed = parse(inline, sourceName, system);
+    entries.put(key, parsed);
+
+    return parsed;
+  }
+
+  private static PropertySet parse(String inline, String sourceName, StyleObjectModel system) {
+    ChimeraParser parser = new ChimeraParser(inline);
+
+    CompilerErrors errors = parser.getErrors();
+    errors.setSourceName(sourceName);
+    errors.setListener(error -> {
+      StyleLoggers.getLogger()
+          .atLevel(error.getLevel())
+          .setMessage(error.getFormattedError())
+          .log();
+    });
+
+    InlineStyleStatement statement = parser.inlineStyle();
+
+    ChimeraContext context = new ChimeraContext(parser.getStream().getInput());
+    context.setErrors(errors);
+
+    // Copied, inline variable declarations are written to the frame
+    Scope scope = Scope.globalFrame();
+    scope.getVariableMap().putAll(system.getVariables());
+
+    PropertySet out = new PropertySet();
+    Chimera.compileInline(statement, out, context, scope);
+
+    return out;
+  }
+
+  record Key(String inline, int variablesVersion) {
+
+  }
+}
@@ -0,0 +1,364 @@
+package com.juliewoolie.chimera.system;
+
+import com.google.common.base.Strings;
+import com.juliewoolie.chimera.Rule;
+import com.juliewoolie.chimera.selector.ClassNameSelector;
+import com.juliewoolie.chimera.selector.Combinator;
+import com.juliewoolie.chimera.selector.IdSelector;
+import com.juliewoolie.chimera.selector.PseudoClassSelector;
+import com.juliewoolie.chimera.selector.PseudoFuncSelector;
+import com.juliewoolie.chimera.selector.RegularSelector;
+import com.juliewoolie.chimera.selector.Selector;
+import com.juliewoolie.chimera.selector.SelectorList;
+import com.juliewoolie.chimera.selector.SelectorList.ListType;
+import com.juliewoolie.chimera.selector.SelectorNode;
+import com.juliewoolie.chimera.selector.TagNameSelector;
+import com.juliewoolie.dom.Attributes;
+import com.juliewoolie.dom.Element;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Buckets rules by the rightmost compound selector, so an element only has
+ * to test the rules that could possibly match it.
+ * <p>
+ * Rules are stored by their index in the {@link StyleObjectModel#rules} list,
+ * which is sorted by specificity, so merging the candidate buckets by index
+ * keeps the cascade order.
+ */
+class RuleIndex {
+
+  private final Map<String, IntList> ids = new Object2ObjectOpenHashMap<>();
+  private final Map<String, IntList> classes = new Object2ObjectOpenHashMap<>();
+  private final Map<String, IntList> tags = new Object2ObjectOpenHashMap<>();
+  private final IntList universal = new IntArrayList();
+
+  private Rule[] rules = new Rule[0];
+
+  // Per rule, per selector in a selector list, the hashes the ancestors must
+  // have for the rule to match, null if the rule can't be filtered
+  private int[][][] ancestorHashes = new int[0][][];
+
+  // Rules that look at an element's siblings or its position among them
+  private boolean[] structural = new boolean[0];
+
+  public void rebuild(List<Rule> ruleList) {
+    ids.clear();
+    classes.clear();
+    tags.clear();
+    universal.clear();
+
+    rules = ruleList.toArray(Rule[]::new);
+    ancestorHashes = new int[rules.length][][];
+    structural = new boolean[rules.length];
+
+    for (int i = 0; i < rules.length; i++) {
+      Selector selector = rules[i].getSelectorObject();
+
+      addRule(i, selector);
+      ancestorHashes[i] = collectAncestorHashes(selector);
+      structural[i] = isStructural(selector);
+    }
+  }
+
+  private static boolean isStructural(Selector selector) {
+    switch (selector) {
+      case RegularSelector regular -> {
+        for (SelectorNode node : regular.getNodes()) {
+          Combinator combinator = node.getCombinator();
+
+          if (combinator == Combinator.DIRECT_SIBLING
+              || combinator == Combinator.SIBLING
+              || isStructural(node.getSelector())
+          ) {
+            return true;
+          }
+        }
+        return false;
+      }
+
+      case SelectorNode node -> {
+        return isStructural(node.getSelector());
+      }
+
+      case SelectorList list -> {
+        for (Selector s : list) {
+          if (isStructural(s)) {
+            return true;
+          }
+        }
+        return false;
+      }
+
+      case PseudoClassSelector pseudo -> {
+        return switch (pseudo.pseudo()) {
+          case FIRST_CHILD, LAST_CHILD, ONLY_CHILD,
+               FIRST_OF_TYPE, LAST_OF_TYPE, ONLY_OF_TYPE -> true;
+          default -> false;
+        };
+      }
+
+      // :is() and :not() depend on whatever they contain, every other
+      // function is one of the :nth-*() index functions
+      case PseudoFuncSelector<?> func -> {
+        if (func.argument() instanceof Selector argument) {
+          return isStructural(argument);
+        }
+        return true;
+      }
+
+      default -> {
+        return false;
+      }
+    }
+  }
+
+  private static int[][] collectAncestorHashes(Selector selector) {
+    switch (selector) {
+      case RegularSelector regular -> {
+        int[] hashes = collectAncestorHashes(regular);
+        return hashes == null ? null : new int[][] {hashes};
+      }
+
+      case SelectorList list when list.getType() == ListType.OR -> {
+        if (list.getSize() < 1) {
+          return null;
+        }
+
+        int[][] result = new int[list.getSize()][];
+
+        for (int i = 0; i < list.getSize(); i++) {
+          if (!(list.get(i) instanceof RegularSelector regular)) {
+            return null;
+          }
+
+          int[] hashes = collectAncestorHashes(regular);
+          if (hashes == null) {
+            return null;
+          }
+
+          result[i] = hashes;
+        }
+
+        return result;
+      }
+
+      default -> {
+        return null;
+      }
+    }
+  }
+
+  private static int[] collectAncestorHashes(RegularSelector selector) {
+    SelectorNode[] nodes = selector.getNodes();
+    IntList hashes = new IntArrayList();
+
+    // A compound is an ancestor of the subject when the combinator right
+    // after it is a descendant or child combinator, no matter what follows
+    for (int i = 0; i < nodes.length - 1; i++) {
+      Combinator next = nodes[i + 1].getCombinator();
+
+      if (next != Combinator.DESCENDANT && next != Combinator.PARENT) {
+        continue;
+      }
+
+      AncestorFilter.collectHashes(nodes[i].getSelector(), hashes);
+    }
+
+    if (hashes.isEmpty()) {
+      return null;
+    }
+
+    return hashes.toIntArray();
+  }
+
+  private boolean mayMatch(int idx, AncestorFilter filter) {
+    int[][] hashes = ancestorHashes[idx];
+    if (hashes == null) {
+      return true;
+    }
+
+    for (int[] selectorHashes : hashes) {
+      if (filter.mightContainAll(selectorHashes)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private void addRule(int index, Selector selector) {
+    List<Key> keys = new ArrayList<>();
+
+    if (!collectKeys(selector, keys)) {
+      universal.add(index);
+      return;
+    }
+
+    for (Key key : keys) {
+      IntList bucket = key.map.computeIfAbsent(key.value, s -> new IntArrayList());
+
+      // Selector lists like '.a, .a:hover' can put the same rule in the
+      // same bucket twice
+      if (!bucket.isEmpty() && bucket.getInt(bucket.size() - 1) == index) {
+        continue;
+      }
+
+      bucket.add(index);
+    }
+  }
+
+  /**
+   * Collects the bucket keys of a selector.
+   * @return {@code false}, if the selector has to be placed in the universal
+   *         bucket
+   */
+  private boolean collectKeys(Selector selector, List<Key> out) {
+    return switch (selector) {
+      case RegularSelector regular -> {
+        SelectorNode[] nodes = regular.getNodes();
+        if (nodes.length < 1) {
+          yield false;
+        }
+        yield collectKeys(nodes[nodes.length - 1].getSelector(), out);
+      }
+
+      case SelectorNode node -> collectKeys(node.getSelector(), out);
+
+      case SelectorList list when list.getType() == ListType.OR -> {
+        // Every selector in the list needs a key, otherwise the rule
+        // could match elements that aren't in any of the buckets
+        for (int i = 0; i < list.getSize(); i++) {
+          if (!collectKeys(list.get(i), out)) {
+            yield false;
+          }
+        }
+        yield list.getSize() > 0;
+      }
+
+      case SelectorList list -> {
+        // Compound selector, any single part is enough to narrow it down,
+        // prefer the most selective one
+        Key best = null;
+
+        for (int i = 0; i < list.getSize(); i++) {
+          Key key = simpleKey(list.get(i));
+          if (key == null) {
+            continue;
+          }
+          if (best == null || key.rank < best.rank) {
+            best = key;
+          }
+        }
+
+        if (best == null) {
+          yield false;
+        }
+
+        out.add(best);
+        yield true;
+      }
+
+      default -> {
+        Key key = simpleKey(selector);
+        if (key == null) {
+          yield false;
+        }
+
+        out.add(key);
+        yield true;
+      }
+    };
+  }
+
+  private Key simpleKey(Selector selector) {
+    return switch (selector) {
+      case IdSelector id -> new Key(ids, id.elementId(), 0);
+      case ClassNameSelector cl -> new Key(classes, cl.className(), 1);
+      case TagNameSelector tag -> new Key(tags, tag.tagName().toLowerCase(Locale.ROOT), 2);
+      default -> null;
+    };
+  }
+
+  /**
+   * Calls the consumer with every rule that may match the specified element,
+   * in specificity order.
+   * <p>
+   * Returns whether any of the rules tested depends on the element's
+   * siblings, in which case the element's style can't be shared with its
+   * siblings.
+   *
+   * @param element Element
+   * @param filter Filter of the element's ancestors, or {@code null}
+   * @param consumer Rule consumer
+   * @return {@code true}, if any candidate rule is structural
+   */
+  public boolean forEachCandidate(Element element, AncestorFilter filter, Consumer<Rule> consumer) {
+    IntArrayList candidates = new IntArrayList(universal);
+
+    String id = element.getAttribute(Attributes.ID);
+    if (!Strings.isNullOrEmpty(id)) {
+      addAll(ids.get(id), candidates);
+    }
+
+    String classList = element.getAttribute(Attributes.CLASS);
+    if (!Strings.isNullOrEmpty(classList)) {
+      for (String className : classList.split("\\s+")) {
+        if (className.isEmpty()) {
+          continue;
+        }
+        addAll(classes.get(className), candidates);
+      }
+    }
+
+    addAll(tags.get(element.getTagName().toLowerCase(Locale.ROOT)), candidates);
+
+    Arrays.sort(candidates.elements(), 0, candidates.size());
+
+    int last = -1;
+    boolean anyStructural = false;
+
+    for (int i = 0; i < candidates.size(); i++) {
+      int idx = candidates.getInt(i);
+
+      // Rules are in multiple buckets when the element matches several
+      // parts of a selector list
+      if (idx == last) {
+        continue;
+      }
+      last = idx;
+      anyStructural |= structural[idx];
+
+      if (filter != null && !mayMatch(idx, filter)) {
+        continue;
+      }
+
+      Rule rule = rules[idx];
+      if (!rule.getSelectorObject().test(element)) {
+        continue;
+      }
+
+      consumer.accept(rule);
+    }
+
+    return anyStructural;
+  }
+
+  private static void addAll(IntList bucket, IntArrayList out) {
+    if (bucket == null) {
+      return;
+    }
+    out.addAll(bucket);
+  }
+
+  private record Key(Map<String, IntList> map, String value, int rank) {
+
+  }
+}
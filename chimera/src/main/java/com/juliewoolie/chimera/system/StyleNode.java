@@ -34,16 +34,30 @@ public class StyleNode {
   }
 
   public void updateStyle() {
-    PropertySet newSet = new PropertySet();
-    applyCascading(newSet);
+    system.beginUpdate();
 
-    int changes = styleSet.setAll(newSet);
-    if (changes == 0) {
-      return;
+    try {
+      PropertySet newSet = new PropertySet();
+      applyCascading(newSet);
+
+      int changes = styleSet.setAll(newSet);
+      if (changes == 0) {
+        return;
+      }
+
+      computedSet.putAll(styleSet);
+      triggerCallback(changes);
+    } finally {
+      system.endUpdate();
     }
+  }
 
-    computedSet.putAll(styleSet);
-    triggerCallback(changes);
+  /**
+   * Updates this node's style after only its inherited values may have
+   * changed.
+   */
+  public void updateInherited() {
+    updateStyle();
   }
 
   void triggerCallback(int changes) {
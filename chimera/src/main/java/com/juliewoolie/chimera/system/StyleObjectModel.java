@@ -1,20 +1,26 @@
 package com.juliewoolie.chimera.system;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import com.juliewoolie.chimera.ChimeraSheetBuilder;
 import com.juliewoolie.chimera.ChimeraStylesheet;
 import com.juliewoolie.chimera.Rule;
 import com.juliewoolie.chimera.StyleUpdateCallbacks;
+import com.juliewoolie.chimera.system.FlagDependencies.Reach;
 import com.juliewoolie.dom.Attributes;
 import com.juliewoolie.dom.Document;
 import com.juliewoolie.dom.Element;
 import com.juliewoolie.dom.Node;
+import com.juliewoolie.dom.NodeFlag;
 import com.juliewoolie.dom.event.AttributeMutateEvent;
 import com.juliewoolie.dom.event.Event;
 import com.juliewoolie.dom.event.EventListener;
@@ -31,11 +37,38 @@ public class StyleObjectModel {
 
   final List<ChimeraStylesheet> sheets = new ArrayList<>();
   final List<Rule> rules = new ArrayList<>();
+  final RuleIndex ruleIndex = new RuleIndex();
+  final FlagDependencies flagDependencies = new FlagDependencies();
+
+  // Reused between style updates, style callbacks can start an update of
+  // their own while another is running, those get a new filter
+  private AncestorFilter spareFilter = new AncestorFilter();
+
+  // Time spent in style updates since the last resetUpdateTimes() call,
+  // updates started while another is running count towards the outer one
+  private int updateDepth = 0;
+  private long updateStart = 0;
+  private long updateNanos = 0;
+  private int updateCount = 0;
 
   private final Map<Node, StyleNode> styleNodes = new HashMap<>();
   private ElementStyleNode rootNode;
 
-  final Map<String, Object> variables = new HashMap<>();
+  // Nodes whose inline style was changed through the API since the last
+  // flushInlineStyles() call, only used while batchingInline is set
+  private final LinkedHashSet<ElementStyleNode> pendingInline = new LinkedHashSet<>();
+
+  @Setter
+  private boolean batchingInline = false;
+
+  @Getter(AccessLevel.NONE)
+  private final Map<String, Object> variables = new HashMap<>();
+
+  // Incremented whenever a variable changes, cached inline styles parsed
+  // with an older version are no longer used
+  private int variablesVersion = 0;
+
+  final InlineStyleCache inlineCache = new InlineStyleCache();
 
   @Setter
   ChimeraStylesheet defaultStyleSheet;
@@ -68,8 +101,7 @@ public class StyleObjectModel {
 
     l.addEventListener(EventTypes.MODIFY_ATTR, updateListener);
 
-    l.addEventListener(EventTypes.CLICK_EXPIRE, updateListener);
-    l.addEventListener(EventTypes.CLICK, updateListener);
+    // :hover and :active changes are handled by flagChanged()
 
     l.addEventListener(EventTypes.INPUT, updateListener);
 
@@ -87,6 +119,48 @@ public class StyleObjectModel {
     }
 
     rules.sort(Comparator.naturalOrder());
+    rulesChanged();
+
+    if (rootNode != null) {
+      rootNode.updateStyle();
+    }
+  }
+
+  /**
+   * Gets the variables inline styles and property values are evaluated
+   * with. Variables can only be changed with {@link #setVariable(String, Object)}.
+   *
+   * @return Unmodifiable view of the variables
+   */
+  public Map<String, Object> getVariables() {
+    return Collections.unmodifiableMap(variables);
+  }
+
+  /**
+   * Sets a variable inline styles can use. Every inline style is parsed
+   * again with the new value and the document is restyled.
+   *
+   * @param name Variable name
+   * @param value Variable value, or {@code null} to remove the variable
+   */
+  public void setVariable(String name, Object value) {
+    Object old = value == null ? variables.remove(name) : variables.put(name, value);
+
+    if (Objects.equals(old, value)) {
+      return;
+    }
+
+    variablesVersion++;
+
+    // Batched changes only exist in the inline style sets until they're
+    // written to the style attribute, which is what gets parsed again
+    flushInlineStyles();
+
+    for (StyleNode node : styleNodes.values()) {
+      if (node instanceof ElementStyleNode elementNode) {
+        elementNode.reloadInline();
+      }
+    }
 
     if (rootNode != null) {
       rootNode.updateStyle();
@@ -169,17 +243,139 @@ public class StyleObjectModel {
       rules.remove(r);
     }
 
+    rulesChanged();
+
     if (rootNode != null) {
       rootNode.updateStyle();
     }
   }
 
+  AncestorFilter acquireFilter(Element element) {
+    AncestorFilter filter = spareFilter;
+
+    if (filter == null) {
+      filter = new AncestorFilter();
+    } else {
+      spareFilter = null;
+    }
+
+    filter.pushAncestors(element);
+    return filter;
+  }
+
+  void releaseFilter(AncestorFilter filter) {
+    filter.clear();
+    spareFilter = filter;
+  }
+
+  /**
+   * Marks the start of a style update. Every call must be followed by a
+   * call to {@link #endUpdate()}, updates started while another is running
+   * are timed as part of the outer update.
+   */
+  void beginUpdate() {
+    if (updateDepth++ == 0) {
+      updateStart = System.nanoTime();
+    }
+  }
+
+  void endUpdate() {
+    if (--updateDepth == 0) {
+      updateNanos += System.nanoTime() - updateStart;
+      updateCount++;
+    }
+  }
+
+  public void resetUpdateTimes() {
+    updateNanos = 0;
+    updateCount = 0;
+  }
+
+  /**
+   * Queues a node's inline style to be written to its {@code style}
+   * attribute on the next {@link #flushInlineStyles()} call.
+   * @param node Node whose inline style changed
+   */
+  public void queueInlineUpdate(ElementStyleNode node) {
+    pendingInline.add(node);
+  }
+
+  /**
+   * Writes every queued inline style change to its element's {@code style}
+   * attribute.
+   * <p>
+   * Each element's attribute is written, and the element restyled, once no
+   * matter how many of its properties were changed since the last flush.
+   * Changes queued during the flush are left for the next one.
+   */
+  public void flushInlineStyles() {
+    if (pendingInline.isEmpty()) {
+      return;
+    }
+
+    ElementStyleNode[] nodes = pendingInline.toArray(ElementStyleNode[]::new);
+    pendingInline.clear();
+
+    for (ElementStyleNode node : nodes) {
+      node.writeInlineAttribute();
+    }
+  }
+
+  private void rulesChanged() {
+    ruleIndex.rebuild(rules);
+    flagDependencies.rebuild(rules);
+  }
+
+  /**
+   * Updates styling after a {@link NodeFlag#HOVERED} or {@link NodeFlag#CLICKED}
+   * flag was added to or removed from a node.
+   * <p>
+   * Only the nodes whose matched rules can change are restyled, if no rule
+   * depends on the flag, nothing is restyled at all.
+   *
+   * @param domNode Node whose flag changed
+   * @param flag Changed flag
+   */
+  public void flagChanged(Node domNode, NodeFlag flag) {
+    if (!(getStyleNode(domNode) instanceof ElementStyleNode node)) {
+      return;
+    }
+
+    Reach reach = flagDependencies.getReach(node.getDomNode(), flag);
+    if (reach == Reach.NONE) {
+      return;
+    }
+
+    beginUpdate();
+
+    try {
+      switch (reach) {
+        case SELF -> node.updateInherited();
+        case DESCENDANTS -> node.updateStyle();
+        case SIBLINGS -> {
+          if (node.parent != null) {
+            node.parent.updateStyle();
+          } else {
+            node.updateStyle();
+          }
+        }
+        default -> {}
+      }
+    } finally {
+      endUpdate();
+    }
+  }
+
   public void removeNode(Node node) {
     StyleNode remove = styleNodes.remove(node);
     if (remove == null) {
       return;
     }
 
+    if (remove instanceof ElementStyleNode elementNode) {
+      pendingInline.remove(elementNode);
+    }
+
     ElementStyleNode parent = remove.parent;
     if (parent != null) {
       parent.removeChild(remove);
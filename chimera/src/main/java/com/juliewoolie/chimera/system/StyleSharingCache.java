@@ -0,0 +1,84 @@
+package com.juliewoolie.chimera.system;
+
+import com.juliewoolie.chimera.PropertySet;
+import com.juliewoolie.dom.Attributes;
+import com.juliewoolie.dom.Element;
+import com.juliewoolie.dom.NodeFlag;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Cache of the style sets computed for the children of a single element.
+ * <p>
+ * Siblings with the same tag, attributes and flags, and without an inline
+ * style, match the exact same rules, as long as none of the rules they could
+ * match look at the element's position among its siblings. Such siblings can
+ * reuse the first one's computed set instead of matching all rules again.
+ */
+class StyleSharingCache {
+
+  static final int MAX_ENTRIES = 8;
+
+  private final List<Entry> entries = new ObjectArrayList<>();
+
+  /**
+   * Tests if a node's style may be shared at all, elements with an id or an
+   * inline style always have a style of their own
+   */
+  static boolean canShare(ElementStyleNode node) {
+    if (!node.getInlineStyleSet().isEmpty()) {
+      return false;
+    }
+
+    return !node.getDomNode().hasAttribute(Attributes.ID);
+  }
+
+  public PropertySet find(ElementStyleNode node) {
+    if (entries.isEmpty() || !canShare(node)) {
+      return null;
+    }
+
+    Element element = node.getDomNode();
+
+    for (int i = 0; i < entries.size(); i++) {
+      Entry entry = entries.get(i);
+
+      if (matches(entry.element, element)) {
+        return entry.set;
+      }
+    }
+
+    return null;
+  }
+
+  public void add(ElementStyleNode node, PropertySet set) {
+    if (!canShare(node)) {
+      return;
+    }
+
+    if (entries.size() >= MAX_ENTRIES) {
+      entries.removeFirst();
+    }
+
+    entries.addLast(new Entry(node.getDomNode(), set));
+  }
+
+  private static boolean matches(Element cached, Element element) {
+    if (!Objects.equals(cached.getTagName(), element.getTagName())) {
+      return false;
+    }
+
+    for (NodeFlag flag : NodeFlag.values()) {
+      if (cached.hasFlag(flag) != element.hasFlag(flag)) {
+        return false;
+      }
+    }
+
+    return cached.getAttributeEntries().equals(element.getAttributeEntries());
+  }
+
+  private record Entry(Element element, PropertySet set) {
+
+  }
+}
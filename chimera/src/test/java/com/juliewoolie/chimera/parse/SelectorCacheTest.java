@@ -0,0 +1,54 @@
+package com.juliewoolie.chimera.parse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.juliewoolie.chimera.selector.Selector;
+import com.juliewoolie.dom.ParserException;
+import org.junit.jupiter.api.Test;
+
+public class SelectorCacheTest {
+
+  @Test
+  void testHitsAndMisses() {
+    SelectorCache cache = new SelectorCache(4);
+
+    Selector first = cache.get(".slot");
+    Selector second = cache.get(".slot");
+
+    assertSame(first, second);
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void testEviction() {
+    SelectorCache cache = new SelectorCache(2);
+
+    Selector a = cache.get(".a");
+    cache.get(".b");
+
+    // Access .a, so .b is the least recently used one
+    cache.get(".a");
+    cache.get(".c");
+
+    assertEquals(2, cache.size());
+    assertSame(a, cache.get(".a"));
+    assertNotNull(cache.get(".b"));
+    assertEquals(4, cache.getMisses());
+  }
+
+  @Test
+  void testInvalidNotCached() {
+    SelectorCache cache = new SelectorCache(4);
+
+    assertThrows(ParserException.class, () -> cache.get("#"));
+    assertThrows(ParserException.class, () -> cache.get("#"));
+
+    assertEquals(0, cache.size());
+    assertEquals(2, cache.getMisses());
+  }
+}
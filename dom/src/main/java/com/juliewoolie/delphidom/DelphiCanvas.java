@@ -3,7 +3,10 @@ package com.juliewoolie.delphidom;
 import com.juliewoolie.dom.Canvas;
 import com.juliewoolie.dom.CanvasElement;
 import com.juliewoolie.dom.style.Color;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Objects;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 import org.joml.Vector3fc;
 import org.joml.Vector3ic;
@@ -14,11 +17,11 @@ import org.joml.Vector4ic;
 
 public class DelphiCanvas implements Canvas {
 
-  static final int CHANNELS = 4;
-  static final int CH_RED = 0;
-  static final int CH_GREEN = 1;
-  static final int CH_BLUE = 2;
-  static final int CH_ALPHA = 3;
+  public static final int CHANNELS = 4;
+  public static final int CH_RED = 0;
+  public static final int CH_GREEN = 1;
+  public static final int CH_BLUE = 2;
+  public static final int CH_ALPHA = 3;
   static final float MAX_VALUE = 255.0f;
 
   private int width;
@@ -28,6 +31,9 @@ public class DelphiCanvas implements Canvas {
 
   private byte[] data;
 
+  @Getter
+  private final DirtyRegion dirtyRegion = new DirtyRegion();
+
   public DelphiCanvas(DelphiCanvasElement element) {
     this.element = element;
     this.width = 0;
@@ -45,6 +51,8 @@ public class DelphiCanvas implements Canvas {
 
     this.width = w;
     this.height = h;
+
+    dirtyRegion.markAll();
   }
 
   private static byte[] resize(byte[] data, int ow, int oh, int nw, int nh) {
@@ -86,6 +94,15 @@ public class DelphiCanvas implements Canvas {
     return height;
   }
 
+  /**
+   * Gets the canvas' backing pixel array, {@link #CHANNELS} bytes per pixel
+   * in RGBA order, row by row. Must not be modified.
+   * @return Pixel data, or {@code null}, if the canvas has never been sized
+   */
+  public byte[] getPixelData() {
+    return data;
+  }
+
   @Override
   public @NotNull CanvasElement getElement() {
     return element;
@@ -191,12 +208,8 @@ public class DelphiCanvas implements Canvas {
   public void setColor(int x, int y, Color color)
       throws NullPointerException, IllegalArgumentException
   {
-    Vector4i vec = new Vector4i();
-    vec.x = color.getRed();
-    vec.y = color.getGreen();
-    vec.z = color.getBlue();
-    vec.w = color.getAlpha();
-    setColori(x, y, vec);
+    Objects.requireNonNull(color, "color is null");
+    setColorInternal(x, y, color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha());
   }
 
   @Override
@@ -246,13 +259,189 @@ public class DelphiCanvas implements Canvas {
   private void setColorInternal(int x, int y, int r, int g, int b, int a) {
     int idx = pixelIndex(x, y);
 
+    if (writePixel(idx, r, g, b, a)) {
+      regionChanged(x, y, 1, 1);
+    }
+  }
+
+  @Override
+  public void fillRect(int x, int y, int width, int height, @NotNull Color color)
+      throws NullPointerException, IllegalArgumentException
+  {
+    Objects.requireNonNull(color, "color is null");
+    testRegion(x, y, width, height);
+
+    int r = color.getRed();
+    int g = color.getGreen();
+    int b = color.getBlue();
+    int a = color.getAlpha();
+
+    boolean changed = false;
+
+    for (int row = 0; row < height; row++) {
+      int idx = (x + ((y + row) * this.width)) * CHANNELS;
+
+      for (int col = 0; col < width; col++) {
+        changed |= writePixel(idx, r, g, b, a);
+        idx += CHANNELS;
+      }
+    }
+
+    if (changed) {
+      regionChanged(x, y, width, height);
+    }
+  }
+
+  @Override
+  public void blit(
+      @NotNull Canvas source,
+      int srcX,
+      int srcY,
+      int width,
+      int height,
+      int destX,
+      int destY
+  ) throws NullPointerException, IllegalArgumentException {
+    Objects.requireNonNull(source, "source is null");
+    testRegion(destX, destY, width, height);
+
+    if (srcX < 0 || srcY < 0
+        || srcX + width > source.getWidth()
+        || srcY + height > source.getHeight()
+    ) {
+      throw new IllegalArgumentException(
+          "Source region (" + srcX + ", " + srcY + ", " + width + "x" + height
+              + ") out of range 0.." + source.getWidth() + "x" + source.getHeight()
+      );
+    }
+
+    boolean changed = false;
+
+    if (source instanceof DelphiCanvas src) {
+      int rowLen = width * CHANNELS;
+
+      // Copying downwards within the same canvas, go bottom to top so rows
+      // aren't overwritten before they're copied
+      boolean reverse = src == this && destY > srcY;
+
+      for (int i = 0; i < height; i++) {
+        int row = reverse ? (height - 1 - i) : i;
+        int from = (srcX + ((srcY + row) * src.width)) * CHANNELS;
+        int to = (destX + ((destY + row) * this.width)) * CHANNELS;
+
+        if (Arrays.equals(src.data, from, from + rowLen, data, to, to + rowLen)) {
+          continue;
+        }
+
+        System.arraycopy(src.data, from, data, to, rowLen);
+        changed = true;
+      }
+    } else {
+      Vector4i color = new Vector4i();
+
+      for (int row = 0; row < height; row++) {
+        int idx = (destX + ((destY + row) * this.width)) * CHANNELS;
+
+        for (int col = 0; col < width; col++) {
+          source.getColori(srcX + col, srcY + row, color);
+          changed |= writePixel(idx, color.x & 0xff, color.y & 0xff, color.z & 0xff, color.w & 0xff);
+          idx += CHANNELS;
+        }
+      }
+    }
+
+    if (changed) {
+      regionChanged(destX, destY, width, height);
+    }
+  }
+
+  @Override
+  public void setPixels(int x, int y, int width, int height, int @NotNull [] argb)
+      throws NullPointerException, IllegalArgumentException
+  {
+    Objects.requireNonNull(argb, "argb is null");
+    testRegion(x, y, width, height);
+
+    if (argb.length < width * height) {
+      throw new IllegalArgumentException(
+          "Expected at least " + (width * height) + " colors, got " + argb.length
+      );
+    }
+
+    boolean changed = false;
+    int i = 0;
+
+    for (int row = 0; row < height; row++) {
+      int idx = (x + ((y + row) * this.width)) * CHANNELS;
+
+      for (int col = 0; col < width; col++) {
+        int c = argb[i++];
+        changed |= writePixel(idx, (c >> 16) & 0xff, (c >> 8) & 0xff, c & 0xff, c >>> 24);
+        idx += CHANNELS;
+      }
+    }
+
+    if (changed) {
+      regionChanged(x, y, width, height);
+    }
+  }
+
+  @Override
+  public void setPixels(int x, int y, int width, int height, @NotNull ByteBuffer rgba)
+      throws NullPointerException, IllegalArgumentException
+  {
+    Objects.requireNonNull(rgba, "rgba is null");
+    testRegion(x, y, width, height);
+
+    int rowLen = width * CHANNELS;
+    int required = rowLen * height;
+
+    if (rgba.remaining() < required) {
+      throw new IllegalArgumentException(
+          "Expected at least " + required + " bytes, got " + rgba.remaining()
+      );
+    }
+
+    boolean changed = false;
+    int pos = rgba.position();
+
+    for (int row = 0; row < height; row++) {
+      int from = pos + (row * rowLen);
+      int to = (x + ((y + row) * this.width)) * CHANNELS;
+
+      if (rgba.slice(from, rowLen).equals(ByteBuffer.wrap(data, to, rowLen))) {
+        continue;
+      }
+
+      rgba.get(from, data, to, rowLen);
+      changed = true;
+    }
+
+    if (changed) {
+      regionChanged(x, y, width, height);
+    }
+  }
+
+  private void testRegion(int x, int y, int w, int h) {
+    if (w < 0 || h < 0) {
+      throw new IllegalArgumentException("Negative region size: " + w + "x" + h);
+    }
+    if (x < 0 || y < 0 || x + w > width || y + h > height) {
+      throw new IllegalArgumentException(
+          "Region (" + x + ", " + y + ", " + w + "x" + h + ") out of range 0.."
+              + width + "x" + height
+      );
+    }
+  }
+
+  private boolean writePixel(int idx, int r, int g, int b, int a) {
     int or = data[idx + CH_RED] & 0xff;
     int og = data[idx + CH_GREEN] & 0xff;
     int ob = data[idx + CH_BLUE] & 0xff;
     int oa = data[idx + CH_ALPHA] & 0xff;
 
-    if (or == r && og == r && ob == b && oa == a) {
-      return;
+    if (or == r && og == g && ob == b && oa == a) {
+      return false;
     }
 
     data[idx + CH_RED] = (byte) r;
@@ -260,6 +449,12 @@ public class DelphiCanvas implements Canvas {
     data[idx + CH_BLUE] = (byte) b;
     data[idx + CH_ALPHA] = (byte) a;
 
+    return true;
+  }
+
+  private void regionChanged(int x, int y, int w, int h) {
+    dirtyRegion.add(x, y, w, h);
+
     ExtendedView view = element.document.view;
     if (view != null) {
       view.contentChanged(element);
@@ -536,7 +536,7 @@ public class DelphiElement extends DelphiNode implements Element, DelegateTarget
   @Override
   @SuppressWarnings({"rawtypes", "unchecked"})
   public @NotNull List<Element> querySelectorAll(@NotNull String query) {
-    Selector selector = Chimera.parseSelector(query);
+    Selector selector = Chimera.getSelector(query);
     List<Element> elementList = new ArrayList<>();
 
     collectDescendants(elementList, selector::test);
@@ -546,13 +546,13 @@ public class DelphiElement extends DelphiNode implements Element, DelegateTarget
 
   @Override
   public @Nullable DelphiElement querySelector(@NotNull String query) {
-    Selector selector = Chimera.parseSelector(query);
+    Selector selector = Chimera.getSelector(query);
     return matchFirst(this, selector);
   }
 
   @Override
   public boolean matches(String selector) {
-    Selector compiled = Chimera.parseSelector(selector);
+    Selector compiled = Chimera.getSelector(selector);
     return compiled.test(this);
   }
 
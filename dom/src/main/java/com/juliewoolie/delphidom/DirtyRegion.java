@@ -0,0 +1,127 @@
+package com.juliewoolie.delphidom;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Set of rectangles that have changed on a canvas since it was last drawn.
+ * <p>
+ * Rectangles that overlap or touch are merged. Once more than
+ * {@link #MAX_RECTS} separate rectangles have been added, the whole canvas
+ * is considered dirty.
+ */
+public class DirtyRegion {
+
+  public static final int MAX_RECTS = 16;
+
+  /* min x, min y, max x, max y (exclusive), per rectangle */
+  private static final int RECT_SIZE = 4;
+
+  private final IntArrayList rects = new IntArrayList();
+  private boolean full = false;
+
+  /**
+   * Adds a rectangle to the region
+   *
+   * @param x Rectangle x
+   * @param y Rectangle y
+   * @param w Rectangle width
+   * @param h Rectangle height
+   */
+  public void add(int x, int y, int w, int h) {
+    if (full || w <= 0 || h <= 0) {
+      return;
+    }
+
+    int minX = x;
+    int minY = y;
+    int maxX = x + w;
+    int maxY = y + h;
+
+    // Merging a rectangle can make it touch one that was checked earlier,
+    // so keep going until nothing else merges
+    boolean merged = true;
+    while (merged) {
+      merged = false;
+
+      for (int i = 0; i < rects.size(); i += RECT_SIZE) {
+        int oMinX = rects.getInt(i);
+        int oMinY = rects.getInt(i + 1);
+        int oMaxX = rects.getInt(i + 2);
+        int oMaxY = rects.getInt(i + 3);
+
+        if (minX > oMaxX || maxX < oMinX || minY > oMaxY || maxY < oMinY) {
+          continue;
+        }
+
+        minX = Math.min(minX, oMinX);
+        minY = Math.min(minY, oMinY);
+        maxX = Math.max(maxX, oMaxX);
+        maxY = Math.max(maxY, oMaxY);
+
+        rects.removeElements(i, i + RECT_SIZE);
+        merged = true;
+        break;
+      }
+    }
+
+    if (rects.size() >= MAX_RECTS * RECT_SIZE) {
+      markAll();
+      return;
+    }
+
+    rects.add(minX);
+    rects.add(minY);
+    rects.add(maxX);
+    rects.add(maxY);
+  }
+
+  /**
+   * Marks the whole canvas as dirty
+   */
+  public void markAll() {
+    full = true;
+    rects.clear();
+  }
+
+  /**
+   * Tests if the whole canvas is dirty
+   * @return {@code true}, if the whole canvas has to be redrawn
+   */
+  public boolean isFull() {
+    return full;
+  }
+
+  public boolean isEmpty() {
+    return !full && rects.isEmpty();
+  }
+
+  /**
+   * Gets the amount of separate rectangles in this region. Always 0 if the
+   * whole canvas is dirty.
+   * @return Rectangle count
+   */
+  public int size() {
+    return rects.size() / RECT_SIZE;
+  }
+
+  public int minX(int rect) {
+    return rects.getInt(rect * RECT_SIZE);
+  }
+
+  public int minY(int rect) {
+    return rects.getInt(rect * RECT_SIZE + 1);
+  }
+
+  public int maxX(int rect) {
+    return rects.getInt(rect * RECT_SIZE + 2);
+  }
+
+  public int maxY(int rect) {
+    return rects.getInt(rect * RECT_SIZE + 3);
+  }
+
+  public void clear() {
+    full = false;
+    rects.clear();
+  }
+}
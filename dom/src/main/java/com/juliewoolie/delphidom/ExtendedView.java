@@ -20,7 +20,12 @@ public interface ExtendedView extends DocumentView {
 
   void handleEntityVisibility(Entity entity);
 
+  void revokeEntityVisibility(Entity entity);
+
   RenderBounds renderBounds(DelphiNode delphiNode);
 
   void canvasSizeChanged(DelphiCanvasElement element);
+
+  @Override
+  FrameStats getStats();
 }
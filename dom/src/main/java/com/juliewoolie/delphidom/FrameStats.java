@@ -0,0 +1,206 @@
+package com.juliewoolie.delphidom;
+
+import com.juliewoolie.delphi.ViewStats;
+import java.util.Arrays;
+import lombok.Getter;
+
+/**
+ * Records how long a view spends in each {@link Phase} per tick.
+ * <p>
+ * Times are accumulated for the current tick with {@link #begin(Phase)} and
+ * {@link #end(Phase, long)}, and turned into a sample by
+ * {@link #endTick(int)}. Only the last {@link #WINDOW_SIZE} samples are kept.
+ */
+public class FrameStats implements ViewStats {
+
+  static final Phase[] PHASES = Phase.values();
+  static final double NANOS_PER_MILLI = 1_000_000.0d;
+
+  private final PhaseTimings[] timings = new PhaseTimings[PHASES.length];
+
+  @Getter
+  private int entityCount = 0;
+
+  @Getter
+  private long tickCount = 0;
+
+  public FrameStats() {
+    for (int i = 0; i < timings.length; i++) {
+      timings[i] = new PhaseTimings();
+    }
+  }
+
+  /**
+   * Starts timing a phase.
+   * <p>
+   * Every call must be followed by a call to {@link #end(Phase, long)}. If a
+   * phase is started while it's already running, only the outermost call is
+   * timed.
+   *
+   * @param phase Phase
+   * @return Start time, to pass to {@link #end(Phase, long)}
+   */
+  public long begin(Phase phase) {
+    timings[phase.ordinal()].depth++;
+    return System.nanoTime();
+  }
+
+  /**
+   * Stops timing a phase and adds the time since {@code startNanos} to the
+   * phase's time in the current tick
+   *
+   * @param phase Phase
+   * @param startNanos Start time, returned by {@link #begin(Phase)}
+   */
+  public void end(Phase phase, long startNanos) {
+    PhaseTimings t = timings[phase.ordinal()];
+
+    if (--t.depth > 0) {
+      return;
+    }
+
+    t.current += System.nanoTime() - startNanos;
+    t.currentCalls++;
+  }
+
+  /**
+   * Adds time to a phase's time in the current tick
+   *
+   * @param phase Phase
+   * @param nanos Time taken
+   * @param calls Amount of times the phase ran in that time
+   */
+  public void add(Phase phase, long nanos, int calls) {
+    PhaseTimings t = timings[phase.ordinal()];
+    t.current += nanos;
+    t.currentCalls += calls;
+  }
+
+  /**
+   * Ends the current tick and records its times as samples
+   * @param entityCount Current amount of entities the view has
+   */
+  public void endTick(int entityCount) {
+    this.entityCount = entityCount;
+    tickCount++;
+
+    for (PhaseTimings t : timings) {
+      t.push();
+    }
+  }
+
+  @Override
+  public PhaseTimings getTimings(Phase phase) {
+    return timings[phase.ordinal()];
+  }
+
+  @Override
+  public void reset() {
+    tickCount = 0;
+
+    for (PhaseTimings t : timings) {
+      t.clear();
+    }
+  }
+
+  public static class PhaseTimings implements Timings {
+
+    private final long[] samples = new long[WINDOW_SIZE];
+    private final int[] calls = new int[WINDOW_SIZE];
+
+    /* Index the next sample is written to */
+    private int head = 0;
+    private int size = 0;
+
+    private long current = 0;
+    private int currentCalls = 0;
+    private int depth = 0;
+
+    void push() {
+      samples[head] = current;
+      calls[head] = currentCalls;
+
+      head = (head + 1) % WINDOW_SIZE;
+      size = Math.min(size + 1, WINDOW_SIZE);
+
+      current = 0;
+      currentCalls = 0;
+    }
+
+    void clear() {
+      Arrays.fill(samples, 0);
+      Arrays.fill(calls, 0);
+
+      head = 0;
+      size = 0;
+      current = 0;
+      currentCalls = 0;
+    }
+
+    @Override
+    public int getSampleCount() {
+      return size;
+    }
+
+    @Override
+    public long getCallCount() {
+      long total = 0;
+      for (int i = 0; i < size; i++) {
+        total += calls[i];
+      }
+      return total;
+    }
+
+    @Override
+    public double getLastMillis() {
+      if (size == 0) {
+        return 0;
+      }
+
+      int last = (head + WINDOW_SIZE - 1) % WINDOW_SIZE;
+      return samples[last] / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getAverageMillis() {
+      if (size == 0) {
+        return 0;
+      }
+
+      long total = 0;
+      for (int i = 0; i < size; i++) {
+        total += samples[i];
+      }
+
+      return (total / (double) size) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxMillis() {
+      long max = 0;
+      for (int i = 0; i < size; i++) {
+        max = Math.max(max, samples[i]);
+      }
+      return max / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getPercentileMillis(double percentile) {
+      if (percentile < 0 || percentile > 100) {
+        throw new IllegalArgumentException("Percentile out of range [0..100]: " + percentile);
+      }
+      if (size == 0) {
+        return 0;
+      }
+
+      // Until the window is full, the samples are at the start of the array
+      long[] sorted = Arrays.copyOf(samples, size);
+      Arrays.sort(sorted);
+
+      int idx = (int) Math.ceil((percentile / 100.0d) * size) - 1;
+      idx = Math.clamp(idx, 0, size - 1);
+
+      return sorted[idx] / NANOS_PER_MILLI;
+    }
+  }
+}
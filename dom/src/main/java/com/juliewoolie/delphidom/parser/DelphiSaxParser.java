@@ -8,6 +8,7 @@ import java.util.Stack;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import com.juliewoolie.delphidom.DelphiDocument;
@@ -35,6 +36,10 @@ public class DelphiSaxParser extends DefaultHandler {
 
   public static final SAXParserFactory PARSER_FACTORY = createFactory();
 
+  // TagSoup only adds the element types of unknown tags to a schema, so one
+  // schema can be reused for every parse. Kept per thread because of that.
+  private static final ThreadLocal<DelphiSchema> SCHEMA = ThreadLocal.withInitial(DelphiSchema::new);
+
   @Setter
   private SaxParserCallbacks callbacks;
   @Setter
@@ -53,6 +58,9 @@ public class DelphiSaxParser extends DefaultHandler {
   @Setter
   private ErrorListener listener;
 
+  @Getter(AccessLevel.NONE)
+  private DocumentTemplate.Recorder recorder;
+
   public static SAXParserFactory createFactory() {
     SAXFactoryImpl factory = new SAXFactoryImpl();
 
@@ -72,7 +80,7 @@ public class DelphiSaxParser extends DefaultHandler {
     SAXParser parser = PARSER_FACTORY.newSAXParser();
 
     XMLReader reader = parser.getXMLReader();
-    reader.setProperty(Parser.schemaProperty, new DelphiSchema());
+    reader.setProperty(Parser.schemaProperty, SCHEMA.get());
 
     return reader;
   }
@@ -91,6 +99,27 @@ public class DelphiSaxParser extends DefaultHandler {
     return handler;
   }
 
+  /**
+   * Makes this handler record a {@link DocumentTemplate} of the parsed
+   * document, must be called before parsing starts
+   */
+  public void recordTemplate() {
+    recorder = new DocumentTemplate.Recorder();
+  }
+
+  /**
+   * Gets the template recorded during parsing.
+   * @return Recorded template, or {@code null}, if no template was recorded,
+   *         or if parsing failed or produced errors or warnings
+   */
+  public DocumentTemplate getTemplate() {
+    if (recorder == null || failed || !errors.isEmpty()) {
+      return null;
+    }
+
+    return recorder.build();
+  }
+
   public void pushNode(DelphiNode node) {
     if (!elementStack.isEmpty()) {
       DelphiNode p = elementStack.peek();
@@ -139,10 +168,18 @@ public class DelphiSaxParser extends DefaultHandler {
       return;
     }
 
+    appendText(str);
+  }
+
+  void appendText(String str) {
     Text txt = document.createText(str);
 
     pushNode(txt);
     popNode();
+
+    if (recorder != null) {
+      recorder.text(str);
+    }
   }
 
   @Override
@@ -183,13 +220,28 @@ public class DelphiSaxParser extends DefaultHandler {
 
     appendCharsIfNotEmpty();
 
-    DelphiElement element = document.createElement(qName);
+    int len = attributes.getLength();
+    String[] names = new String[len];
+    String[] values = new String[len];
+
+    for (int i = 0; i < len; i++) {
+      names[i] = attributes.getQName(i);
+      values[i] = attributes.getValue(i);
+    }
+
+    openElement(qName, names, values);
+  }
+
+  void openElement(String tagName, String[] names, String[] values) {
+    DelphiElement element = document.createElement(tagName);
     pushNode(element);
 
-    for (int i = 0; i < attributes.getLength(); i++) {
-      String name = attributes.getQName(i);
-      String value = attributes.getValue(i);
-      element.setAttribute(name, value);
+    for (int i = 0; i < names.length; i++) {
+      element.setAttribute(names[i], values[i]);
+    }
+
+    if (recorder != null) {
+      recorder.openElement(tagName, names, values);
     }
 
     if (element instanceof DelphiOptionElement opt) {
@@ -209,7 +261,15 @@ public class DelphiSaxParser extends DefaultHandler {
   @Override
   public void endElement(String uri, String localName, String qName) throws SAXException {
     appendCharsIfNotEmpty();
+    closeElement();
+  }
+
+  void closeElement() {
     popNode();
+
+    if (recorder != null) {
+      recorder.closeElement();
+    }
   }
 
   @Override
@@ -0,0 +1,133 @@
+package com.juliewoolie.delphidom.parser;
+
+import com.juliewoolie.delphidom.DelphiDocument;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import java.util.List;
+import java.util.Stack;
+import org.xml.sax.SAXException;
+
+/**
+ * Immutable, parsed form of a document's XML.
+ * <p>
+ * Recorded by {@link DelphiSaxParser} while parsing, a template holds the
+ * element and text nodes exactly as the parser created them. Instantiating
+ * a template replays those nodes into a handler, which builds a document
+ * the same way a parse would, option validation and document callbacks
+ * included, without running the XML parser again.
+ */
+public class DocumentTemplate {
+
+  private final ElementTemplate root;
+
+  private DocumentTemplate(ElementTemplate root) {
+    this.root = root;
+  }
+
+  /**
+   * Creates a new document from this template.
+   *
+   * @param handler Handler to build the document with
+   * @return The created document
+   *
+   * @throws SAXException If the handler rejects the template's elements
+   */
+  public DelphiDocument instantiate(DelphiSaxParser handler) throws SAXException {
+    handler.startDocument();
+    replay(handler, root);
+    return handler.getDocument();
+  }
+
+  private static void replay(DelphiSaxParser handler, ElementTemplate element)
+      throws SAXException
+  {
+    handler.openElement(element.tagName, element.attributeNames, element.attributeValues);
+
+    for (NodeTemplate child : element.children) {
+      switch (child) {
+        case ElementTemplate childElement -> replay(handler, childElement);
+        case TextTemplate text -> handler.appendText(text.text);
+      }
+    }
+
+    handler.closeElement();
+  }
+
+  sealed interface NodeTemplate permits ElementTemplate, TextTemplate {
+
+  }
+
+  record ElementTemplate(
+      String tagName,
+      String[] attributeNames,
+      String[] attributeValues,
+      NodeTemplate[] children
+  ) implements NodeTemplate {
+
+  }
+
+  record TextTemplate(String text) implements NodeTemplate {
+
+  }
+
+  /**
+   * Records the nodes created by a parser
+   */
+  static class Recorder {
+
+    private final Stack<ElementBuilder> stack = new Stack<>();
+    private ElementTemplate root;
+
+    void openElement(String tagName, String[] names, String[] values) {
+      stack.push(new ElementBuilder(tagName, names, values));
+    }
+
+    void text(String text) {
+      if (stack.isEmpty()) {
+        return;
+      }
+
+      stack.peek().children.add(new TextTemplate(text));
+    }
+
+    void closeElement() {
+      ElementBuilder builder = stack.pop();
+      ElementTemplate element = builder.build();
+
+      if (stack.isEmpty()) {
+        root = element;
+        return;
+      }
+
+      stack.peek().children.add(element);
+    }
+
+    DocumentTemplate build() {
+      if (root == null || !stack.isEmpty()) {
+        return null;
+      }
+
+      return new DocumentTemplate(root);
+    }
+  }
+
+  private record ElementBuilder(
+      String tagName,
+      String[] names,
+      String[] values,
+      List<NodeTemplate> children
+  ) {
+
+    ElementBuilder(String tagName, String[] names, String[] values) {
+      this(tagName, names, values, new ObjectArrayList<>());
+    }
+
+    ElementTemplate build() {
+      return new ElementTemplate(
+          tagName,
+          names,
+          values,
+          children.toArray(NodeTemplate[]::new)
+      );
+    }
+  }
+}
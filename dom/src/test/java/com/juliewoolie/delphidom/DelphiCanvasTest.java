@@ -0,0 +1,68 @@
+package com.juliewoolie.delphidom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.juliewoolie.dom.style.Color;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class DelphiCanvasTest {
+
+  static DelphiCanvas createCanvas(int w, int h) {
+    DelphiDocument doc = TestUtil.createDoc();
+    DelphiCanvas canvas = new DelphiCanvasElement(doc).canvas;
+    canvas.setSize(w, h);
+    canvas.getDirtyRegion().clear();
+    return canvas;
+  }
+
+  @Test
+  void testFillRect() {
+    DelphiCanvas canvas = createCanvas(4, 4);
+    Color red = Color.argb(255, 255, 0, 0);
+
+    canvas.fillRect(1, 1, 2, 2, red);
+
+    assertEquals(red.argb(), canvas.getColor(1, 1).argb());
+    assertEquals(red.argb(), canvas.getColor(2, 2).argb());
+    assertEquals(0, canvas.getColor(0, 0).getAlpha());
+
+    DirtyRegion dirty = canvas.getDirtyRegion();
+    assertEquals(1, dirty.size());
+    assertEquals(1, dirty.minX(0));
+    assertEquals(3, dirty.maxX(0));
+  }
+
+  @Test
+  void testSetPixels() {
+    DelphiCanvas canvas = createCanvas(2, 2);
+
+    canvas.setPixels(0, 0, 2, 1, new int[] {0xFF00FF00, 0x800000FF});
+    assertEquals(Color.argb(255, 0, 255, 0).argb(), canvas.getColor(0, 0).argb());
+    assertEquals(Color.argb(128, 0, 0, 255).argb(), canvas.getColor(1, 0).argb());
+
+    ByteBuffer buffer = ByteBuffer.wrap(new byte[] {10, 20, 30, (byte) 255});
+    canvas.setPixels(1, 1, 1, 1, buffer);
+    assertEquals(Color.argb(255, 10, 20, 30).argb(), canvas.getColor(1, 1).argb());
+    assertEquals(0, buffer.position());
+
+    assertThrows(IllegalArgumentException.class, () -> canvas.setPixels(1, 1, 2, 2, new int[4]));
+    assertThrows(IllegalArgumentException.class, () -> canvas.setPixels(0, 0, 2, 2, new int[3]));
+  }
+
+  @Test
+  void testBlitOverlapping() {
+    DelphiCanvas canvas = createCanvas(1, 3);
+    canvas.setPixels(0, 0, 1, 3, new int[] {0xFF000001, 0xFF000002, 0xFF000003});
+    canvas.getDirtyRegion().clear();
+
+    canvas.blit(canvas, 0, 0, 1, 2, 0, 1);
+
+    assertEquals(1, canvas.getColor(0, 0).getBlue());
+    assertEquals(1, canvas.getColor(0, 1).getBlue());
+    assertEquals(2, canvas.getColor(0, 2).getBlue());
+    assertFalse(canvas.getDirtyRegion().isEmpty());
+  }
+}
@@ -0,0 +1,49 @@
+package com.juliewoolie.delphidom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class DirtyRegionTest {
+
+  @Test
+  void testTouchingRectsMerge() {
+    DirtyRegion region = new DirtyRegion();
+    region.add(0, 0, 1, 1);
+    region.add(1, 0, 1, 1);
+    region.add(1, 1, 1, 1);
+
+    assertEquals(1, region.size());
+    assertEquals(0, region.minX(0));
+    assertEquals(0, region.minY(0));
+    assertEquals(2, region.maxX(0));
+    assertEquals(2, region.maxY(0));
+  }
+
+  @Test
+  void testSeparateRects() {
+    DirtyRegion region = new DirtyRegion();
+    region.add(0, 0, 1, 1);
+    region.add(10, 10, 1, 1);
+
+    assertEquals(2, region.size());
+    assertFalse(region.isFull());
+  }
+
+  @Test
+  void testOverflowMarksAll() {
+    DirtyRegion region = new DirtyRegion();
+
+    for (int i = 0; i <= DirtyRegion.MAX_RECTS; i++) {
+      region.add(i * 4, 0, 1, 1);
+    }
+
+    assertTrue(region.isFull());
+    assertEquals(0, region.size());
+
+    region.clear();
+    assertTrue(region.isEmpty());
+  }
+}
@@ -0,0 +1,67 @@
+package com.juliewoolie.delphidom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.juliewoolie.delphi.ViewStats;
+import com.juliewoolie.delphi.ViewStats.Phase;
+import com.juliewoolie.delphi.ViewStats.Timings;
+import org.junit.jupiter.api.Test;
+
+class FrameStatsTest {
+
+  static final long MILLI = 1_000_000L;
+
+  @Test
+  void testPercentiles() {
+    FrameStats stats = new FrameStats();
+
+    for (int i = 1; i <= 100; i++) {
+      stats.add(Phase.LAYOUT, i * MILLI, 1);
+      stats.endTick(0);
+    }
+
+    Timings timings = stats.getTimings(Phase.LAYOUT);
+    assertEquals(100, timings.getSampleCount());
+    assertEquals(100, timings.getCallCount());
+    assertEquals(50.5, timings.getAverageMillis(), 0.0001);
+    assertEquals(95, timings.getPercentileMillis(95), 0.0001);
+    assertEquals(100, timings.getMaxMillis(), 0.0001);
+    assertEquals(100, timings.getLastMillis(), 0.0001);
+
+    assertThrows(IllegalArgumentException.class, () -> timings.getPercentileMillis(101));
+  }
+
+  @Test
+  void testWindowDropsOldSamples() {
+    FrameStats stats = new FrameStats();
+
+    stats.add(Phase.STYLE, 50 * MILLI, 1);
+    stats.endTick(0);
+
+    for (int i = 0; i < ViewStats.WINDOW_SIZE; i++) {
+      stats.add(Phase.STYLE, MILLI, 1);
+      stats.endTick(0);
+    }
+
+    Timings timings = stats.getTimings(Phase.STYLE);
+    assertEquals(ViewStats.WINDOW_SIZE, timings.getSampleCount());
+    assertEquals(1, timings.getMaxMillis(), 0.0001);
+    assertEquals(ViewStats.WINDOW_SIZE + 1, stats.getTickCount());
+  }
+
+  @Test
+  void testNestedPhaseTimedOnce() {
+    FrameStats stats = new FrameStats();
+
+    long outer = stats.begin(Phase.SCRIPT);
+    long inner = stats.begin(Phase.SCRIPT);
+    stats.end(Phase.SCRIPT, inner);
+    stats.end(Phase.SCRIPT, outer);
+
+    stats.endTick(3);
+
+    assertEquals(1, stats.getTimings(Phase.SCRIPT).getCallCount());
+    assertEquals(3, stats.getEntityCount());
+  }
+}
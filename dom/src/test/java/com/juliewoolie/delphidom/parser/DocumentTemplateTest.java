@@ -0,0 +1,70 @@
+package com.juliewoolie.delphidom.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.juliewoolie.delphidom.DelphiDocument;
+import com.juliewoolie.delphidom.XmlPrintVisitor;
+import com.juliewoolie.dom.Visitor;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+
+class DocumentTemplateTest {
+
+  static final String INPUT = """
+      <delphi>
+        <head>
+          <option name="screen-width" value="5"/>
+        </head>
+        <body>
+          <div class="title" id="t">Hello,    world!</div>
+          <button class="btn">
+            Click <b>me</b>
+          </button>
+        </body>
+      </delphi>
+      """;
+
+  static DelphiSaxParser parse(String input, boolean record) throws Exception {
+    InputSource source = new InputSource("template-test.xml");
+    source.setCharacterStream(new StringReader(input));
+
+    DelphiSaxParser handler = new DelphiSaxParser();
+    if (record) {
+      handler.recordTemplate();
+    }
+
+    return DelphiSaxParser.runParser(source, handler);
+  }
+
+  static String print(DelphiDocument document) {
+    XmlPrintVisitor visitor = new XmlPrintVisitor();
+    Visitor.visit(document.getDocumentElement(), visitor);
+    return visitor.toString();
+  }
+
+  @Test
+  void testInstantiateMatchesParse() throws Exception {
+    DelphiSaxParser parsed = parse(INPUT, true);
+    DocumentTemplate template = parsed.getTemplate();
+    assertNotNull(template);
+
+    DelphiDocument first = template.instantiate(new DelphiSaxParser());
+    DelphiDocument second = template.instantiate(new DelphiSaxParser());
+
+    assertNotSame(first, second);
+    assertEquals(print(parsed.getDocument()), print(first));
+    assertEquals(print(first), print(second));
+
+    assertEquals("5", first.getOption("screen-width"));
+  }
+
+  @Test
+  void testNotRecordedByDefault() throws Exception {
+    DelphiSaxParser parsed = parse(INPUT, false);
+    assertNull(parsed.getTemplate());
+  }
+}
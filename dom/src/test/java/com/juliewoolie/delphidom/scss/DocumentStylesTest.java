@@ -4,14 +4,19 @@ import static com.juliewoolie.delphidom.TestUtil.createDoc;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.juliewoolie.chimera.ChimeraStylesheet;
+import com.juliewoolie.chimera.ComputedStyleSet;
 import com.juliewoolie.chimera.Rule;
 import com.juliewoolie.chimera.system.StyleNode;
+import com.juliewoolie.chimera.system.StyleObjectModel;
 import com.juliewoolie.delphidom.DelphiDocument;
 import com.juliewoolie.delphidom.DelphiElement;
 import com.juliewoolie.dom.Attributes;
+import com.juliewoolie.dom.style.Primitive;
+import com.juliewoolie.dom.style.Primitive.Unit;
 import com.juliewoolie.dom.style.StyleProperties;
 import com.juliewoolie.dom.style.StylePropertiesReadonly;
 import com.juliewoolie.dom.style.Stylesheet;
@@ -32,6 +37,95 @@ class DocumentStylesTest {
     assertEquals("4px", inline.getPaddingLeft());
   }
 
+  @Test
+  void testSharedInlineValue() {
+    DelphiDocument doc = createDoc();
+    DelphiElement first = doc.createElement("div");
+    DelphiElement second = doc.createElement("div");
+
+    doc.getBody().appendChild(first);
+    doc.getBody().appendChild(second);
+
+    first.setAttribute(Attributes.STYLE, "padding-left: 4px;");
+    second.setAttribute(Attributes.STYLE, "padding-left: 4px;");
+
+    first.getInlineStyle().setPaddingLeft("2px");
+
+    assertEquals("2px", first.getCurrentStyle().getPaddingLeft());
+    assertEquals("4px", second.getCurrentStyle().getPaddingLeft());
+    assertEquals("4px", second.getInlineStyle().getPaddingLeft());
+  }
+
+  @Test
+  void testInlineVariableChange() {
+    DelphiDocument doc = createDoc();
+    StyleObjectModel styles = doc.getStyles();
+    styles.setVariable("pad", Primitive.create(4, Unit.PX));
+
+    DelphiElement first = doc.createElement("div");
+    DelphiElement second = doc.createElement("div");
+
+    doc.getBody().appendChild(first);
+    doc.getBody().appendChild(second);
+
+    first.setAttribute(Attributes.STYLE, "padding-left: $pad;");
+    assertEquals("4px", first.getCurrentStyle().getPaddingLeft());
+
+    styles.setVariable("pad", Primitive.create(2, Unit.PX));
+    assertEquals("2px", first.getCurrentStyle().getPaddingLeft());
+
+    // Same value as the first element, must not be served from the cache
+    second.setAttribute(Attributes.STYLE, "padding-left: $pad;");
+    assertEquals("2px", second.getCurrentStyle().getPaddingLeft());
+
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> styles.getVariables().put("pad", Primitive.create(1, Unit.PX))
+    );
+  }
+
+  @Test
+  void testBatchedInline() {
+    DelphiDocument doc = createDoc();
+    DelphiElement body = doc.getBody();
+    StyleObjectModel styles = doc.getStyles();
+
+    styles.setBatchingInline(true);
+    styles.resetUpdateTimes();
+
+    StyleProperties inline = body.getInlineStyle();
+    inline.setPaddingLeft("4px");
+    inline.setPaddingRight("2px");
+
+    assertNull(body.getAttribute(Attributes.STYLE));
+    assertEquals(0, styles.getUpdateCount());
+
+    styles.flushInlineStyles();
+
+    assertEquals(1, styles.getUpdateCount());
+    assertEquals("4px", body.getCurrentStyle().getPaddingLeft());
+    assertEquals("2px", body.getCurrentStyle().getPaddingRight());
+
+    String attr = body.getAttribute(Attributes.STYLE);
+    assertTrue(attr.contains("padding-left: 4px"), attr);
+    assertTrue(attr.contains("padding-right: 2px"), attr);
+  }
+
+  @Test
+  void testTransition() {
+    DelphiDocument doc = createDoc();
+    DelphiElement body = doc.getBody();
+
+    body.setAttribute(Attributes.STYLE, "transition: 250ms; transition-delay: 2;");
+    ComputedStyleSet computed = doc.getStyles().getStyleNode(body).getComputedSet();
+
+    assertEquals(Primitive.create(250, Unit.MS), computed.transition);
+    assertEquals(Primitive.create(2), computed.transitionDelay);
+
+    body.setAttribute(Attributes.STYLE, "transition: 4px;");
+    assertEquals(Primitive.ZERO, computed.transition);
+  }
+
   @Test
   void testInlineSyntaxError() {
     DelphiDocument doc = createDoc();
@@ -0,0 +1,136 @@
+package com.juliewoolie.delphidom.scss;
+
+import static com.juliewoolie.delphidom.TestUtil.createDoc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.juliewoolie.chimera.system.StyleObjectModel;
+import com.juliewoolie.delphidom.DelphiDocument;
+import com.juliewoolie.delphidom.DelphiElement;
+import com.juliewoolie.dom.Attributes;
+import com.juliewoolie.dom.NodeFlag;
+import org.junit.jupiter.api.Test;
+
+class FlagInvalidationTest {
+
+  static void setFlag(DelphiDocument doc, DelphiElement el, NodeFlag flag, boolean state) {
+    if (state) {
+      el.addFlag(flag);
+    } else {
+      el.removeFlag(flag);
+    }
+
+    StyleObjectModel styles = doc.getStyles();
+    styles.flagChanged(el, flag);
+  }
+
+  @Test
+  void testSelfHover() {
+    DelphiDocument doc = createDoc();
+    DelphiElement el = doc.createElement("button");
+    el.setAttribute(Attributes.CLASS, "btn");
+    doc.getBody().appendChild(el);
+
+    doc.createStylesheet()
+        .addRule(".btn:hover", p -> p.setPaddingLeft("4px"))
+        .build();
+
+    assertNotEquals("4px", el.getCurrentStyle().getPaddingLeft());
+
+    setFlag(doc, el, NodeFlag.HOVERED, true);
+    assertEquals("4px", el.getCurrentStyle().getPaddingLeft());
+
+    setFlag(doc, el, NodeFlag.HOVERED, false);
+    assertNotEquals("4px", el.getCurrentStyle().getPaddingLeft());
+  }
+
+  @Test
+  void testAncestorActive() {
+    DelphiDocument doc = createDoc();
+    DelphiElement menu = doc.createElement("div");
+    menu.setAttribute(Attributes.CLASS, "menu");
+
+    DelphiElement item = doc.createElement("div");
+    item.setAttribute(Attributes.CLASS, "item");
+
+    menu.appendChild(item);
+    doc.getBody().appendChild(menu);
+
+    doc.createStylesheet()
+        .addRule(".menu:active .item", p -> p.setPaddingLeft("2px"))
+        .build();
+
+    setFlag(doc, menu, NodeFlag.CLICKED, true);
+    assertEquals("2px", item.getCurrentStyle().getPaddingLeft());
+
+    setFlag(doc, menu, NodeFlag.CLICKED, false);
+    assertNotEquals("2px", item.getCurrentStyle().getPaddingLeft());
+  }
+
+  @Test
+  void testSiblingHover() {
+    DelphiDocument doc = createDoc();
+    DelphiElement first = doc.createElement("div");
+    DelphiElement second = doc.createElement("div");
+
+    doc.getBody().appendChild(first);
+    doc.getBody().appendChild(second);
+
+    doc.createStylesheet()
+        .addRule("div:hover + div", p -> p.setPaddingLeft("3px"))
+        .build();
+
+    setFlag(doc, first, NodeFlag.HOVERED, true);
+    assertEquals("3px", second.getCurrentStyle().getPaddingLeft());
+  }
+
+  @Test
+  void testNestedHover() {
+    DelphiDocument doc = createDoc();
+    DelphiElement menu = doc.createElement("div");
+    menu.setAttribute(Attributes.CLASS, "menu");
+
+    DelphiElement item = doc.createElement("div");
+    item.setAttribute(Attributes.CLASS, "item");
+
+    menu.appendChild(item);
+    doc.getBody().appendChild(menu);
+
+    doc.createStylesheet()
+        .addRule(".item:is(.menu:hover *)", p -> p.setPaddingLeft("2px"))
+        .addRule(".item:not(:hover)", p -> p.setPaddingRight("1px"))
+        .build();
+
+    assertEquals("1px", item.getCurrentStyle().getPaddingRight());
+
+    setFlag(doc, menu, NodeFlag.HOVERED, true);
+    assertEquals("2px", item.getCurrentStyle().getPaddingLeft());
+
+    setFlag(doc, item, NodeFlag.HOVERED, true);
+    assertNotEquals("1px", item.getCurrentStyle().getPaddingRight());
+
+    setFlag(doc, menu, NodeFlag.HOVERED, false);
+    assertNotEquals("2px", item.getCurrentStyle().getPaddingLeft());
+  }
+
+  @Test
+  void testFlagUpdateCounted() {
+    DelphiDocument doc = createDoc();
+    DelphiElement el = doc.createElement("button");
+    el.setAttribute(Attributes.CLASS, "btn");
+    doc.getBody().appendChild(el);
+
+    doc.createStylesheet()
+        .addRule(".btn:hover", p -> p.setPaddingLeft("4px"))
+        .build();
+
+    StyleObjectModel styles = doc.getStyles();
+    styles.resetUpdateTimes();
+
+    setFlag(doc, el, NodeFlag.CLICKED, true);
+    assertEquals(0, styles.getUpdateCount());
+
+    setFlag(doc, el, NodeFlag.HOVERED, true);
+    assertEquals(1, styles.getUpdateCount());
+  }
+}
@@ -0,0 +1,157 @@
+package com.juliewoolie.delphidom.scss;
+
+import static com.juliewoolie.delphidom.TestUtil.createDoc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.juliewoolie.delphidom.DelphiDocument;
+import com.juliewoolie.delphidom.DelphiElement;
+import com.juliewoolie.dom.Attributes;
+import org.junit.jupiter.api.Test;
+
+class RuleMatchingTest {
+
+  DelphiElement createTarget(DelphiDocument doc) {
+    DelphiElement parent = doc.createElement("div");
+    parent.setAttribute(Attributes.CLASS, "outer");
+
+    DelphiElement el = doc.createElement("button");
+    el.setAttribute(Attributes.CLASS, "slot  wide");
+    el.setAttribute(Attributes.ID, "target");
+
+    parent.appendChild(el);
+    doc.getBody().appendChild(parent);
+
+    return el;
+  }
+
+  @Test
+  void testSpecificityOrder() {
+    DelphiDocument doc = createDoc();
+    DelphiElement el = createTarget(doc);
+
+    doc.createStylesheet()
+        .addRule("#target", p -> p.setPaddingLeft("4px"))
+        .addRule(".slot", p -> p.setPaddingLeft("3px").setPaddingRight("3px"))
+        .addRule("button", p -> p.setPaddingLeft("2px").setPaddingRight("2px").setPaddingTop("2px"))
+        .addRule("*", p -> p.setPaddingLeft("1px").setPaddingRight("1px").setPaddingTop("1px").setPaddingBottom("1px"))
+        .build();
+
+    assertEquals("4px", el.getCurrentStyle().getPaddingLeft());
+    assertEquals("3px", el.getCurrentStyle().getPaddingRight());
+    assertEquals("2px", el.getCurrentStyle().getPaddingTop());
+    assertEquals("1px", el.getCurrentStyle().getPaddingBottom());
+  }
+
+  @Test
+  void testCompoundAndCombinators() {
+    DelphiDocument doc = createDoc();
+    DelphiElement el = createTarget(doc);
+
+    doc.createStylesheet()
+        .addRule(".outer > button.wide", p -> p.setPaddingLeft("5px"))
+        .addRule(".outer .missing", p -> p.setPaddingRight("5px"))
+        .addRule("span, .wide", p -> p.setPaddingTop("5px"))
+        .build();
+
+    assertEquals("5px", el.getCurrentStyle().getPaddingLeft());
+    assertEquals("5px", el.getCurrentStyle().getPaddingTop());
+    assertNotEquals("5px", el.getCurrentStyle().getPaddingRight());
+  }
+
+  @Test
+  void testClassChange() {
+    DelphiDocument doc = createDoc();
+    DelphiElement el = createTarget(doc);
+
+    doc.createStylesheet()
+        .addRule(".active", p -> p.setPaddingLeft("6px"))
+        .build();
+
+    assertNotEquals("6px", el.getCurrentStyle().getPaddingLeft());
+
+    el.setAttribute(Attributes.CLASS, "slot active");
+    assertEquals("6px", el.getCurrentStyle().getPaddingLeft());
+  }
+
+  @Test
+  void testAncestorFilter() {
+    DelphiDocument doc = createDoc();
+    DelphiElement el = createTarget(doc);
+
+    doc.createStylesheet()
+        .addRule(".outer #target", p -> p.setPaddingLeft("7px"))
+        .addRule("body div > .slot", p -> p.setPaddingTop("7px"))
+        .addRule(".missing button", p -> p.setPaddingRight("7px"))
+        .addRule(".outer + button, div .wide", p -> p.setPaddingBottom("7px"))
+        .build();
+
+    assertEquals("7px", el.getCurrentStyle().getPaddingLeft());
+    assertEquals("7px", el.getCurrentStyle().getPaddingTop());
+    assertNotEquals("7px", el.getCurrentStyle().getPaddingRight());
+    assertEquals("7px", el.getCurrentStyle().getPaddingBottom());
+
+    DelphiElement parent = el.getParent();
+    parent.setAttribute(Attributes.CLASS, "missing");
+
+    assertNotEquals("7px", el.getCurrentStyle().getPaddingLeft());
+    assertEquals("7px", el.getCurrentStyle().getPaddingRight());
+  }
+
+  @Test
+  void testSharedSiblingStyles() {
+    DelphiDocument doc = createDoc();
+    DelphiElement parent = doc.createElement("div");
+    doc.getBody().appendChild(parent);
+
+    DelphiElement[] items = new DelphiElement[4];
+    for (int i = 0; i < items.length; i++) {
+      DelphiElement item = doc.createElement("item");
+      item.setAttribute(Attributes.CLASS, "slot");
+      parent.appendChild(item);
+      items[i] = item;
+    }
+
+    doc.createStylesheet()
+        .addRule(".slot", p -> p.setPaddingLeft("1px"))
+        .addRule(".slot:nth-child(2)", p -> p.setPaddingLeft("2px"))
+        .addRule("item", p -> p.setPaddingRight("3px"))
+        .build();
+
+    assertEquals("1px", items[0].getCurrentStyle().getPaddingLeft());
+    assertEquals("2px", items[1].getCurrentStyle().getPaddingLeft());
+    assertEquals("1px", items[2].getCurrentStyle().getPaddingLeft());
+
+    for (DelphiElement item : items) {
+      assertEquals("3px", item.getCurrentStyle().getPaddingRight());
+    }
+
+    items[3].setAttribute(Attributes.STYLE, "padding-right: 4px;");
+    assertEquals("4px", items[3].getCurrentStyle().getPaddingRight());
+    assertEquals("3px", items[2].getCurrentStyle().getPaddingRight());
+  }
+
+  @Test
+  void testNestedStructuralSelector() {
+    DelphiDocument doc = createDoc();
+    DelphiElement parent = doc.createElement("div");
+    doc.getBody().appendChild(parent);
+
+    DelphiElement[] items = new DelphiElement[3];
+    for (int i = 0; i < items.length; i++) {
+      DelphiElement item = doc.createElement("item");
+      item.setAttribute(Attributes.CLASS, "slot");
+      parent.appendChild(item);
+      items[i] = item;
+    }
+
+    doc.createStylesheet()
+        .addRule(".slot", p -> p.setPaddingLeft("1px"))
+        .addRule(".slot:is(:last-child)", p -> p.setPaddingLeft("2px"))
+        .build();
+
+    assertEquals("1px", items[0].getCurrentStyle().getPaddingLeft());
+    assertEquals("1px", items[1].getCurrentStyle().getPaddingLeft());
+    assertEquals("2px", items[2].getCurrentStyle().getPaddingLeft());
+  }
+}
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import com.juliewoolie.delphi.ViewStats.Phase;
 import com.juliewoolie.delphi.resource.DelphiException;
 import com.juliewoolie.delphi.resource.ViewResources;
 import com.juliewoolie.delphi.util.Result;
@@ -12,6 +13,7 @@ import com.juliewoolie.delphidom.ContentSource;
 import com.juliewoolie.delphidom.DelphiDocument;
 import com.juliewoolie.delphidom.DelphiScriptElement;
 import com.juliewoolie.delphidom.ExtendedView;
+import com.juliewoolie.delphidom.FrameStats;
 import com.juliewoolie.delphidom.Loggers;
 import com.juliewoolie.delphidom.event.EventListenerList;
 import com.juliewoolie.delphidom.system.ParsedDataElementSystem;
@@ -76,7 +78,7 @@ public class ScriptElementSystem extends ParsedDataElementSystem<DelphiScriptEle
   public void onDetach() {
     jsScope.removeMember("document");
 
-    context.close(true);
+    Scripting.closeContext(context);
 
     context = null;
     jsScope = null;
@@ -163,7 +165,9 @@ public class ScriptElementSystem extends ParsedDataElementSystem<DelphiScriptEle
   }
 
   private void evaluate(String uri, String src) {
-    Source source = Source.newBuilder(Scripting.JS_LANGUAGE, src, uri).buildLiteral();
+    Source source = Scripting.SOURCES.get(uri, src);
+    FrameStats stats = scriptStats();
+    long start = stats == null ? 0L : stats.begin(Phase.SCRIPT);
 
     try {
       context.eval(source);
@@ -171,18 +175,34 @@ public class ScriptElementSystem extends ParsedDataElementSystem<DelphiScriptEle
       LOGGER.error("Failed to compile JS from {}:", uri, exc);
     } catch (Exception exc) {
       LOGGER.error("JS Evaluation error: ", exc);
+    } finally {
+      if (stats != null) {
+        stats.end(Phase.SCRIPT, start);
+      }
     }
   }
 
-  private static Value executeSafely(Value value, Object... args) {
+  private Value executeSafely(Value value, Object... args) {
+    FrameStats stats = scriptStats();
+    long start = stats == null ? 0L : stats.begin(Phase.SCRIPT);
+
     try {
       return value.execute(args);
     } catch (Exception e) {
       LOGGER.error("JavaScript invocation failure", e);
       return null;
+    } finally {
+      if (stats != null) {
+        stats.end(Phase.SCRIPT, start);
+      }
     }
   }
 
+  // Scripts run before the view is attached aren't timed
+  private FrameStats scriptStats() {
+    return view == null ? null : view.getStats();
+  }
+
   @RequiredArgsConstructor
   static class DeferredScript {
     final DelphiScriptElement element;
@@ -256,7 +276,7 @@ public class ScriptElementSystem extends ParsedDataElementSystem<DelphiScriptEle
       Value compiled;
 
       try {
-        Source source = Source.newBuilder(Scripting.JS_LANGUAGE, scriptCode, uri).buildLiteral();
+        Source source = Scripting.SOURCES.get(uri, scriptCode);
         compiled = context.parse(source);
       } catch (PolyglotException exc) {
         LOGGER.error("Failed to compile event listener {}:", uri, exc);
@@ -283,7 +303,7 @@ public class ScriptElementSystem extends ParsedDataElementSystem<DelphiScriptEle
     }
   }
 
-  static class ScriptedAttribute implements EventListener {
+  class ScriptedAttribute implements EventListener {
 
     private Value compiled;
     private Value func;
@@ -0,0 +1,115 @@
+package com.juliewoolie.hephaestus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.graalvm.polyglot.Source;
+
+/**
+ * Least-recently-used cache of script {@link Source} objects, keyed by the
+ * script's URI and content.
+ * <p>
+ * All contexts share one engine, and the engine reuses parsed and compiled
+ * code for sources it has already seen. Handing out the same source
+ * instance for the same script means a script used by many documents is
+ * only parsed and warmed up once.
+ */
+public class ScriptSourceCache {
+
+  public static final int DEFAULT_CAPACITY = 256;
+
+  private final int capacity;
+  private final Map<SourceKey, Source> sources;
+
+  private long hits = 0;
+  private long misses = 0;
+  private long cachedChars = 0;
+
+  public ScriptSourceCache(int capacity) {
+    this.capacity = capacity;
+    this.sources = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<SourceKey, Source> eldest) {
+        if (size() <= ScriptSourceCache.this.capacity) {
+          return false;
+        }
+
+        cachedChars -= eldest.getKey().content.length();
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Gets a JS source, creating it if it isn't cached yet
+   *
+   * @param uri Script URI
+   * @param content Script content
+   *
+   * @return Script source
+   */
+  public Source get(String uri, String content) {
+    SourceKey key = new SourceKey(uri, content);
+
+    synchronized (sources) {
+      Source source = sources.get(key);
+
+      if (source != null) {
+        hits++;
+        return source;
+      }
+
+      misses++;
+
+      source = Source.newBuilder(Scripting.JS_LANGUAGE, content, uri).buildLiteral();
+      sources.put(key, source);
+      cachedChars += content.length();
+
+      return source;
+    }
+  }
+
+  public int size() {
+    synchronized (sources) {
+      return sources.size();
+    }
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getHits() {
+    synchronized (sources) {
+      return hits;
+    }
+  }
+
+  public long getMisses() {
+    synchronized (sources) {
+      return misses;
+    }
+  }
+
+  /**
+   * Gets the combined length of all cached scripts
+   * @return Cached character count
+   */
+  public long getCachedChars() {
+    synchronized (sources) {
+      return cachedChars;
+    }
+  }
+
+  public void clear() {
+    synchronized (sources) {
+      sources.clear();
+      hits = 0;
+      misses = 0;
+      cachedChars = 0;
+    }
+  }
+
+  private record SourceKey(String uri, String content) {
+
+  }
+}
@@ -17,11 +17,15 @@ import com.juliewoolie.hephaestus.stdlib.RgbFunction;
 import com.juliewoolie.hephaestus.stdlib.SendMessageFunction;
 import com.juliewoolie.hephaestus.stdlib.SetInterval;
 import com.juliewoolie.hephaestus.stdlib.SetTimeout;
+import com.juliewoolie.hephaestus.typemappers.ByteBufferTypeMapper;
 import com.juliewoolie.hephaestus.typemappers.ComponentTypeMapper;
+import com.juliewoolie.hephaestus.typemappers.IntArrayTypeMapper;
 import com.juliewoolie.hephaestus.typemappers.LocationTypeMapper;
 import com.juliewoolie.hephaestus.typemappers.PlayerTypeMapper;
 import com.juliewoolie.hephaestus.typemappers.VectorTypeMapper;
 import com.juliewoolie.hephaestus.typemappers.WorldTypeMapper;
+import java.nio.ByteBuffer;
+import lombok.Getter;
 import net.kyori.adventure.pointer.Pointered;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ComponentLike;
@@ -35,6 +39,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.EnvironmentAccess;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.Value;
@@ -48,6 +53,18 @@ public class Scripting {
 
   public static final LanguageInterface JS = new JavaScriptInterface();
 
+  public static final ScriptSourceCache SOURCES
+      = new ScriptSourceCache(ScriptSourceCache.DEFAULT_CAPACITY);
+
+  private static Engine engine;
+
+  @Getter
+  private static long engineStartupNanos = 0;
+  @Getter
+  private static long contextsCreated = 0;
+  @Getter
+  private static int openContexts = 0;
+
   public static void scriptingInit() {
     try {
       JS.initLanguage();
@@ -58,6 +75,50 @@ public class Scripting {
 
   public static void shutdownScripting() {
     JS.shutdown();
+
+    synchronized (Scripting.class) {
+      if (engine != null) {
+        engine.close(true);
+        engine = null;
+      }
+    }
+
+    SOURCES.clear();
+  }
+
+  /**
+   * Gets the engine shared by all scripting contexts, creating it if it
+   * doesn't exist yet. Contexts on the same engine share parsed and compiled
+   * code.
+   *
+   * @return Shared engine
+   */
+  public static synchronized Engine getEngine() {
+    if (engine != null) {
+      return engine;
+    }
+
+    long start = System.nanoTime();
+
+    engine = Engine.newBuilder(JS_LANGUAGE)
+        .allowExperimentalOptions(true)
+        .option("engine.WarnInterpreterOnly", "false")
+        .build();
+
+    engineStartupNanos = System.nanoTime() - start;
+    return engine;
+  }
+
+  /**
+   * Closes a context created by {@link #setupContext()}
+   * @param context Context to close
+   */
+  public static void closeContext(Context context) {
+    context.close(true);
+
+    synchronized (Scripting.class) {
+      openContexts--;
+    }
   }
 
   public static void initStandardValues(Value scope) {
@@ -99,11 +160,13 @@ public class Scripting {
     addTypeMapper(builder, Value.class, Vector.class,     new VectorTypeMapper());
     addTypeMapper(builder, Value.class, World.class,      new WorldTypeMapper());
     addTypeMapper(builder, Value.class, Location.class,   new LocationTypeMapper());
+    addTypeMapper(builder, Value.class, ByteBuffer.class, new ByteBufferTypeMapper());
+    addTypeMapper(builder, Value.class, int[].class,      new IntArrayTypeMapper());
     
     Context built = ctx
+        .engine(getEngine())
         .allowExperimentalOptions(true)
         .useSystemExit(false)
-        .option("engine.WarnInterpreterOnly", "false")
         .option("js.polyglot-builtin", "false")
         .option("js.load", "false")
         .allowCreateProcess(false)
@@ -124,6 +187,11 @@ public class Scripting {
     Value jsValues = built.getBindings(JS_LANGUAGE);
     initStandardValues(jsValues);
 
+    synchronized (Scripting.class) {
+      contextsCreated++;
+      openContexts++;
+    }
+
     return built;
   }
 
@@ -37,7 +37,8 @@ public class JavaScriptInterface implements LanguageInterface {
       return;
     }
 
-    ctx.close(true);
+    Scripting.closeContext(ctx);
+    ctx = null;
     arrayCtor = null;
     objectCtor = null;
     toJson = null;
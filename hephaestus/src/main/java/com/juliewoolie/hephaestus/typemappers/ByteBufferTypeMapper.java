@@ -0,0 +1,37 @@
+package com.juliewoolie.hephaestus.typemappers;
+
+import java.nio.ByteBuffer;
+import org.graalvm.polyglot.Value;
+
+/**
+ * Maps {@code ArrayBuffer}s and byte typed arrays, eg: {@code Uint8ClampedArray},
+ * to byte buffers with a single bulk copy.
+ */
+public class ByteBufferTypeMapper implements TypeMapper<Value, ByteBuffer> {
+
+  @Override
+  public ByteBuffer apply(Value value) {
+    byte[] bytes = TypedArrays.readBytes(value);
+    if (bytes == null) {
+      return null;
+    }
+    return ByteBuffer.wrap(bytes);
+  }
+
+  @Override
+  public boolean test(Value value) {
+    if (TypedArrays.isArrayBuffer(value)) {
+      return true;
+    }
+
+    String type = TypedArrays.typedArrayType(value);
+    if (type == null) {
+      return false;
+    }
+
+    return switch (type) {
+      case "Uint8Array", "Uint8ClampedArray", "Int8Array" -> true;
+      default -> false;
+    };
+  }
+}
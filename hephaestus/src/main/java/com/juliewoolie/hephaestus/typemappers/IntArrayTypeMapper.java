@@ -0,0 +1,42 @@
+package com.juliewoolie.hephaestus.typemappers;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.graalvm.polyglot.Value;
+
+/**
+ * Maps {@code Int32Array}s and {@code Uint32Array}s to int arrays with a
+ * single bulk copy, instead of converting every element separately.
+ */
+public class IntArrayTypeMapper implements TypeMapper<Value, int[]> {
+
+  @Override
+  public int[] apply(Value value) {
+    byte[] bytes = TypedArrays.readBytes(value);
+    if (bytes == null) {
+      return null;
+    }
+
+    // Typed arrays use the platform's byte order
+    int[] result = new int[bytes.length / Integer.BYTES];
+    ByteBuffer.wrap(bytes)
+        .order(ByteOrder.nativeOrder())
+        .asIntBuffer()
+        .get(result);
+
+    return result;
+  }
+
+  @Override
+  public boolean test(Value value) {
+    String type = TypedArrays.typedArrayType(value);
+    if (type == null) {
+      return false;
+    }
+
+    return switch (type) {
+      case "Int32Array", "Uint32Array" -> true;
+      default -> false;
+    };
+  }
+}
@@ -0,0 +1,80 @@
+package com.juliewoolie.hephaestus.typemappers;
+
+import org.graalvm.polyglot.Value;
+
+/**
+ * Utilities for reading JS {@code ArrayBuffer}s and typed arrays in bulk,
+ * instead of element by element through interop.
+ */
+final class TypedArrays {
+  private TypedArrays() {}
+
+  /**
+   * Gets the simple name of a typed array's type, eg: {@code Uint8Array}
+   * @param value JS value
+   * @return Type name, or {@code null}, if the value isn't a typed array
+   */
+  static String typedArrayType(Value value) {
+    if (value == null || value.isHostObject() || !value.hasMember("buffer")) {
+      return null;
+    }
+
+    Value meta = value.getMetaObject();
+    if (meta == null) {
+      return null;
+    }
+
+    return meta.getMetaSimpleName();
+  }
+
+  /**
+   * Tests if a value is a JS {@code ArrayBuffer}
+   * @param value JS value
+   * @return {@code true}, if the value is an {@code ArrayBuffer}
+   */
+  static boolean isArrayBuffer(Value value) {
+    if (value == null || value.isHostObject() || !value.hasBufferElements()) {
+      return false;
+    }
+
+    Value meta = value.getMetaObject();
+    if (meta == null) {
+      return false;
+    }
+
+    return "ArrayBuffer".equals(meta.getMetaSimpleName());
+  }
+
+  /**
+   * Copies the bytes of an {@code ArrayBuffer} or of a typed array's view of
+   * its buffer.
+   *
+   * @param value Buffer or typed array
+   * @return Copied bytes, or {@code null}, if the value is neither
+   */
+  static byte[] readBytes(Value value) {
+    if (isArrayBuffer(value)) {
+      return read(value, 0, (int) value.getBufferSize());
+    }
+
+    if (typedArrayType(value) == null) {
+      return null;
+    }
+
+    Value buffer = value.getMember("buffer");
+    if (buffer == null || !buffer.hasBufferElements()) {
+      return null;
+    }
+
+    long offset = value.getMember("byteOffset").asLong();
+    int length = value.getMember("byteLength").asInt();
+
+    return read(buffer, offset, length);
+  }
+
+  private static byte[] read(Value buffer, long offset, int length) {
+    byte[] bytes = new byte[length];
+    buffer.readBuffer(offset, bytes, 0, length);
+    return bytes;
+  }
+}
@@ -0,0 +1,103 @@
+package com.juliewoolie.hephaestus.typemappers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.Value;
+import org.junit.jupiter.api.Test;
+
+class TypedArrayMapperTest {
+
+  static Context createContext() {
+    return Context.newBuilder("js")
+        .option("engine.WarnInterpreterOnly", "false")
+        .allowHostAccess(HostAccess.ALL)
+        .build();
+  }
+
+  @Test
+  void testByteBufferFromTypedArray() {
+    try (Context ctx = createContext()) {
+      ByteBufferTypeMapper mapper = new ByteBufferTypeMapper();
+
+      Value clamped = ctx.eval("js", "new Uint8ClampedArray([1, 2, 255])");
+      assertTrue(mapper.test(clamped));
+      assertArrayEquals(new byte[] {1, 2, (byte) 255}, mapper.apply(clamped).array());
+
+      Value signed = ctx.eval("js", "new Int8Array([-1, 5])");
+      assertTrue(mapper.test(signed));
+      assertArrayEquals(new byte[] {-1, 5}, mapper.apply(signed).array());
+    }
+  }
+
+  @Test
+  void testByteBufferFromArrayBuffer() {
+    try (Context ctx = createContext()) {
+      ByteBufferTypeMapper mapper = new ByteBufferTypeMapper();
+
+      Value buffer = ctx.eval("js", "new Uint8Array([4, 5, 6]).buffer");
+      assertTrue(mapper.test(buffer));
+      assertArrayEquals(new byte[] {4, 5, 6}, mapper.apply(buffer).array());
+    }
+  }
+
+  @Test
+  void testByteBufferFromView() {
+    try (Context ctx = createContext()) {
+      ByteBufferTypeMapper mapper = new ByteBufferTypeMapper();
+
+      Value view = ctx.eval("js", "new Uint8Array(new Uint8Array([0, 1, 2, 3, 4]).buffer, 1, 3)");
+      assertTrue(mapper.test(view));
+      assertArrayEquals(new byte[] {1, 2, 3}, mapper.apply(view).array());
+    }
+  }
+
+  @Test
+  void testByteBufferRejects() {
+    try (Context ctx = createContext()) {
+      ByteBufferTypeMapper mapper = new ByteBufferTypeMapper();
+
+      assertFalse(mapper.test(ctx.eval("js", "new Int32Array([1, 2])")));
+      assertFalse(mapper.test(ctx.eval("js", "new DataView(new ArrayBuffer(4))")));
+      assertFalse(mapper.test(ctx.eval("js", "[1, 2, 3]")));
+      assertFalse(mapper.test(ctx.eval("js", "({ buffer: 1 })")));
+
+      // Host buffers have buffer elements too, but aren't JS buffers
+      assertFalse(mapper.test(ctx.asValue(ByteBuffer.wrap(new byte[] {1, 2}))));
+    }
+  }
+
+  @Test
+  void testIntArray() {
+    try (Context ctx = createContext()) {
+      IntArrayTypeMapper mapper = new IntArrayTypeMapper();
+
+      Value signed = ctx.eval("js", "new Int32Array([1, -2, 0x7fffffff])");
+      assertTrue(mapper.test(signed));
+      assertArrayEquals(new int[] {1, -2, 0x7fffffff}, mapper.apply(signed));
+
+      Value unsigned = ctx.eval("js", "new Uint32Array([0xff00ff00])");
+      assertTrue(mapper.test(unsigned));
+      assertArrayEquals(new int[] {0xff00ff00}, mapper.apply(unsigned));
+
+      Value view = ctx.eval("js", "new Int32Array(new Int32Array([7, 8, 9]).buffer, 4, 2)");
+      assertTrue(mapper.test(view));
+      assertArrayEquals(new int[] {8, 9}, mapper.apply(view));
+    }
+  }
+
+  @Test
+  void testIntArrayRejects() {
+    try (Context ctx = createContext()) {
+      IntArrayTypeMapper mapper = new IntArrayTypeMapper();
+
+      assertFalse(mapper.test(ctx.eval("js", "new Uint8Array([1, 2, 3, 4])")));
+      assertFalse(mapper.test(ctx.eval("js", "new ArrayBuffer(8)")));
+      assertFalse(mapper.test(ctx.eval("js", "[1, 2]")));
+    }
+  }
+}
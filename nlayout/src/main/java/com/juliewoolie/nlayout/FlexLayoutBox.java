@@ -232,6 +232,7 @@ public class FlexLayoutBox extends LayoutBox {
       }
     }
 
+    scrollChildren();
     layoutChildren();
   }
 
@@ -67,6 +67,7 @@ public class FlowLayoutBox extends LayoutBox {
   @Override
   public void layout() {
     layoutSelf();
+    scrollChildren();
     layoutChildren();
   }
 
@@ -85,7 +86,7 @@ public class FlowLayoutBox extends LayoutBox {
 
         if (node instanceof LayoutBox box) {
           if (isMarginApplied(box)) {
-            offset.x += box.style.margin.left;
+            offset.x += box.style.margin.left + box.autoMarginLeft;
             endGap = box.style.margin.right;
           } else {
             offset.x += box.style.marginInlineStart;
@@ -146,7 +147,7 @@ public class FlowLayoutBox extends LayoutBox {
         continue;
       }
 
-      box.style.margin.left = leftOffset;
+      box.autoMarginLeft = leftOffset;
     }
   }
 
@@ -229,6 +230,8 @@ public class FlowLayoutBox extends LayoutBox {
       float yscale = 1.0f;
 
       if (node instanceof LayoutBox box) {
+        box.autoMarginLeft = 0.0f;
+
         if (isMarginApplied(box)) {
           margin.set(box.style.margin);
         } else {
@@ -7,6 +7,7 @@ import com.juliewoolie.chimera.ValueOrAuto;
 import com.juliewoolie.delphidom.Rect;
 import com.juliewoolie.dom.style.BoxSizing;
 import com.juliewoolie.dom.style.FlexDirection;
+import com.juliewoolie.dom.style.Overflow;
 import com.juliewoolie.dom.style.Primitive;
 import com.juliewoolie.dom.style.Primitive.Unit;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
@@ -39,6 +40,32 @@ public abstract class LayoutBox extends LayoutNode {
   protected final ComputedStyleSet cstyle;
   protected final List<LayoutNode> nodes = new ObjectArrayList<>();
 
+  /**
+   * Left margin applied by the parent to center or right-align this box,
+   * kept apart from the {@link #style} so clean boxes keep their margins
+   */
+  float autoMarginLeft = 0.0f;
+
+  // The constraints and result of the last measureBox() call
+  private final Vector2f lastParentSize = new Vector2f(UNSET);
+  private final Vector2f lastScreenSize = new Vector2f(UNSET);
+  private boolean lastWidthDefinite = false;
+  private boolean lastHeightDefinite = false;
+  private final Vector2f measuredSize = new Vector2f(UNSET);
+
+  /**
+   * Size of the content measured by the last measureBox() call, excluding
+   * padding, borders and outlines. Larger than the inner size when the
+   * content overflows.
+   */
+  public final Vector2f contentSize = new Vector2f();
+
+  /**
+   * How far the content of a {@code overflow: scroll} box is scrolled.
+   * Clamped during layout, so it never scrolls past the end of the content.
+   */
+  public final Vector2f scrollOffset = new Vector2f();
+
   public LayoutBox(LayoutStyle style, ComputedStyleSet cstyle) {
     this.style = style;
     this.cstyle = cstyle;
@@ -56,6 +83,7 @@ public abstract class LayoutBox extends LayoutNode {
     style.shrink = cstyle.shrink;
     style.boxSizing = cstyle.boxSizing;
     style.visibility = cstyle.visibility;
+    style.overflow = cstyle.overflow;
     style.verticalAlign = cstyle.verticalAlign;
 
     style.size.x = resolve(cstyle.width, ctx, UNSET, X);
@@ -167,11 +195,39 @@ public abstract class LayoutBox extends LayoutNode {
   }
 
   public void reflow(LayoutContext ctx) {
-    measureBox(ctx);
+    if (!isMeasurementValid(ctx)) {
+      measureBox(ctx);
+    }
+
     layout();
   }
 
+  /**
+   * Tests if the result of the last {@link #measureBox(LayoutContext)} call
+   * can be reused.
+   * <p>
+   * This is the case when neither this box nor anything below it has been
+   * marked dirty, nothing has changed this box's size since then, and the
+   * box is measured against the same constraints as last time.
+   *
+   * @param ctx Layout context
+   * @return {@code true}, if the box doesn't need to be measured again
+   */
+  public boolean isMeasurementValid(LayoutContext ctx) {
+    return !layoutDirty
+        && size.equals(measuredSize)
+        && lastParentSize.equals(ctx.parentSizes.peek())
+        && lastScreenSize.equals(ctx.screenSize)
+        && lastWidthDefinite == ctx.isWidthDefinite()
+        && lastHeightDefinite == ctx.isHeightDefinite();
+  }
+
   public boolean measureBox(LayoutContext ctx) {
+    lastParentSize.set(ctx.parentSizes.peek());
+    lastScreenSize.set(ctx.screenSize);
+    lastWidthDefinite = ctx.isWidthDefinite();
+    lastHeightDefinite = ctx.isHeightDefinite();
+
     transferComputedStyle(ctx);
 
     final float prex = size.x;
@@ -244,6 +300,10 @@ public abstract class LayoutBox extends LayoutNode {
     ctx.definiteWidths.popBoolean();
     ctx.definiteHeights.popBoolean();
 
+    contentSize.set(msize);
+    measuredSize.set(size);
+    layoutDirty = false;
+
     return prex != size.x || prey != size.y;
   }
 
@@ -251,6 +311,40 @@ public abstract class LayoutBox extends LayoutNode {
 
   public abstract void layout();
 
+  /**
+   * Moves this box's children by the {@link #scrollOffset}, after the offset
+   * has been clamped to how far the content overflows the box.
+   * <p>
+   * Only {@code overflow: scroll} boxes are scrolled, for any other box the
+   * offset is reset.
+   */
+  protected void scrollChildren() {
+    if (style.overflow != Overflow.SCROLL) {
+      scrollOffset.zero();
+      return;
+    }
+
+    Vector2f inner = new Vector2f();
+    getInnerSize(inner);
+
+    float maxX = Math.max(0.0f, contentSize.x - inner.x);
+    float maxY = Math.max(0.0f, contentSize.y - inner.y);
+
+    scrollOffset.x = Math.clamp(scrollOffset.x, 0.0f, maxX);
+    scrollOffset.y = Math.clamp(scrollOffset.y, 0.0f, maxY);
+
+    if (scrollOffset.x == 0.0f && scrollOffset.y == 0.0f) {
+      return;
+    }
+
+    // Y coordinates decrease downwards, so scrolling down moves
+    // the content up
+    for (LayoutNode node : nodes) {
+      node.position.x -= scrollOffset.x;
+      node.position.y += scrollOffset.y;
+    }
+  }
+
   protected void layoutChildren() {
     for (LayoutNode node : nodes) {
       if (node instanceof LayoutBox box) {
@@ -284,10 +378,17 @@ public abstract class LayoutBox extends LayoutNode {
     if (node instanceof LayoutItem item) {
       item.measure(out);
       item.size.set(out);
+      item.layoutDirty = false;
       return false;
     }
 
     LayoutBox box = (LayoutBox) node;
+
+    if (box.isMeasurementValid(ctx)) {
+      out.set(box.size);
+      return false;
+    }
+
     boolean changed = box.measureBox(ctx);
     out.set(box.size);
 
@@ -9,6 +9,12 @@ public abstract class LayoutNode {
 
   public int domIndex = 0;
 
+  /**
+   * Set when this node, or any node below it, has to be measured again
+   * on the next reflow. New nodes always start out dirty.
+   */
+  public boolean layoutDirty = true;
+
   public LayoutNode() {
 
   }
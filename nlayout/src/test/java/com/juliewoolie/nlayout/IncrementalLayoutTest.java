@@ -0,0 +1,115 @@
+package com.juliewoolie.nlayout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.juliewoolie.chimera.ComputedStyleSet;
+import com.juliewoolie.chimera.ValueOrAuto;
+import com.juliewoolie.dom.style.BoxSizing;
+import com.juliewoolie.dom.style.Primitive;
+import com.juliewoolie.dom.style.Primitive.Unit;
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+public class IncrementalLayoutTest {
+
+  static final Vector2f SCREEN = new Vector2f(3, 2);
+
+  static ValueOrAuto px(float v) {
+    return ValueOrAuto.valueOf(Primitive.create(v, Unit.PX));
+  }
+
+  static FlowLayoutBox box() {
+    return new FlowLayoutBox(new LayoutStyle(), new ComputedStyleSet());
+  }
+
+  static FlowLayoutBox createTree(float secondWidth) {
+    FlowLayoutBox root = box();
+    root.position.y = SCREEN.y;
+    root.cstyle.width = ValueOrAuto.valueOf(Primitive.create(100, Unit.VW));
+    root.cstyle.height = ValueOrAuto.valueOf(Primitive.create(100, Unit.VH));
+    root.cstyle.boxSizing = BoxSizing.BORDER_BOX;
+
+    FlowLayoutBox first = box();
+    first.cstyle.width = ValueOrAuto.valueOf(Primitive.create(50, Unit.PERCENT));
+
+    FlowLayoutBox nested = box();
+    nested.cstyle.width = px(10);
+    nested.cstyle.height = px(10);
+
+    FlowLayoutBox second = box();
+    second.cstyle.width = px(secondWidth);
+    second.cstyle.height = px(16);
+
+    first.nodes.add(nested);
+    root.nodes.add(first);
+    root.nodes.add(second);
+
+    return root;
+  }
+
+  static void assertSameLayout(LayoutNode expected, LayoutNode actual) {
+    assertEquals(expected.position, actual.position);
+    assertEquals(expected.size, actual.size);
+
+    if (!(expected instanceof LayoutBox ebox) || !(actual instanceof LayoutBox abox)) {
+      return;
+    }
+
+    assertEquals(ebox.nodes.size(), abox.nodes.size());
+    for (int i = 0; i < ebox.nodes.size(); i++) {
+      assertSameLayout(ebox.nodes.get(i), abox.nodes.get(i));
+    }
+  }
+
+  @Test
+  void cleanReflow() {
+    FlowLayoutBox root = createTree(20);
+    root.reflow(new LayoutContext(SCREEN));
+
+    LayoutBox first = (LayoutBox) root.nodes.getFirst();
+    assertFalse(root.layoutDirty);
+    assertTrue(first.isMeasurementValid(new LayoutContext(SCREEN)));
+
+    FlowLayoutBox expected = createTree(20);
+    expected.reflow(new LayoutContext(SCREEN));
+
+    root.reflow(new LayoutContext(SCREEN));
+    assertSameLayout(expected, root);
+  }
+
+  @Test
+  void dirtyReflow() {
+    FlowLayoutBox root = createTree(20);
+    root.reflow(new LayoutContext(SCREEN));
+
+    LayoutBox second = (LayoutBox) root.nodes.getLast();
+    second.cstyle.width = px(60);
+    second.layoutDirty = true;
+    root.layoutDirty = true;
+
+    root.reflow(new LayoutContext(SCREEN));
+
+    FlowLayoutBox expected = createTree(60);
+    expected.reflow(new LayoutContext(SCREEN));
+
+    assertSameLayout(expected, root);
+  }
+
+  @Test
+  void screenResize() {
+    FlowLayoutBox root = createTree(20);
+    root.reflow(new LayoutContext(SCREEN));
+
+    Vector2f larger = new Vector2f(6, 4);
+    root.position.y = larger.y;
+    root.reflow(new LayoutContext(larger));
+
+    FlowLayoutBox expected = createTree(20);
+    expected.position.y = larger.y;
+    expected.reflow(new LayoutContext(larger));
+
+    assertSameLayout(expected, root);
+  }
+}
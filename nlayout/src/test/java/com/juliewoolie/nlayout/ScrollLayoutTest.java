@@ -0,0 +1,83 @@
+package com.juliewoolie.nlayout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.juliewoolie.chimera.ComputedStyleSet;
+import com.juliewoolie.chimera.ValueOrAuto;
+import com.juliewoolie.dom.style.DisplayType;
+import com.juliewoolie.dom.style.Overflow;
+import com.juliewoolie.dom.style.Primitive;
+import com.juliewoolie.dom.style.Primitive.Unit;
+import org.joml.Vector2f;
+import org.junit.jupiter.api.Test;
+
+public class ScrollLayoutTest {
+
+  static final Vector2f SCREEN = new Vector2f(3, 2);
+  static final float DELTA = 0.0001f;
+
+  static final int ROWS = 5;
+  static final float ROW_HEIGHT = 10 * LayoutBox.CHAR_PX_SIZE_X;
+  static final float VIEWPORT_HEIGHT = 20 * LayoutBox.CHAR_PX_SIZE_X;
+
+  static ValueOrAuto px(float v) {
+    return ValueOrAuto.valueOf(Primitive.create(v, Unit.PX));
+  }
+
+  static FlowLayoutBox createList(Overflow overflow) {
+    FlowLayoutBox list = new FlowLayoutBox(new LayoutStyle(), new ComputedStyleSet());
+    list.position.y = SCREEN.y;
+    list.cstyle.width = px(40);
+    list.cstyle.height = px(20);
+    list.cstyle.overflow = overflow;
+
+    for (int i = 0; i < ROWS; i++) {
+      FlowLayoutBox row = new FlowLayoutBox(new LayoutStyle(), new ComputedStyleSet());
+      row.cstyle.display = DisplayType.BLOCK;
+      row.cstyle.width = px(40);
+      row.cstyle.height = px(10);
+      list.nodes.add(row);
+    }
+
+    return list;
+  }
+
+  @Test
+  void testScrollMovesContent() {
+    FlowLayoutBox list = createList(Overflow.SCROLL);
+    list.reflow(new LayoutContext(SCREEN));
+
+    assertEquals(ROWS * ROW_HEIGHT, list.contentSize.y, DELTA);
+    assertEquals(SCREEN.y, list.nodes.getFirst().position.y, DELTA);
+
+    list.scrollOffset.y = ROW_HEIGHT;
+    list.reflow(new LayoutContext(SCREEN));
+
+    assertEquals(SCREEN.y + ROW_HEIGHT, list.nodes.getFirst().position.y, DELTA);
+    assertEquals(SCREEN.y, list.nodes.get(1).position.y, DELTA);
+  }
+
+  @Test
+  void testScrollClamped() {
+    FlowLayoutBox list = createList(Overflow.SCROLL);
+    list.scrollOffset.y = 100;
+    list.reflow(new LayoutContext(SCREEN));
+
+    float maxScroll = ROWS * ROW_HEIGHT - VIEWPORT_HEIGHT;
+    assertEquals(maxScroll, list.scrollOffset.y, DELTA);
+
+    LayoutNode last = list.nodes.getLast();
+    float listBottom = SCREEN.y - VIEWPORT_HEIGHT;
+    assertEquals(listBottom, last.position.y - last.size.y, DELTA);
+  }
+
+  @Test
+  void testHiddenDoesNotScroll() {
+    FlowLayoutBox list = createList(Overflow.HIDDEN);
+    list.scrollOffset.y = ROW_HEIGHT;
+    list.reflow(new LayoutContext(SCREEN));
+
+    assertEquals(0, list.scrollOffset.y, DELTA);
+    assertEquals(SCREEN.y, list.nodes.getFirst().position.y, DELTA);
+  }
+}
@@ -10,6 +10,7 @@ import com.juliewoolie.delphiplugin.listeners.PlayerListener;
 import com.juliewoolie.delphiplugin.listeners.PluginDisableListener;
 import com.juliewoolie.delphiplugin.resource.FontMetrics;
 import com.juliewoolie.delphiplugin.resource.PluginResources;
+import com.juliewoolie.delphirender.DisplayEntityPool;
 import com.juliewoolie.hephaestus.Scripting;
 import org.bstats.bukkit.Metrics;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -73,6 +74,7 @@ public class DelphiPlugin extends JavaPlugin {
   @Override
   public void onDisable() {
     Scripting.shutdownScripting();
+    DisplayEntityPool.shared().clear();
 
     if (bstats != null) {
       bstats.shutdown();
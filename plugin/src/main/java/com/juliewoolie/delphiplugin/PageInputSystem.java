@@ -1,8 +1,13 @@
 package com.juliewoolie.delphiplugin;
 
+import com.juliewoolie.chimera.system.StyleObjectModel;
+import com.juliewoolie.delphi.ViewStats.Phase;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import com.juliewoolie.delphidom.DelphiElement;
 import com.juliewoolie.delphidom.DelphiNode;
+import com.juliewoolie.delphidom.FrameStats;
 import com.juliewoolie.delphidom.event.MouseEventImpl;
 import com.juliewoolie.dom.ButtonElement;
 import com.juliewoolie.dom.Document;
@@ -59,6 +64,28 @@ public class PageInputSystem {
       DelphiElement target,
       boolean bubbles,
       boolean cancellable
+  ) {
+    return fireMouseEvent(
+        type,
+        player,
+        shift,
+        button,
+        ScrollDirection.NONE,
+        target,
+        bubbles,
+        cancellable
+    );
+  }
+
+  private MouseEventImpl fireMouseEvent(
+      String type,
+      Player player,
+      boolean shift,
+      MouseButton button,
+      ScrollDirection direction,
+      DelphiElement target,
+      boolean bubbles,
+      boolean cancellable
   ) {
     MouseEventImpl event = new MouseEventImpl(type, view.getDocument());
     event.initEvent(
@@ -68,12 +95,20 @@ public class PageInputSystem {
         player,
         shift,
         button,
-        ScrollDirection.NONE,
+        direction,
         view.cursorScreen,
         view.cursorWorld
     );
 
-    target.dispatchEvent(event);
+    FrameStats stats = view.getStats();
+    long start = stats.begin(Phase.EVENTS);
+
+    try {
+      target.dispatchEvent(event);
+    } finally {
+      stats.end(Phase.EVENTS, start);
+    }
+
     return event;
   }
 
@@ -118,6 +153,36 @@ public class PageInputSystem {
     }
   }
 
+  /**
+   * Fires a scroll event on the hovered node and scrolls the closest
+   * scrollable element, if the event isn't cancelled.
+   *
+   * @return {@code true}, if the scroll was consumed, either by a listener
+   *         cancelling the event or by an element being scrolled
+   */
+  boolean triggerScrollEvent(Player player, ScrollDirection direction, boolean shift) {
+    if (hoveredNode == null) {
+      return false;
+    }
+
+    MouseEvent event = fireMouseEvent(
+        EventTypes.MOUSE_SCROLL,
+        player,
+        shift,
+        MouseButton.NONE,
+        direction,
+        hoveredNode,
+        true,
+        true
+    );
+
+    if (event.isCancelled()) {
+      return true;
+    }
+
+    return view.renderer.scroll(hoveredNode, direction);
+  }
+
   private void unselectClickedNode() {
     if (clickedNode == null) {
       return;
@@ -166,22 +231,28 @@ public class PageInputSystem {
   }
 
   private void propagateFlagState(boolean state, NodeFlag flag, DelphiNode node) {
+    List<DelphiNode> changed = new ArrayList<>();
     DelphiNode p = node;
 
+    // Set every flag first, so selectors that look at ancestors see
+    // the final state when the nodes are restyled
     while (p != null) {
-      if (state) {
-        p.addFlag(flag);
-      } else {
-        p.removeFlag(flag);
+      if (p.hasFlag(flag) != state) {
+        if (state) {
+          p.addFlag(flag);
+        } else {
+          p.removeFlag(flag);
+        }
+
+        changed.add(p);
       }
 
-      DelphiElement parent = p.getParent();
-
-      if (parent == null) {
-        view.getDocument().getStyles().updateDomStyle(p);
-      }
+      p = p.getParent();
+    }
 
-      p = parent;
+    StyleObjectModel styles = view.getDocument().getStyles();
+    for (int i = changed.size() - 1; i >= 0; i--) {
+      styles.flagChanged(changed.get(i), flag);
     }
   }
 
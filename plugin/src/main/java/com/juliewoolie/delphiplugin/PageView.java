@@ -4,7 +4,9 @@ import static com.juliewoolie.delphi.Screen.MAX_SCREEN_SIZE;
 import static com.juliewoolie.delphi.Screen.MIN_SCREEN_SIZE;
 
 import com.google.common.base.Strings;
+import com.juliewoolie.chimera.system.StyleObjectModel;
 import com.juliewoolie.delphi.PlayerSet;
+import com.juliewoolie.delphi.ViewStats.Phase;
 import com.juliewoolie.delphi.event.DocumentCloseEvent;
 import com.juliewoolie.delphi.event.DocumentEvent;
 import com.juliewoolie.delphi.event.DocumentViewMoveEvent;
@@ -15,6 +17,7 @@ import com.juliewoolie.delphidom.DelphiDocumentElement;
 import com.juliewoolie.delphidom.DelphiElement;
 import com.juliewoolie.delphidom.DelphiNode;
 import com.juliewoolie.delphidom.ExtendedView;
+import com.juliewoolie.delphidom.FrameStats;
 import com.juliewoolie.delphidom.Rect;
 import com.juliewoolie.delphidom.event.EventImpl;
 import com.juliewoolie.delphidom.event.EventListenerList;
@@ -33,6 +36,7 @@ import com.juliewoolie.dom.event.AttributeMutateEvent;
 import com.juliewoolie.dom.event.EventListener;
 import com.juliewoolie.dom.event.EventTypes;
 import com.juliewoolie.dom.event.MouseButton;
+import com.juliewoolie.dom.event.ScrollDirection;
 import java.util.Objects;
 import lombok.Getter;
 import lombok.Setter;
@@ -101,6 +105,9 @@ public class PageView implements ExtendedView {
 
   final ViewScheduler scheduler;
 
+  @Getter
+  private final FrameStats stats = new FrameStats();
+
   private Interaction interaction;
 
   public PageView(
@@ -128,7 +135,7 @@ public class PageView implements ExtendedView {
 
     this.input = new PageInputSystem(this);
 
-    this.scheduler = new ViewScheduler();
+    this.scheduler = new ViewScheduler(stats);
   }
 
   public void spawn() {
@@ -209,9 +216,8 @@ public class PageView implements ExtendedView {
       return;
     }
 
-    killIfSpawned();
     screen.apply(transformation);
-    spawnIfSpawned();
+    screenTransformed();
 
     if (transformation.getTranslation().lengthSquared() != 0) {
       callMoveEvents();
@@ -224,8 +230,6 @@ public class PageView implements ExtendedView {
       return;
     }
 
-    killIfSpawned();
-
     boolean callMoveEvent = !screen.center.equals(transformation.getTranslation());
 
     screen.center.set(transformation.getTranslation());
@@ -234,7 +238,7 @@ public class PageView implements ExtendedView {
     screen.rightRotation.set(transformation.getRightRotation());
     screen.recalculate();
 
-    spawnIfSpawned();
+    screenTransformed();
 
     if (callMoveEvent) {
       callMoveEvents();
@@ -330,15 +334,28 @@ public class PageView implements ExtendedView {
       renderer.setWorld(world);
     }
 
+    screenTransformed();
+    callMoveEvents();
+  }
+
+  /**
+   * Moves the existing entities to match the screen's new position,
+   * rotation and scale. The screen's dimensions haven't changed, so the
+   * layout stays the same and no entities have to be respawned.
+   */
+  private void screenTransformed() {
     renderer.screenMoved();
+    moveScreenInteraction();
+  }
 
-    if (interaction != null && !interaction.isDead()) {
-      Location loc = getSpawnInteractionLocation();
-      interaction.teleport(loc);
-      configureInteractionSize();
+  private void moveScreenInteraction() {
+    if (interaction == null || interaction.isDead()) {
+      return;
     }
 
-    callMoveEvents();
+    Location loc = getSpawnInteractionLocation();
+    interaction.teleport(loc);
+    configureInteractionSize();
   }
 
   private void callMoveEvents() {
@@ -356,7 +373,14 @@ public class PageView implements ExtendedView {
     if (element != null) {
       EventImpl domEvent = new EventImpl(EventTypes.VIEW_MOVED, document);
       domEvent.initEvent(element, false, false);
-      element.dispatchEvent(domEvent);
+
+      long start = stats.begin(Phase.EVENTS);
+
+      try {
+        element.dispatchEvent(domEvent);
+      } finally {
+        stats.end(Phase.EVENTS, start);
+      }
     }
   }
 
@@ -379,6 +403,7 @@ public class PageView implements ExtendedView {
     renderer.init();
 
     document.getStyles().setUpdateCallbacks(renderer);
+    document.getStyles().setBatchingInline(true);
     state = ViewState.LOADED;
 
     g.setPostRunListener(event -> {
@@ -530,6 +555,8 @@ public class PageView implements ExtendedView {
 
   public void handleEntityVisibility(Entity entity) {
     if (players.isServerPlayerSet()) {
+      // Pooled entities are hidden by default
+      entity.setVisibleByDefault(true);
       return;
     }
 
@@ -540,6 +567,18 @@ public class PageView implements ExtendedView {
     }
   }
 
+  public void revokeEntityVisibility(Entity entity) {
+    entity.setVisibleByDefault(false);
+
+    if (players.isServerPlayerSet()) {
+      return;
+    }
+
+    for (Player player : players) {
+      player.hideEntity(plugin, entity);
+    }
+  }
+
   public void tick() {
     if (!players.isServerPlayerSet()) {
       if (players.isEmpty()) {
@@ -557,8 +596,25 @@ public class PageView implements ExtendedView {
     drawSelected();
 
     input.tick();
+
+    if (document != null) {
+      document.getStyles().flushInlineStyles();
+    }
+
     renderer.tick();
     scheduler.tick();
+
+    recordTickStats();
+  }
+
+  private void recordTickStats() {
+    if (document != null) {
+      StyleObjectModel styles = document.getStyles();
+      stats.add(Phase.STYLE, styles.getUpdateNanos(), styles.getUpdateCount());
+      styles.resetUpdateTimes();
+    }
+
+    stats.endTick(renderer.getEntities().size());
   }
 
   @Override
@@ -655,6 +711,11 @@ public class PageView implements ExtendedView {
     input.triggerClickEvent(player, button, shift);
   }
 
+  public boolean onScroll(Player player, ScrollDirection direction, boolean shift) {
+    selectedPlayer = player;
+    return input.triggerScrollEvent(player, direction, shift);
+  }
+
   public void cursorMoveTo(Player player, Vector2f screenPos, Vector3f targetPos) {
     selectedPlayer = player;
 
@@ -736,6 +797,7 @@ public class PageView implements ExtendedView {
 
       screen.setDimensions(w, h);
       renderer.screenSizeChanged(h);
+      moveScreenInteraction();
     }
   }
 }
@@ -0,0 +1,189 @@
+package com.juliewoolie.delphiplugin;
+
+import com.juliewoolie.delphiplugin.math.RayScan;
+import com.juliewoolie.delphiplugin.math.Screen;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLists;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import org.bukkit.World;
+import org.joml.Vector3f;
+
+/**
+ * Spatial index of open page views, used to find the screens a player may be
+ * looking at without ray casting against every open view.
+ * <p>
+ * Each screen is placed into every 16x16x16 grid cell that its bounding box,
+ * grown by the max use distance, overlaps. A player can then only target
+ * screens in the cell their eye position is in.
+ */
+class TargetIndex {
+
+  static final int CELL_SHIFT = 4;
+
+  private final Map<World, Long2ObjectMap<List<PageView>>> worlds = new Object2ObjectOpenHashMap<>();
+  private final Map<PageView, Entry> entries = new Object2ObjectOpenHashMap<>();
+
+  /**
+   * Incremented every time the index, or the set of views a player can
+   * target, changes. Lets players whose eye hasn't moved skip targeting.
+   */
+  @Getter
+  private int generation = 0;
+
+  public void add(PageView view) {
+    Entry entry = new Entry(view);
+    entries.put(view, entry);
+    insert(entry);
+    generation++;
+  }
+
+  public void remove(PageView view) {
+    Entry entry = entries.remove(view);
+    if (entry == null) {
+      return;
+    }
+
+    erase(entry);
+    generation++;
+  }
+
+  public void invalidate() {
+    generation++;
+  }
+
+  /**
+   * Re-indexes every view whose screen has moved or changed worlds since it
+   * was last indexed
+   */
+  public void update() {
+    for (Entry entry : entries.values()) {
+      PageView view = entry.view;
+
+      if (entry.world == view.getWorld() && entry.screenVersion == view.getScreen().getVersion()) {
+        continue;
+      }
+
+      erase(entry);
+      insert(entry);
+      generation++;
+    }
+  }
+
+  /**
+   * Gets the views that may be within reach of the specified point
+   * @param world Point's world
+   * @param pos Point
+   * @return Candidate views, may contain views that are out of reach
+   */
+  public List<PageView> getCandidates(World world, Vector3f pos) {
+    Long2ObjectMap<List<PageView>> grid = worlds.get(world);
+    if (grid == null) {
+      return ObjectLists.emptyList();
+    }
+
+    long key = cellKey(
+        cellCoordinate(pos.x),
+        cellCoordinate(pos.y),
+        cellCoordinate(pos.z)
+    );
+
+    List<PageView> list = grid.get(key);
+    if (list == null) {
+      return ObjectLists.emptyList();
+    }
+
+    return list;
+  }
+
+  private void insert(Entry entry) {
+    PageView view = entry.view;
+    Screen screen = view.getScreen();
+
+    entry.world = view.getWorld();
+    entry.screenVersion = screen.getVersion();
+
+    if (entry.world == null) {
+      return;
+    }
+
+    Long2ObjectMap<List<PageView>> grid
+        = worlds.computeIfAbsent(entry.world, w -> new Long2ObjectOpenHashMap<>());
+
+    float reach = RayScan.MAX_USE_DIST;
+    Vector3f min = screen.boundingBoxMin;
+    Vector3f max = screen.boundingBoxMax;
+
+    int minX = cellCoordinate(min.x - reach);
+    int minY = cellCoordinate(min.y - reach);
+    int minZ = cellCoordinate(min.z - reach);
+    int maxX = cellCoordinate(max.x + reach);
+    int maxY = cellCoordinate(max.y + reach);
+    int maxZ = cellCoordinate(max.z + reach);
+
+    for (int x = minX; x <= maxX; x++) {
+      for (int y = minY; y <= maxY; y++) {
+        for (int z = minZ; z <= maxZ; z++) {
+          long key = cellKey(x, y, z);
+
+          grid.computeIfAbsent(key, k -> new ObjectArrayList<>()).add(view);
+          entry.cells.add(key);
+        }
+      }
+    }
+  }
+
+  private void erase(Entry entry) {
+    Long2ObjectMap<List<PageView>> grid = entry.world == null ? null : worlds.get(entry.world);
+
+    if (grid != null) {
+      for (int i = 0; i < entry.cells.size(); i++) {
+        long key = entry.cells.getLong(i);
+        List<PageView> list = grid.get(key);
+
+        if (list == null) {
+          continue;
+        }
+
+        list.remove(entry.view);
+
+        if (list.isEmpty()) {
+          grid.remove(key);
+        }
+      }
+
+      if (grid.isEmpty()) {
+        worlds.remove(entry.world);
+      }
+    }
+
+    entry.cells.clear();
+    entry.world = null;
+  }
+
+  static int cellCoordinate(float f) {
+    return ((int) Math.floor(f)) >> CELL_SHIFT;
+  }
+
+  static long cellKey(int x, int y, int z) {
+    return ((x & 0x3FFFFFFL) << 38) | ((z & 0x3FFFFFFL) << 12) | (y & 0xFFFL);
+  }
+
+  private static class Entry {
+
+    private final PageView view;
+    private final LongArrayList cells = new LongArrayList();
+
+    private World world;
+    private int screenVersion;
+
+    Entry(PageView view) {
+      this.view = view;
+    }
+  }
+}
@@ -5,12 +5,15 @@ import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import lombok.AccessLevel;
 import lombok.Getter;
 import com.juliewoolie.delphi.PlayerSet;
 import com.juliewoolie.delphidom.Loggers;
 import com.juliewoolie.delphiplugin.math.RayScan;
 import com.juliewoolie.delphiplugin.math.Screen;
+import com.juliewoolie.delphirender.DisplayEntityPool;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
@@ -47,7 +50,14 @@ public class ViewManager {
   private final Vector3f targetPos = new Vector3f();
   private final Vector2f screenPos = new Vector2f();
   private final Vector2f cursorDif = new Vector2f();
-  private float screenDist;
+
+  private final Vector3f hitPos = new Vector3f();
+  private final Vector2f hitScreenPos = new Vector2f();
+  private final Location eyeLocation = new Location(null, 0, 0, 0);
+  private final RayScan scan = new RayScan(new Vector3f(), new Vector3f(0, 0, 1), RayScan.MAX_USE_DIST);
+
+  @Getter(AccessLevel.NONE)
+  private final TargetIndex targetIndex = new TargetIndex();
 
   public ViewManager(Plugin plugin) {
     this.plugin = plugin;
@@ -60,6 +70,7 @@ public class ViewManager {
   public void addView(PageView view) {
     openViews.add(view);
     byInstanceName.put(view.getInstanceName(), view);
+    targetIndex.add(view);
 
     PlayerSet players = view.getPlayers();
 
@@ -76,6 +87,7 @@ public class ViewManager {
   public void removeView(PageView view) {
     openViews.remove(view);
     byInstanceName.remove(view.getInstanceName());
+    targetIndex.remove(view);
 
     PlayerSet players = view.getPlayers();
 
@@ -92,6 +104,7 @@ public class ViewManager {
   public void playerAdded(PageView view, Player player) {
     ViewEntry entry = byPlayer.computeIfAbsent(player, player1 -> new ViewEntry());
     entry.views.add(view);
+    targetIndex.invalidate();
   }
 
   public void playerRemoved(PageView view, Player player) {
@@ -101,6 +114,7 @@ public class ViewManager {
     }
 
     entry.views.remove(view);
+    targetIndex.invalidate();
 
     if (Objects.equals(view, entry.selected)) {
       entry.selected = null;
@@ -133,9 +147,12 @@ public class ViewManager {
     }
 
     tickTargeting();
+    DisplayEntityPool.shared().tick();
   }
 
   private void tickTargeting() {
+    targetIndex.update();
+
     for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
       ViewEntry entry = byPlayer.computeIfAbsent(onlinePlayer, player -> new ViewEntry());
       update(onlinePlayer, entry);
@@ -143,8 +160,17 @@ public class ViewManager {
   }
 
   private void update(Player player, ViewEntry entry) {
+    player.getLocation(eyeLocation);
+    eyeLocation.add(0, player.getEyeHeight(), 0);
+
+    // Neither the player's view ray nor any screen they could target has
+    // changed, so the result would be the same as last tick
+    if (!entry.updateEye(eyeLocation, targetIndex.getGeneration())) {
+      return;
+    }
+
     PageView selectedPre = entry.selected;
-    PageView targeted = findTargeted(player, entry);
+    PageView targeted = findTargeted(entry);
 
     if (targeted == null) {
       if (selectedPre == null) {
@@ -181,68 +207,35 @@ public class ViewManager {
     return v.x == 0.0f && v.y == 0.0f;
   }
 
-  private PageView findTargeted(Player player, ViewEntry entry) {
-    PageView ownTargeted = rayCastPage(player, entry.views);
-    float ownDist = screenDist;
-
-    // Store the current screen and target positions, because the rayCastPage
-    // call after these will change the screenPos and targetPos values, but
-    // we'll need the original values if we still return ownTargeted, so store
-    // them.
-    Vector2f screenPosStore = new Vector2f(screenPos);
-    Vector3f targetPosStore = new Vector3f(targetPos);
-
-    PageView allTargeted = rayCastPage(player, allPlayerViews);
-    float allDist = screenDist;
-
-    if (allTargeted == null || ownDist < allDist) {
-      screenPos.set(screenPosStore);
-      targetPos.set(targetPosStore);
-
-      return ownTargeted;
-    }
-
-    return allTargeted;
-  }
-
-  private PageView rayCastPage(Player player, List<PageView> views) {
-    if (views.isEmpty()) {
-      targetPos.set(0);
-      screenPos.set(0);
-      screenDist = Float.MAX_VALUE;
+  private PageView findTargeted(ViewEntry entry) {
+    scan.set(eyeLocation);
 
-      return null;
-    }
-
-    World world = player.getWorld();
-    RayScan scan = RayScan.ofPlayer(player);
+    Vector3f origin = scan.getOrigin();
+    List<PageView> candidates = targetIndex.getCandidates(eyeLocation.getWorld(), origin);
 
     PageView closest = null;
     float closestDistSq = Float.MAX_VALUE;
 
-    Vector2f closestScreenHit = new Vector2f(0);
-    Vector3f closestHit = new Vector3f(0);
-
-    Vector3f targetPos = new Vector3f();
-    Vector2f screenPos = new Vector2f();
+    targetPos.set(0);
+    screenPos.set(0);
 
-    for (int i = 0; i < views.size(); i++) {
-      PageView view = views.get(i);
+    for (int i = 0; i < candidates.size(); i++) {
+      PageView view = candidates.get(i);
 
-      if (view.getWorld() == null || !Objects.equals(view.getWorld(), world)) {
+      if (!view.getPlayers().isServerPlayerSet() && !entry.views.contains(view)) {
         continue;
       }
 
       Screen bounds = view.getScreen();
 
-      if (bounds == null) {
+      if (bounds.boundsDistanceSquared(origin) >= scan.getMaxLengthSq()) {
         continue;
       }
-      if (!bounds.castRay(scan, targetPos, screenPos)) {
+      if (!bounds.castRay(scan, hitPos, hitScreenPos)) {
         continue;
       }
 
-      float distSq = targetPos.distanceSquared(scan.getOrigin());
+      float distSq = hitPos.distanceSquared(origin);
       if (distSq >= scan.getMaxLengthSq() || distSq >= closestDistSq) {
         continue;
       }
@@ -250,19 +243,51 @@ public class ViewManager {
       closestDistSq = distSq;
       closest = view;
 
-      closestHit.set(targetPos);
-      bounds.screenspaceToScreen(screenPos, closestScreenHit);
+      targetPos.set(hitPos);
+      bounds.screenspaceToScreen(hitScreenPos, screenPos);
     }
 
-    this.screenPos.set(closestScreenHit);
-    this.targetPos.set(closestHit);
-    this.screenDist = closestDistSq;
-
     return closest;
   }
 
   public static class ViewEntry {
     public final List<PageView> views = new ObjectArrayList<>();
     public PageView selected;
+
+    private World lastWorld;
+    private double lastX;
+    private double lastY;
+    private double lastZ;
+    private float lastYaw;
+    private float lastPitch;
+    private int lastGeneration = -1;
+
+    /**
+     * Stores the player's eye location and the index generation
+     * @return {@code true}, if either changed since the last call
+     */
+    boolean updateEye(Location eye, int generation) {
+      boolean changed = lastGeneration != generation
+          || lastWorld != eye.getWorld()
+          || lastX != eye.getX()
+          || lastY != eye.getY()
+          || lastZ != eye.getZ()
+          || lastYaw != eye.getYaw()
+          || lastPitch != eye.getPitch();
+
+      if (!changed) {
+        return false;
+      }
+
+      lastGeneration = generation;
+      lastWorld = eye.getWorld();
+      lastX = eye.getX();
+      lastY = eye.getY();
+      lastZ = eye.getZ();
+      lastYaw = eye.getYaw();
+      lastPitch = eye.getPitch();
+
+      return true;
+    }
   }
 }
@@ -4,6 +4,8 @@ import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import com.juliewoolie.delphi.ViewStats.Phase;
+import com.juliewoolie.delphidom.FrameStats;
 import com.juliewoolie.delphidom.Loggers;
 import org.slf4j.Logger;
 
@@ -19,6 +21,12 @@ public class ViewScheduler {
 
   boolean stopped = false;
 
+  private final FrameStats stats;
+
+  ViewScheduler(FrameStats stats) {
+    this.stats = stats;
+  }
+
   int scheduleLater(long interval, Runnable runnable) {
     Objects.requireNonNull(runnable, "Null task");
     if (interval < 1) {
@@ -70,7 +78,9 @@ public class ViewScheduler {
         continue;
       }
 
+      long start = stats.begin(Phase.SCRIPT);
       task.runSafe();
+      stats.end(Phase.SCRIPT, start);
 
       if (stopped) {
         return;
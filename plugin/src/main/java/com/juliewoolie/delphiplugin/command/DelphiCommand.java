@@ -18,22 +18,34 @@ import static com.mojang.brigadier.Command.SINGLE_SUCCESS;
 import static io.papermc.paper.command.brigadier.Commands.argument;
 import static io.papermc.paper.command.brigadier.Commands.literal;
 
+import com.juliewoolie.chimera.ChimeraStylesheet;
+import com.juliewoolie.chimera.parse.Chimera;
+import com.juliewoolie.chimera.parse.SelectorCache;
 import com.juliewoolie.delphi.DelphiProvider;
 import com.juliewoolie.delphi.DocumentView;
 import com.juliewoolie.delphi.DocumentViewBuilder;
+import com.juliewoolie.delphi.ViewStats;
+import com.juliewoolie.delphi.ViewStats.Phase;
+import com.juliewoolie.delphi.ViewStats.Timings;
 import com.juliewoolie.delphi.resource.DelphiException;
 import com.juliewoolie.delphi.resource.ResourcePath;
 import com.juliewoolie.delphi.util.Result;
+import com.juliewoolie.delphidom.parser.DocumentTemplate;
 import com.juliewoolie.delphiplugin.Debug;
 import com.juliewoolie.delphiplugin.DelphiImpl;
 import com.juliewoolie.delphiplugin.DelphiPlugin;
 import com.juliewoolie.delphiplugin.PageView;
 import com.juliewoolie.delphiplugin.ViewManager;
 import com.juliewoolie.delphiplugin.devtools.DevtoolModule;
+import com.juliewoolie.delphiplugin.devtools.StatsTab;
 import com.juliewoolie.delphiplugin.resource.PluginResources;
+import com.juliewoolie.delphiplugin.resource.SourceCache;
+import com.juliewoolie.delphirender.DisplayEntityPool;
+import com.juliewoolie.delphirender.TextMeasureCache;
 import com.juliewoolie.dom.Canvas;
 import com.juliewoolie.dom.CanvasElement;
 import com.juliewoolie.dom.Element;
+import com.juliewoolie.hephaestus.Scripting;
 import com.mojang.brigadier.Command;
 import com.mojang.brigadier.LiteralMessage;
 import com.mojang.brigadier.StringReader;
@@ -76,6 +88,7 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
@@ -307,6 +320,149 @@ public class DelphiCommand {
             .executes(dumpCanvas())
         )
         .then(toggleDebugLines())
+        .then(cacheStats())
+        .then(viewStats())
+        .build();
+  }
+
+  private static LiteralCommandNode<CommandSourceStack> viewStats() {
+    return literal("stats")
+        .executes(context -> {
+          PageView view = getAnyTargeted(context);
+          return sendViewStats(context.getSource().getSender(), view);
+        })
+        .then(argument("instance name", new InstanceNameType())
+            .executes(context -> {
+              PageView view = context.getArgument("instance name", PageView.class);
+              return sendViewStats(context.getSource().getSender(), view);
+            })
+        )
+        .build();
+  }
+
+  private static int sendViewStats(CommandSender sender, PageView view) {
+    ViewStats stats = view.getStats();
+
+    sender.sendMessage(
+        prefixTranslatable(
+            "delphi.debug.stats.header",
+            NamedTextColor.GRAY,
+            Component.text(view.getInstanceName()),
+            Component.text(stats.getEntityCount()),
+            Component.text(stats.getTimings(Phase.STYLE).getSampleCount())
+        )
+    );
+
+    for (Phase phase : Phase.values()) {
+      Timings timings = stats.getTimings(phase);
+
+      sender.sendMessage(
+          prefixTranslatable(
+              "delphi.debug.stats.phase",
+              NamedTextColor.GRAY,
+              Component.translatable(StatsTab.translationKey(phase)),
+              millis(timings.getAverageMillis()),
+              millis(timings.getPercentileMillis(95)),
+              millis(timings.getMaxMillis()),
+              Component.text(timings.getCallCount())
+          )
+      );
+    }
+
+    return SINGLE_SUCCESS;
+  }
+
+  private static Component millis(double value) {
+    return Component.text(String.format("%.3f", value));
+  }
+
+  private static LiteralCommandNode<CommandSourceStack> cacheStats() {
+    return literal("caches")
+        .executes(c -> {
+          SelectorCache selectors = Chimera.getSelectorCache();
+          TextMeasureCache textSizes = TextMeasureCache.shared();
+          DisplayEntityPool entityPool = DisplayEntityPool.shared();
+          PluginResources resources = getPlugin().getPluginResources();
+          SourceCache<DocumentTemplate> documents = resources.getDocumentTemplates();
+          SourceCache<ChimeraStylesheet> stylesheets = resources.getStylesheets();
+          CommandSender sender = c.getSource().getSender();
+
+          sender.sendMessage(
+              prefixTranslatable(
+                  "delphi.debug.caches.selectors",
+                  NamedTextColor.GRAY,
+                  Component.text(selectors.size()),
+                  Component.text(selectors.getCapacity()),
+                  Component.text(selectors.getHits()),
+                  Component.text(selectors.getMisses())
+              )
+          );
+          sender.sendMessage(
+              prefixTranslatable(
+                  "delphi.debug.caches.textSizes",
+                  NamedTextColor.GRAY,
+                  Component.text(textSizes.size()),
+                  Component.text(textSizes.getCapacity()),
+                  Component.text(textSizes.getHits()),
+                  Component.text(textSizes.getMisses())
+              )
+          );
+          sender.sendMessage(
+              prefixTranslatable(
+                  "delphi.debug.caches.documents",
+                  NamedTextColor.GRAY,
+                  Component.text(documents.size()),
+                  Component.text(documents.getCapacity()),
+                  Component.text(documents.getHits()),
+                  Component.text(documents.getMisses())
+              )
+          );
+          sender.sendMessage(
+              prefixTranslatable(
+                  "delphi.debug.caches.stylesheets",
+                  NamedTextColor.GRAY,
+                  Component.text(stylesheets.size()),
+                  Component.text(stylesheets.getCapacity()),
+                  Component.text(stylesheets.getHits()),
+                  Component.text(stylesheets.getMisses())
+              )
+          );
+          sender.sendMessage(
+              prefixTranslatable(
+                  "delphi.debug.caches.scripts",
+                  NamedTextColor.GRAY,
+                  Component.text(Scripting.SOURCES.size()),
+                  Component.text(Scripting.SOURCES.getCapacity()),
+                  Component.text(Scripting.SOURCES.getCachedChars()),
+                  Component.text(Scripting.SOURCES.getHits()),
+                  Component.text(Scripting.SOURCES.getMisses())
+              )
+          );
+          sender.sendMessage(
+              prefixTranslatable(
+                  "delphi.debug.caches.scriptEngine",
+                  NamedTextColor.GRAY,
+                  Component.text(
+                      String.format("%.2f", Scripting.getEngineStartupNanos() / 1_000_000.0d)
+                  ),
+                  Component.text(Scripting.getOpenContexts()),
+                  Component.text(Scripting.getContextsCreated())
+              )
+          );
+          sender.sendMessage(
+              prefixTranslatable(
+                  "delphi.debug.caches.entityPool",
+                  NamedTextColor.GRAY,
+                  Component.text(entityPool.size()),
+                  Component.text(entityPool.getCapacity()),
+                  Component.text(entityPool.getReused()),
+                  Component.text(entityPool.getSpawned()),
+                  Component.text(entityPool.getExpired())
+              )
+          );
+
+          return SINGLE_SUCCESS;
+        })
         .build();
   }
 
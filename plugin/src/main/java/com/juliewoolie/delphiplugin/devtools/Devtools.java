@@ -59,6 +59,7 @@ public class Devtools {
     translateTab("box", "delphi.devtools.tab.box");
     translateTab("act", "delphi.devtools.tab.act");
     translateTab("meta", "delphi.devtools.tab.meta");
+    translateTab("stats", "delphi.devtools.tab.stats");
   }
 
   private void translateTab(String selector, String transKey) {
@@ -104,6 +105,10 @@ public class Devtools {
       return;
     }
 
+    if (this.tab != null) {
+      this.tab.onClose();
+    }
+
     this.tab = tab;
     contentEl.clearChildren();
     tab.onOpen();
@@ -163,6 +168,11 @@ public class Devtools {
         setActive(target);
       }
 
+      case "stats" -> {
+        switchTo(new StatsTab(this));
+        setActive(target);
+      }
+
       case null, default -> {
         // No op
       }
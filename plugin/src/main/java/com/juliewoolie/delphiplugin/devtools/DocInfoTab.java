@@ -10,6 +10,7 @@ import com.juliewoolie.delphi.resource.IoModule;
 import com.juliewoolie.delphi.resource.JarResourceModule;
 import com.juliewoolie.delphi.resource.ViewResources;
 import com.juliewoolie.delphi.resource.ZipModule;
+import com.juliewoolie.delphirender.EntityWriteMetrics;
 import com.juliewoolie.dom.Element;
 import com.juliewoolie.dom.Node;
 import com.juliewoolie.dom.style.Stylesheet;
@@ -80,6 +81,7 @@ public class DocInfoTab extends DevToolTab {
 
     int renderObjects = targetView.getRenderer().getRenderElements().size();
     int entityCount = targetView.getRenderer().getEntities().size();
+    EntityWriteMetrics writeMetrics = targetView.getRenderer().getWriteMetrics();
 
     el.appendChild(createField( playerListField, playerListType));
     el.appendChild(createField("delphi.devtools.meta.instName", targetView.getInstanceName()));
@@ -90,6 +92,8 @@ public class DocInfoTab extends DevToolTab {
     el.appendChild(createField("delphi.devtools.meta.width", screen.getWidth()));
     el.appendChild(createField("delphi.devtools.meta.renderObjects", renderObjects));
     el.appendChild(createField("delphi.devtools.meta.entities", entityCount));
+    el.appendChild(createField("delphi.devtools.meta.writesApplied", writeMetrics.getAppliedWrites()));
+    el.appendChild(createField("delphi.devtools.meta.writesSkipped", writeMetrics.getSkippedWrites()));
 
     List<Stylesheet> stylesheets = targetView.getDocument().getStylesheets();
     Element stylesheetsDiv;
@@ -0,0 +1,108 @@
+package com.juliewoolie.delphiplugin.devtools;
+
+import static com.juliewoolie.delphiplugin.TextUtil.translateToString;
+
+import com.juliewoolie.delphi.DocumentView;
+import com.juliewoolie.delphi.ViewStats;
+import com.juliewoolie.delphi.ViewStats.Phase;
+import com.juliewoolie.delphi.ViewStats.Timings;
+import com.juliewoolie.dom.Element;
+import java.util.Locale;
+import net.kyori.adventure.text.Component;
+
+public class StatsTab extends DevToolTab {
+
+  static final long REFRESH_INTERVAL = 20;
+
+  private int refreshTask = -1;
+
+  public StatsTab(Devtools devtools) {
+    super(devtools);
+  }
+
+  public static String translationKey(Phase phase) {
+    return switch (phase) {
+      case STYLE -> "delphi.stats.phase.style";
+      case LAYOUT -> "delphi.stats.phase.layout";
+      case ENTITY_SYNC -> "delphi.stats.phase.entitySync";
+      case SCRIPT -> "delphi.stats.phase.script";
+      case EVENTS -> "delphi.stats.phase.events";
+    };
+  }
+
+  @Override
+  public void onOpen() {
+    render();
+
+    if (refreshTask != -1) {
+      return;
+    }
+
+    // Stats change every tick, unlike the rest of the devtools, which only
+    // update when the target document changes
+    DocumentView devtoolsView = document.getView();
+    refreshTask = devtoolsView.runRepeating(REFRESH_INTERVAL, REFRESH_INTERVAL, () -> {
+      devtools.getContentEl().clearChildren();
+      render();
+    });
+  }
+
+  @Override
+  public void onClose() {
+    if (refreshTask == -1) {
+      return;
+    }
+
+    document.getView().cancelTask(refreshTask);
+    refreshTask = -1;
+  }
+
+  private void render() {
+    ViewStats stats = targetView.getStats();
+    Locale l = devtools.getLocale();
+
+    Element el = document.createElement("div");
+    el.setClassName("docinfo");
+
+    el.appendChild(
+        line(translateToString(l, "delphi.devtools.meta.entities") + ": " + stats.getEntityCount())
+    );
+    el.appendChild(
+        line(translateToString(
+            l,
+            "delphi.devtools.stats.samples",
+            Component.text(stats.getTimings(Phase.STYLE).getSampleCount())
+        ))
+    );
+
+    for (Phase phase : Phase.values()) {
+      Timings timings = stats.getTimings(phase);
+
+      String text = translateToString(
+          l,
+          "delphi.devtools.stats.phase",
+          Component.text(translateToString(l, translationKey(phase))),
+          millis(timings.getLastMillis()),
+          millis(timings.getAverageMillis()),
+          millis(timings.getPercentileMillis(95)),
+          millis(timings.getMaxMillis()),
+          Component.text(timings.getCallCount())
+      );
+
+      el.appendChild(line(text));
+    }
+
+    devtools.getContentEl().appendChild(el);
+  }
+
+  private Element line(String text) {
+    Element div = document.createElement("div");
+    div.setClassName("docinfo-property");
+    div.setTextContent(text);
+    return div;
+  }
+
+  private static Component millis(double value) {
+    return Component.text(String.format("%.3f", value));
+  }
+}
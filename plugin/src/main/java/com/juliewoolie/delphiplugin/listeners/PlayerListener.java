@@ -9,6 +9,7 @@ import com.juliewoolie.delphiplugin.PageView;
 import com.juliewoolie.delphiplugin.ViewManager;
 import com.juliewoolie.delphiplugin.ViewManager.ViewEntry;
 import com.juliewoolie.dom.event.MouseButton;
+import com.juliewoolie.dom.event.ScrollDirection;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Cancellable;
@@ -18,6 +19,7 @@ import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractAtEntityEvent;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.slf4j.Logger;
 
@@ -91,6 +93,35 @@ public class PlayerListener implements Listener {
     tryInteract(player, event, button);
   }
 
+  @EventHandler
+  public void onPlayerItemHeld(PlayerItemHeldEvent event) {
+    Player player = event.getPlayer();
+    ViewManager views = plugin.getViewManager();
+    ViewEntry entry = views.getByPlayer().get(player);
+
+    if (entry == null || entry.selected == null) {
+      return;
+    }
+
+    // The server never sees the mouse wheel itself, only the hotbar slot
+    // it changed. Scrolling down moves to the next slot, wrapping around
+    // from the last slot to the first
+    int slots = 9;
+    int diff = Math.floorMod(event.getNewSlot() - event.getPreviousSlot(), slots);
+
+    if (diff == 0) {
+      return;
+    }
+
+    ScrollDirection direction = diff <= slots / 2 ? ScrollDirection.DOWN : ScrollDirection.UP;
+
+    // Only keep the player on the same slot if the page used the scroll,
+    // otherwise the hotbar would be locked whenever a page is targeted
+    if (entry.selected.onScroll(player, direction, player.isSneaking())) {
+      event.setCancelled(true);
+    }
+  }
+
   private void tryInteract(Player player, Cancellable event, MouseButton button) {
     ViewManager views = plugin.getViewManager();
     ViewEntry entry = views.getByPlayer().get(player);
@@ -34,6 +34,29 @@ public class RayScan {
     this.end.add(origin);
   }
 
+  /**
+   * Moves the ray to start at the specified location and point in the
+   * location's direction, without allocating.
+   * @param location Ray origin and direction
+   */
+  public void set(Location location) {
+    origin.set((float) location.getX(), (float) location.getY(), (float) location.getZ());
+
+    // Same as Location.getDirection()
+    double yaw = Math.toRadians(location.getYaw());
+    double pitch = Math.toRadians(location.getPitch());
+    double xz = Math.cos(pitch);
+
+    direction.set(
+        (float) (-xz * Math.sin(yaw)),
+        (float) -Math.sin(pitch),
+        (float) (xz * Math.cos(yaw))
+    );
+    direction.normalize();
+
+    end.set(direction).mul(maxLength).add(origin);
+  }
+
   public static RayScan ofPlayer(Player player) {
     Location location = player.getEyeLocation();
     Vector dir = location.getDirection();
@@ -38,6 +38,9 @@ public class Screen implements RenderScreen {
   public final Vector3f boundingBoxMin = new Vector3f();
   public final Vector3f boundingBoxMax = new Vector3f();
 
+  // Incremented every time the screen's position or shape changes
+  private int version = 0;
+
   public static void lookInDirection(Quaternionf lrot, Vector3f dir) {
     // I've definitely fucked up some order of operations here,
     // because why is the global up = -1
@@ -63,6 +66,16 @@ public class Screen implements RenderScreen {
 
   public void translate(Vector3f offset) {
     center.add(offset);
+
+    loLeft.add(offset);
+    loRight.add(offset);
+    hiLeft.add(offset);
+    hiRight.add(offset);
+
+    boundingBoxMin.add(offset);
+    boundingBoxMax.add(offset);
+
+    version++;
   }
 
   public void multiply(Vector3f scale, Quaternionf lrot, Quaternionf rrot) {
@@ -118,6 +131,8 @@ public class Screen implements RenderScreen {
     boundingBoxMin.set(loLeft).min(loRight).min(hiLeft).min(hiRight);
     boundingBoxMax.set(loLeft).max(loRight).max(hiLeft).max(hiRight);
     boundingBoxMax.sub(boundingBoxMin, boundingBoxSize);
+
+    version++;
   }
 
   void findPoints() {
@@ -176,6 +191,19 @@ public class Screen implements RenderScreen {
 
   /* --------------------------- ray casting ---------------------------- */
 
+  /**
+   * Gets the squared distance between a point and the screen's bounding box
+   * @param point Point
+   * @return Squared distance, 0 if the point is inside the bounding box
+   */
+  public float boundsDistanceSquared(Vector3f point) {
+    float dx = Math.max(0, Math.max(boundingBoxMin.x - point.x, point.x - boundingBoxMax.x));
+    float dy = Math.max(0, Math.max(boundingBoxMin.y - point.y, point.y - boundingBoxMax.y));
+    float dz = Math.max(0, Math.max(boundingBoxMin.z - point.z, point.z - boundingBoxMax.z));
+
+    return dx * dx + dy * dy + dz * dz;
+  }
+
   public boolean castRay(RayScan scan, Vector3f out, Vector2f screenOut) {
     if (!planeIntersect(scan, out)) {
       return false;
@@ -308,6 +336,10 @@ public class Screen implements RenderScreen {
     out.set(dimensions);
   }
 
+  public int getVersion() {
+    return version;
+  }
+
   @Override
   public Vector3f getLowerLeft() {
     return new Vector3f(loLeft);
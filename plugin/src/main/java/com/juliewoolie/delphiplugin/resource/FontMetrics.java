@@ -5,7 +5,6 @@ import com.google.gson.JsonIOException;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import com.mojang.serialization.JsonOps;
-import it.unimi.dsi.fastutil.objects.Object2FloatMap.Entry;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -33,6 +32,10 @@ public class FontMetrics implements FontMeasureCallback {
 
   private final List<MeasuredFont> fonts = new ObjectArrayList<>();
 
+  private FontGroup[] groups = new FontGroup[0];
+  private FontGroup defaultGroup;
+  private int generation = 0;
+
   private final Path dataDirectoryPath;
   private Path jarResourcePath;
 
@@ -73,6 +76,14 @@ public class FontMetrics implements FontMeasureCallback {
 
     loadFromDirectory(dataDirectoryPath, false);
     fonts.sort(FontComparator.COMPARATOR);
+
+    compileFonts();
+    generation++;
+  }
+
+  @Override
+  public int getGeneration() {
+    return generation;
   }
 
   private void loadFromDirectory(Path directory, boolean resource) {
@@ -119,49 +130,75 @@ public class FontMetrics implements FontMeasureCallback {
 
   /* --------------------------- Font measuring ---------------------------- */
 
-  public boolean measureNextChar(String content, Style style, int start, FontMeasureOutput out) {
-    final String sub = content.substring(start);
-    boolean bold = style.decoration(TextDecoration.BOLD) == State.TRUE;
-    Key fontKey = style.font();
+  private void compileFonts() {
+    List<FontGroup> groupList = new ObjectArrayList<>();
 
-    if (fontKey != null && measureWithMatchingKey(sub, fontKey, out, bold)) {
-      return true;
+    // Fonts are already sorted by priority, so each group's fonts will be
+    // in priority order as well
+    outer: for (MeasuredFont font : fonts) {
+      GlyphTrie glyphs = new GlyphTrie(font.getSizeMap());
+
+      for (FontGroup group : groupList) {
+        if (!group.fontId.equals(font.getFontId())) {
+          continue;
+        }
+
+        group.fonts.add(new CompiledFont(font, glyphs));
+        continue outer;
+      }
+
+      FontGroup group = new FontGroup(font.getFontId());
+      group.fonts.add(new CompiledFont(font, glyphs));
+      groupList.add(group);
     }
 
-    return measureWithMatchingKey(sub, MeasuredFont.DEFAULT_FONT_ID, out, bold);
+    groups = groupList.toArray(FontGroup[]::new);
+    defaultGroup = findGroup(MeasuredFont.DEFAULT_FONT_ID);
   }
 
-  private boolean measureWithMatchingKey(String content, Key fontKey, FontMeasureOutput out, boolean bold) {
-    for (MeasuredFont font : fonts) {
-      if (!font.getFontId().equals(fontKey)) {
-        continue;
+  private FontGroup findGroup(Key fontKey) {
+    for (FontGroup group : groups) {
+      if (group.fontId.equals(fontKey)) {
+        return group;
       }
+    }
+    return null;
+  }
 
-      if (!measureNextWith(font, content, out, bold)) {
-        continue;
-      }
+  public boolean measureNextChar(String content, Style style, int start, FontMeasureOutput out) {
+    boolean bold = style.decoration(TextDecoration.BOLD) == State.TRUE;
+    Key fontKey = style.font();
 
+    if (fontKey != null && measureWithGroup(findGroup(fontKey), content, start, out, bold)) {
       return true;
     }
 
-    return false;
+    return measureWithGroup(defaultGroup, content, start, out, bold);
   }
 
-  private boolean measureNextWith(
-      MeasuredFont font,
+  private boolean measureWithGroup(
+      FontGroup group,
       String content,
+      int start,
       FontMeasureOutput out,
       boolean bold
   ) {
-    for (Entry<String> stringEntry : font.getSizeMap().object2FloatEntrySet()) {
-      String token = stringEntry.getKey();
+    if (group == null) {
+      return false;
+    }
 
-      if (!content.startsWith(token)) {
+    for (int i = 0; i < group.fonts.size(); i++) {
+      CompiledFont compiled = group.fonts.get(i);
+      GlyphTrie.Node glyph = compiled.glyphs.find(content, start);
+
+      if (glyph == null) {
         continue;
       }
 
-      out.consumedChars = token.length();
-      out.width = stringEntry.getFloatValue();
+      MeasuredFont font = compiled.font;
+
+      out.consumedChars = glyph.length;
+      out.width = glyph.width;
       out.height = font.getHeight();
       out.descenderHeight = font.getDescenderHeight();
 
@@ -174,4 +211,18 @@ public class FontMetrics implements FontMeasureCallback {
 
     return false;
   }
+
+  private record CompiledFont(MeasuredFont font, GlyphTrie glyphs) {
+
+  }
+
+  private static class FontGroup {
+
+    private final Key fontId;
+    private final List<CompiledFont> fonts = new ObjectArrayList<>();
+
+    FontGroup(Key fontId) {
+      this.fontId = fontId;
+    }
+  }
 }
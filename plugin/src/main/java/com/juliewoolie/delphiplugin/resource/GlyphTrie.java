@@ -0,0 +1,94 @@
+package com.juliewoolie.delphiplugin.resource;
+
+import it.unimi.dsi.fastutil.chars.Char2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2FloatMap;
+import it.unimi.dsi.fastutil.objects.Object2FloatMap.Entry;
+
+/**
+ * Prefix trie of the character widths of a single {@link MeasuredFont}.
+ * <p>
+ * Most tokens in a font's width map are single characters, but some fonts
+ * define multi-character tokens, the trie always returns the longest token
+ * that starts at the given index.
+ */
+public class GlyphTrie {
+
+  private final Node root = new Node(0);
+
+  public GlyphTrie(Object2FloatMap<String> widths) {
+    for (Entry<String> entry : widths.object2FloatEntrySet()) {
+      put(entry.getKey(), entry.getFloatValue());
+    }
+  }
+
+  private void put(String token, float width) {
+    if (token.isEmpty()) {
+      return;
+    }
+
+    Node node = root;
+
+    for (int i = 0; i < token.length(); i++) {
+      char ch = token.charAt(i);
+
+      if (node.children == null) {
+        node.children = new Char2ObjectOpenHashMap<>();
+      }
+
+      Node next = node.children.get(ch);
+      if (next == null) {
+        next = new Node(i + 1);
+        node.children.put(ch, next);
+      }
+
+      node = next;
+    }
+
+    node.terminal = true;
+    node.width = width;
+  }
+
+  /**
+   * Finds the longest token starting at the specified index.
+   *
+   * @param content Text content
+   * @param start Start index
+   *
+   * @return The token's node, or {@code null}, if no token starts at the index
+   */
+  public Node find(String content, int start) {
+    Node node = root;
+    Node longest = null;
+
+    for (int i = start; i < content.length(); i++) {
+      if (node.children == null) {
+        break;
+      }
+
+      node = node.children.get(content.charAt(i));
+
+      if (node == null) {
+        break;
+      }
+      if (node.terminal) {
+        longest = node;
+      }
+    }
+
+    return longest;
+  }
+
+  public static class Node {
+
+    public final int length;
+
+    public float width;
+    public boolean terminal;
+
+    private Char2ObjectOpenHashMap<Node> children;
+
+    Node(int length) {
+      this.length = length;
+    }
+  }
+}
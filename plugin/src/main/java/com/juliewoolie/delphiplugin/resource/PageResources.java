@@ -40,6 +40,7 @@ import com.juliewoolie.delphi.util.Result;
 import com.juliewoolie.delphidom.DelphiDocument;
 import com.juliewoolie.delphidom.Loggers;
 import com.juliewoolie.delphidom.parser.DelphiSaxParser;
+import com.juliewoolie.delphidom.parser.DocumentTemplate;
 import com.juliewoolie.delphiplugin.PageView;
 import com.juliewoolie.delphiplugin.command.PathParser;
 import com.juliewoolie.dom.Document;
@@ -222,10 +223,26 @@ public class PageResources implements ViewResources {
       return Result.ioError(exc);
     }
 
-    return parseDocument(buf, uri);
+    String source = buf.toString();
+    SourceCache<DocumentTemplate> templates = pluginResources.getDocumentTemplates();
+    DocumentTemplate template = templates.get(path, source);
+
+    if (template != null) {
+      return instantiateTemplate(template);
+    }
+
+    return parseDocument(source, uri, path);
   }
 
   private Result<DelphiDocument, DelphiException> parseDocument(StringBuffer buf, String uri) {
+    return parseDocument(buf.toString(), uri, null);
+  }
+
+  private Result<DelphiDocument, DelphiException> parseDocument(
+      String source,
+      String uri,
+      @Nullable ResourcePath templatePath
+  ) {
     XMLReader parser;
     try {
       parser = DelphiSaxParser.createReader();
@@ -233,14 +250,15 @@ public class PageResources implements ViewResources {
       return Result.err(new DelphiException(ERR_SAX_PARSER_INIT, e));
     }
 
-    InputSource source = new InputSource(new java.io.StringReader(buf.toString()));
-    source.setPublicId(uri);
-    source.setSystemId(uri);
+    InputSource input = new InputSource(new java.io.StringReader(source));
+    input.setPublicId(uri);
+    input.setSystemId(uri);
 
-    DelphiSaxParser handler = new DelphiSaxParser();
-    handler.setListener(DelphiDocument.ERROR_LISTENER);
-    handler.setCallbacks(new SaxCallbacks(pluginResources));
-    handler.setView(view);
+    DelphiSaxParser handler = createHandler();
+
+    if (templatePath != null) {
+      handler.recordTemplate();
+    }
 
     parser.setDTDHandler(handler);
     parser.setEntityResolver(handler);
@@ -248,7 +266,7 @@ public class PageResources implements ViewResources {
     parser.setContentHandler(handler);
 
     try {
-      parser.parse(source);
+      parser.parse(input);
     } catch (SAXException e) {
       return Result.err(new DelphiException(ERR_DOC_PARSE, e));
     } catch (IOException ioErr) {
@@ -259,6 +277,42 @@ public class PageResources implements ViewResources {
       return Result.err(new DelphiException(ERR_UNKNOWN, exc));
     }
 
+    if (templatePath != null) {
+      DocumentTemplate template = handler.getTemplate();
+
+      if (template != null) {
+        pluginResources.getDocumentTemplates().put(templatePath, source, template);
+      }
+    }
+
+    return finishDocument(handler);
+  }
+
+  private Result<DelphiDocument, DelphiException> instantiateTemplate(DocumentTemplate template) {
+    DelphiSaxParser handler = createHandler();
+
+    try {
+      template.instantiate(handler);
+    } catch (SAXException e) {
+      return Result.err(new DelphiException(ERR_DOC_PARSE, e));
+    } catch (DelphiException delphiException) {
+      return Result.err(delphiException);
+    } catch (Exception exc) {
+      return Result.err(new DelphiException(ERR_UNKNOWN, exc));
+    }
+
+    return finishDocument(handler);
+  }
+
+  private DelphiSaxParser createHandler() {
+    DelphiSaxParser handler = new DelphiSaxParser();
+    handler.setListener(DelphiDocument.ERROR_LISTENER);
+    handler.setCallbacks(new SaxCallbacks(pluginResources));
+    handler.setView(view);
+    return handler;
+  }
+
+  private Result<DelphiDocument, DelphiException> finishDocument(DelphiSaxParser handler) {
     if (handler.getDocument() == null) {
       return Result.err(new DelphiException(ERR_UNKNOWN));
     }
@@ -276,8 +330,20 @@ public class PageResources implements ViewResources {
 
   public Result<Stylesheet, DelphiException> loadStylesheet(ResourcePath path) {
     return loadBuffer(path).map(buf -> {
-      ChimeraStylesheet sheet = Chimera.parseSheet(buf, path.toString());
+      // Compiled sheets are never modified after parsing, so one instance
+      // can be shared by every document that links the same file
+      SourceCache<ChimeraStylesheet> cache = pluginResources.getStylesheets();
+      String source = buf.toString();
+      ChimeraStylesheet sheet = cache.get(path, source);
+
+      if (sheet != null) {
+        return sheet;
+      }
+
+      sheet = Chimera.parseSheet(buf, path.toString());
       sheet.setSource(path.toString());
+      cache.put(path, source, sheet);
+
       return sheet;
     });
   }
@@ -18,6 +18,7 @@ import com.juliewoolie.delphi.resource.ResourcePath;
 import com.juliewoolie.delphi.resource.ZipModule;
 import com.juliewoolie.delphi.util.Result;
 import com.juliewoolie.delphidom.Loggers;
+import com.juliewoolie.delphidom.parser.DocumentTemplate;
 import com.juliewoolie.delphiplugin.DelphiPlugin;
 import com.juliewoolie.delphiplugin.PageView;
 import com.juliewoolie.delphiplugin.devtools.DevtoolModule;
@@ -65,6 +66,14 @@ public class PluginResources implements DelphiResources {
   @Getter
   private ChimeraStylesheet defaultStyle;
 
+  @Getter
+  private final SourceCache<DocumentTemplate> documentTemplates
+      = new SourceCache<>(SourceCache.DEFAULT_CAPACITY);
+
+  @Getter
+  private final SourceCache<ChimeraStylesheet> stylesheets
+      = new SourceCache<>(SourceCache.DEFAULT_CAPACITY);
+
   public DelphiPlugin plugin;
 
   public PluginResources(DelphiPlugin plugin, Path modulesDir) {
@@ -299,6 +308,9 @@ public class PluginResources implements DelphiResources {
     }
 
     registered.remove(moduleName);
+    documentTemplates.invalidateModule(found.name);
+    stylesheets.invalidateModule(found.name);
+
     return true;
   }
 
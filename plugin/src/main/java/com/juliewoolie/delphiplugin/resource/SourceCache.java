@@ -0,0 +1,117 @@
+package com.juliewoolie.delphiplugin.resource;
+
+import com.juliewoolie.delphi.resource.ResourcePath;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of values parsed from module files, keyed by
+ * the file's module and path.
+ * <p>
+ * Each entry also stores the source the value was parsed from, and is only
+ * used if the file's current contents are still the same, so edits to a
+ * module's files are picked up on the next load.
+ *
+ * @param <T> Parsed value type
+ */
+public class SourceCache<T> {
+
+  public static final int DEFAULT_CAPACITY = 64;
+
+  private final int capacity;
+  private final Map<String, Entry<T>> entries;
+
+  private long hits = 0;
+  private long misses = 0;
+
+  public SourceCache(int capacity) {
+    this.capacity = capacity;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+        return size() > SourceCache.this.capacity;
+      }
+    };
+  }
+
+  private static String key(ResourcePath path) {
+    return path.getModuleName().toLowerCase() + ":" + path.path();
+  }
+
+  /**
+   * Gets the cached value of a file.
+   *
+   * @param path File path
+   * @param source File's current source
+   *
+   * @return Cached value, or {@code null}, if there's no value or if it was
+   *         parsed from a different source
+   */
+  public T get(ResourcePath path, String source) {
+    int hash = source.hashCode();
+
+    synchronized (entries) {
+      Entry<T> entry = entries.get(key(path));
+
+      if (entry == null || entry.sourceHash != hash || !entry.source.equals(source)) {
+        misses++;
+        return null;
+      }
+
+      hits++;
+      return entry.value;
+    }
+  }
+
+  public void put(ResourcePath path, String source, T value) {
+    Entry<T> entry = new Entry<>(path.getModuleName(), source, source.hashCode(), value);
+
+    synchronized (entries) {
+      entries.put(key(path), entry);
+    }
+  }
+
+  /**
+   * Removes all values that belong to a module
+   * @param moduleName Module name
+   */
+  public void invalidateModule(String moduleName) {
+    synchronized (entries) {
+      entries.values().removeIf(entry -> entry.moduleName.equalsIgnoreCase(moduleName));
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getHits() {
+    synchronized (entries) {
+      return hits;
+    }
+  }
+
+  public long getMisses() {
+    synchronized (entries) {
+      return misses;
+    }
+  }
+
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+      hits = 0;
+      misses = 0;
+    }
+  }
+
+  private record Entry<T>(String moduleName, String source, int sourceHash, T value) {
+
+  }
+}
@@ -0,0 +1,60 @@
+package com.juliewoolie.delphiplugin.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.juliewoolie.delphiplugin.resource.GlyphTrie.Node;
+import it.unimi.dsi.fastutil.objects.Object2FloatMap;
+import it.unimi.dsi.fastutil.objects.Object2FloatOpenHashMap;
+import org.junit.jupiter.api.Test;
+
+class GlyphTrieTest {
+
+  static GlyphTrie createTrie() {
+    Object2FloatMap<String> widths = new Object2FloatOpenHashMap<>();
+    widths.put("a", 5f);
+    widths.put("b", 4f);
+    widths.put("ab", 9.5f);
+    widths.put("abcd", 12f);
+    return new GlyphTrie(widths);
+  }
+
+  @Test
+  void testSingleChar() {
+    GlyphTrie trie = createTrie();
+
+    Node node = trie.find("b", 0);
+    assertNotNull(node);
+    assertEquals(1, node.length);
+    assertEquals(4f, node.width);
+  }
+
+  @Test
+  void testLongestMatch() {
+    GlyphTrie trie = createTrie();
+
+    Node node = trie.find("xabx", 1);
+    assertNotNull(node);
+    assertEquals(2, node.length);
+    assertEquals(9.5f, node.width);
+
+    // "abc" is not a token, falls back to "ab"
+    node = trie.find("abc", 0);
+    assertNotNull(node);
+    assertEquals(2, node.length);
+
+    node = trie.find("abcd", 0);
+    assertNotNull(node);
+    assertEquals(4, node.length);
+    assertEquals(12f, node.width);
+  }
+
+  @Test
+  void testNoMatch() {
+    GlyphTrie trie = createTrie();
+
+    assertNull(trie.find("c", 0));
+    assertNull(trie.find("a", 1));
+  }
+}
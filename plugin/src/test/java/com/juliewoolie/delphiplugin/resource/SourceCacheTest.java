@@ -0,0 +1,40 @@
+package com.juliewoolie.delphiplugin.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.juliewoolie.delphi.resource.ResourcePath;
+import org.junit.jupiter.api.Test;
+
+class SourceCacheTest {
+
+  @Test
+  void testSourceMustMatch() {
+    SourceCache<String> cache = new SourceCache<>(4);
+    ResourcePath path = ResourcePath.create("module").addElement("theme.scss");
+
+    cache.put(path, "a { color: red; }", "first");
+
+    assertEquals("first", cache.get(path, "a { color: red; }"));
+    assertNull(cache.get(path, "a { color: blue; }"));
+
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  void testInvalidateModule() {
+    SourceCache<String> cache = new SourceCache<>(4);
+    ResourcePath first = ResourcePath.create("first").addElement("index.xml");
+    ResourcePath second = ResourcePath.create("second").addElement("index.xml");
+
+    cache.put(first, "source", "first");
+    cache.put(second, "source", "second");
+
+    cache.invalidateModule("FIRST");
+
+    assertNull(cache.get(first, "source"));
+    assertEquals("second", cache.get(second, "source"));
+    assertEquals(1, cache.size());
+  }
+}
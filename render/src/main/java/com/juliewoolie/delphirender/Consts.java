@@ -123,6 +123,18 @@ public interface Consts {
 
   float RAD90 = (float) Math.toRadians(90);
 
+  /**
+   * The distance an {@code overflow: scroll} element's content is moved by
+   * a single scroll of the mouse wheel.
+   */
+  float SCROLL_STEP = 16 * CHAR_PX_SIZE_Y;
+
+  /**
+   * The amount of game ticks in a second, used to convert {@code transition}
+   * durations to the tick counts display entities use.
+   */
+  int TICKS_PER_SECOND = 20;
+
   /**
    * The amount a box render object's or canvas pixel's size is increased
    * to prevent some weird artifacting.
@@ -0,0 +1,254 @@
+package com.juliewoolie.delphirender;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.Getter;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.ItemDisplay.ItemDisplayTransform;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * Per-world pool of hidden display entities, shared between all render
+ * systems.
+ * <p>
+ * Spawning and removing a display entity is far more expensive than moving
+ * an existing one, and pages kill and respawn their entities every time
+ * they're re-rendered, moved or closed and re-opened. Render objects borrow
+ * their entities from this pool and release them back into it when killed.
+ * <p>
+ * Released entities are kept hidden from every player. A world keeps at
+ * most {@link #getCapacity()} idle entities per entity type, and entities
+ * that sit idle for longer than {@link #getIdleTicks()} ticks are removed.
+ * <p>
+ * Not thread safe, the pool must only be accessed from the main thread.
+ */
+public class DisplayEntityPool {
+
+  public static final int DEFAULT_CAPACITY = 512;
+  public static final int DEFAULT_IDLE_TICKS = 20 * 30;
+
+  /* Vanilla defaults of text display properties */
+  static final byte DEFAULT_TEXT_OPACITY = -1;
+  static final int DEFAULT_LINE_WIDTH = 200;
+
+  private static final DisplayEntityPool SHARED
+      = new DisplayEntityPool(DEFAULT_CAPACITY, DEFAULT_IDLE_TICKS);
+
+  @Getter
+  private final int capacity;
+  @Getter
+  private final int idleTicks;
+
+  private final Map<World, WorldPool> worlds = new Object2ObjectOpenHashMap<>();
+
+  private long tick = 0;
+
+  @Getter
+  private long spawned = 0;
+  @Getter
+  private long reused = 0;
+  @Getter
+  private long expired = 0;
+
+  public DisplayEntityPool(int capacity, int idleTicks) {
+    this.capacity = capacity;
+    this.idleTicks = idleTicks;
+  }
+
+  public static DisplayEntityPool shared() {
+    return SHARED;
+  }
+
+  /**
+   * Borrows an idle entity from the pool, or spawns a new one if there are
+   * no idle entities of the specified type in the location's world.
+   * <p>
+   * Reused entities have their properties reset to the entity's defaults
+   * and are then passed to the initializer, the same as a newly spawned
+   * entity would be.
+   *
+   * @param location Location to place the entity at
+   * @param type Entity type
+   * @param initializer Entity initializer
+   *
+   * @return Borrowed entity
+   */
+  public <T extends Display> T borrow(Location location, Class<T> type, Consumer<T> initializer) {
+    World world = location.getWorld();
+    WorldPool pool = worlds.get(world);
+
+    if (pool != null) {
+      ArrayDeque<IdleEntity> idle = pool.entities.get(type);
+
+      while (idle != null && !idle.isEmpty()) {
+        Display entity = idle.pollLast().entity;
+
+        if (!entity.isValid()) {
+          continue;
+        }
+
+        T result = type.cast(entity);
+
+        reset(result);
+        initializer.accept(result);
+        result.teleport(location);
+
+        reused++;
+        return result;
+      }
+    }
+
+    spawned++;
+    return world.spawn(location, type, initializer);
+  }
+
+  /**
+   * Returns an entity to the pool.
+   * <p>
+   * The caller is expected to have hidden the entity from any players it was
+   * shown to. If the world's pool is already full, the entity is removed.
+   *
+   * @param entity Entity to release
+   */
+  public void release(Display entity) {
+    if (!entity.isValid()) {
+      return;
+    }
+
+    Class<? extends Display> type = entityType(entity);
+    if (type == null) {
+      entity.remove();
+      return;
+    }
+
+    WorldPool pool = worlds.computeIfAbsent(entity.getWorld(), w -> new WorldPool());
+    ArrayDeque<IdleEntity> idle = pool.entities.computeIfAbsent(type, t -> new ArrayDeque<>());
+
+    if (idle.size() >= capacity) {
+      entity.remove();
+      return;
+    }
+
+    entity.setVisibleByDefault(false);
+    idle.addLast(new IdleEntity(entity, tick));
+  }
+
+  /**
+   * Removes every entity that has been idle for longer than the idle timeout,
+   * should be called once per tick
+   */
+  public void tick() {
+    tick++;
+
+    Iterator<WorldPool> worldIt = worlds.values().iterator();
+
+    while (worldIt.hasNext()) {
+      WorldPool pool = worldIt.next();
+      boolean empty = true;
+
+      for (ArrayDeque<IdleEntity> idle : pool.entities.values()) {
+        // Entities are released in order, so the oldest are always first
+        while (!idle.isEmpty() && (tick - idle.peekFirst().releaseTick) > idleTicks) {
+          idle.pollFirst().entity.remove();
+          expired++;
+        }
+
+        if (!idle.isEmpty()) {
+          empty = false;
+        }
+      }
+
+      if (empty) {
+        worldIt.remove();
+      }
+    }
+  }
+
+  /**
+   * Gets the amount of idle entities in all worlds
+   * @return Idle entity count
+   */
+  public int size() {
+    int size = 0;
+
+    for (WorldPool pool : worlds.values()) {
+      for (ArrayDeque<IdleEntity> idle : pool.entities.values()) {
+        size += idle.size();
+      }
+    }
+
+    return size;
+  }
+
+  /**
+   * Removes all idle entities
+   */
+  public void clear() {
+    for (WorldPool pool : worlds.values()) {
+      for (ArrayDeque<IdleEntity> idle : pool.entities.values()) {
+        for (IdleEntity idleEntity : idle) {
+          idleEntity.entity.remove();
+        }
+      }
+    }
+
+    worlds.clear();
+  }
+
+  private static Class<? extends Display> entityType(Display entity) {
+    return switch (entity) {
+      case TextDisplay td -> TextDisplay.class;
+      case ItemDisplay id -> ItemDisplay.class;
+      default -> null;
+    };
+  }
+
+  /**
+   * Resets every property render objects write to its default value
+   * @param entity Entity to reset
+   */
+  private static void reset(Display entity) {
+    // Cleared first, so the reset transformation isn't interpolated
+    entity.setInterpolationDuration(0);
+    entity.setTeleportDuration(0);
+    entity.setTransformation(
+        new Transformation(new Vector3f(), new Quaternionf(), new Vector3f(1), new Quaternionf())
+    );
+    entity.setBrightness(null);
+
+    switch (entity) {
+      case TextDisplay td -> {
+        td.text(Component.empty());
+        td.setBackgroundColor(null);
+        td.setTextOpacity(DEFAULT_TEXT_OPACITY);
+        td.setLineWidth(DEFAULT_LINE_WIDTH);
+        td.setShadowed(false);
+        td.setSeeThrough(false);
+      }
+      case ItemDisplay id -> {
+        id.setItemStack(null);
+        id.setItemDisplayTransform(ItemDisplayTransform.NONE);
+      }
+      default -> {}
+    }
+  }
+
+  private record IdleEntity(Display entity, long releaseTick) {
+
+  }
+
+  private static class WorldPool {
+    private final Map<Class<? extends Display>, ArrayDeque<IdleEntity>> entities
+        = new Object2ObjectOpenHashMap<>();
+  }
+}
@@ -0,0 +1,186 @@
+package com.juliewoolie.delphirender;
+
+import java.util.Objects;
+import lombok.Getter;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Display.Brightness;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Transformation;
+
+/**
+ * Shadow copy of the last property values written to a display entity.
+ * <p>
+ * Every write to a display entity results in a metadata packet being sent
+ * to every viewer, even if the value didn't change. Render objects perform
+ * their writes through this class, so only values that differ from what
+ * the entity already has are actually written.
+ * <p>
+ * Transformation and background color changes are interpolated by the
+ * client, over the duration set with {@link #transition(int, int)}.
+ */
+public class DisplayState {
+
+  /**
+   * The longest teleport duration the client accepts, in ticks
+   */
+  public static final int MAX_TELEPORT_DURATION = 59;
+
+  @Getter
+  private final Display entity;
+  private final EntityWriteMetrics metrics;
+
+  private World world;
+  private double x;
+  private double y;
+  private double z;
+
+  private Transformation transformation;
+  private Brightness brightness;
+
+  private Color backgroundColor;
+  private Component text;
+  private Boolean shadowed;
+
+  private ItemStack itemStack;
+
+  private int interpolationDuration;
+  private int interpolationDelay;
+  private int teleportDuration;
+
+  public DisplayState(Display entity, EntityWriteMetrics metrics) {
+    this.entity = Objects.requireNonNull(entity, "Null entity");
+    this.metrics = Objects.requireNonNull(metrics, "Null metrics");
+
+    Location l = entity.getLocation();
+    this.world = l.getWorld();
+    this.x = l.getX();
+    this.y = l.getY();
+    this.z = l.getZ();
+  }
+
+  private boolean skip(boolean unchanged) {
+    if (unchanged) {
+      metrics.skipped();
+      return true;
+    }
+
+    metrics.applied();
+    return false;
+  }
+
+  public void teleport(Location l) {
+    boolean unchanged = Objects.equals(world, l.getWorld())
+        && x == l.getX()
+        && y == l.getY()
+        && z == l.getZ();
+
+    if (skip(unchanged)) {
+      return;
+    }
+
+    world = l.getWorld();
+    x = l.getX();
+    y = l.getY();
+    z = l.getZ();
+
+    entity.teleport(l);
+  }
+
+  /**
+   * Sets how the client interpolates changes written after this call.
+   * <p>
+   * Movement is interpolated with the entity's teleport duration, which is
+   * capped at {@link #MAX_TELEPORT_DURATION} and doesn't support a delay.
+   *
+   * @param delay Ticks to wait before interpolating
+   * @param duration Interpolation duration, in ticks
+   */
+  public void transition(int delay, int duration) {
+    interpolationDelay = delay;
+
+    if (!skip(interpolationDuration == duration)) {
+      interpolationDuration = duration;
+      entity.setInterpolationDuration(duration);
+    }
+
+    int teleport = Math.min(duration, MAX_TELEPORT_DURATION);
+
+    if (!skip(teleportDuration == teleport)) {
+      teleportDuration = teleport;
+      entity.setTeleportDuration(teleport);
+    }
+  }
+
+  private void startInterpolation() {
+    if (interpolationDuration <= 0) {
+      return;
+    }
+
+    // The client only restarts interpolation when it receives the delay,
+    // so it has to be written along with every interpolated change
+    entity.setInterpolationDelay(interpolationDelay);
+  }
+
+  public void transformation(Transformation transformation) {
+    if (skip(Objects.equals(this.transformation, transformation))) {
+      return;
+    }
+
+    this.transformation = transformation;
+    entity.setTransformation(transformation);
+    startInterpolation();
+  }
+
+  public void brightness(Brightness brightness) {
+    if (skip(Objects.equals(this.brightness, brightness))) {
+      return;
+    }
+
+    this.brightness = brightness;
+    entity.setBrightness(brightness);
+  }
+
+  public void backgroundColor(Color color) {
+    if (skip(Objects.equals(backgroundColor, color))) {
+      return;
+    }
+
+    backgroundColor = color;
+    ((TextDisplay) entity).setBackgroundColor(color);
+    startInterpolation();
+  }
+
+  public void text(Component text) {
+    if (skip(Objects.equals(this.text, text))) {
+      return;
+    }
+
+    this.text = text;
+    ((TextDisplay) entity).text(text);
+  }
+
+  public void shadowed(boolean shadowed) {
+    if (skip(this.shadowed != null && this.shadowed == shadowed)) {
+      return;
+    }
+
+    this.shadowed = shadowed;
+    ((TextDisplay) entity).setShadowed(shadowed);
+  }
+
+  public void itemStack(ItemStack item) {
+    if (skip(Objects.equals(itemStack, item))) {
+      return;
+    }
+
+    // Copied, the element's item may be modified in place
+    itemStack = item == null ? null : item.clone();
+    ((ItemDisplay) entity).setItemStack(item);
+  }
+}
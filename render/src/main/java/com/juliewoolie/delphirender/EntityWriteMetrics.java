@@ -0,0 +1,38 @@
+package com.juliewoolie.delphirender;
+
+import lombok.Getter;
+
+/**
+ * Counts display entity property writes that were sent to the entity and
+ * writes that were skipped because the entity already had the value.
+ *
+ * @see DisplayState
+ */
+@Getter
+public class EntityWriteMetrics {
+
+  private long appliedWrites = 0;
+  private long skippedWrites = 0;
+
+  void applied() {
+    appliedWrites++;
+  }
+
+  void skipped() {
+    skippedWrites++;
+  }
+
+  public long getTotalWrites() {
+    return appliedWrites + skippedWrites;
+  }
+
+  public void reset() {
+    appliedWrites = 0;
+    skippedWrites = 0;
+  }
+
+  @Override
+  public String toString() {
+    return "(applied=" + appliedWrites + ", skipped=" + skippedWrites + ")";
+  }
+}
@@ -5,4 +5,13 @@ import net.kyori.adventure.text.format.Style;
 public interface FontMeasureCallback {
 
   boolean measureNextChar(String text, Style style, int start, FontMeasureOutput output);
+
+  /**
+   * Gets the generation of the font data, changes every time the fonts are
+   * reloaded, so cached measurements can tell they're outdated
+   * @return Font data generation
+   */
+  default int getGeneration() {
+    return 0;
+  }
 }
@@ -1,6 +1,7 @@
 package com.juliewoolie.delphirender;
 
 import com.juliewoolie.chimera.Properties;
+import com.juliewoolie.dom.style.Primitive;
 import com.juliewoolie.nlayout.LayoutStyle;
 import net.kyori.adventure.text.format.TextColor;
 import org.bukkit.Color;
@@ -23,10 +24,27 @@ public class FullStyle extends LayoutStyle {
 
   public int zindex = 0;
 
+  /** Transition duration, in ticks */
+  public int transition = 0;
+  /** Transition delay, in ticks */
+  public int transitionDelay = 0;
+
   public static Color toBukkitColor(com.juliewoolie.dom.style.Color c) {
     return Color.fromARGB(c.getAlpha(), c.getRed(), c.getGreen(), c.getBlue());
   }
 
+  public static int toTicks(Primitive duration) {
+    float value = duration.getValue();
+
+    float ticks = switch (duration.getUnit()) {
+      case S -> value * Consts.TICKS_PER_SECOND;
+      case MS -> value * Consts.TICKS_PER_SECOND / 1000.0f;
+      default -> value;
+    };
+
+    return Math.max(0, Math.round(ticks));
+  }
+
   public static TextColor toTextColor(com.juliewoolie.dom.style.Color color) {
     return TextColor.color(color.rgb());
   }
@@ -3,6 +3,7 @@ package com.juliewoolie.delphirender;
 import static com.juliewoolie.delphirender.Consts.ITEM_SPRITE_SIZE;
 import static com.juliewoolie.delphirender.FullStyle.toBukkitColor;
 import static com.juliewoolie.delphirender.FullStyle.toTextColor;
+import static com.juliewoolie.delphirender.FullStyle.toTicks;
 
 import com.juliewoolie.chimera.ComputedStyleSet;
 import com.juliewoolie.delphirender.object.ElementRenderObject;
@@ -17,6 +18,7 @@ import com.juliewoolie.nlayout.LayoutItem;
 import com.juliewoolie.nlayout.LayoutNode;
 import com.juliewoolie.nlayout.MeasureFunc;
 import it.unimi.dsi.fastutil.objects.ObjectArrays;
+import java.util.List;
 import org.joml.Vector2f;
 
 public class LayoutCall {
@@ -27,7 +29,7 @@ public class LayoutCall {
 
   static void nlayout(ElementRenderObject root, Vector2f screenSize) {
     RenderToLayoutMapper lookupMap = new RenderToLayoutMapper(100);
-    LayoutBox box = createLayoutTree(root, lookupMap);
+    LayoutBox box = syncLayoutTree(root, lookupMap);
 
     LayoutContext ctx = new LayoutContext(screenSize);
     box.reflow(ctx);
@@ -36,12 +38,21 @@ public class LayoutCall {
       LayoutNode layout = lookupMap.layoutNodes[i];
       RenderObject obj = lookupMap.renderObjects[i];
 
+      boolean changed = !obj.size.equals(layout.size)
+          || !obj.position.equals(layout.position);
+
+      // Every object in the tree receives its own layout position, so
+      // there's no need to cascade the move with moveTo()
       obj.size.set(layout.size);
-      obj.moveTo(layout.position);
+      obj.position.set(layout.position);
 
       if (obj instanceof ElementRenderObject ero) {
         applyVisualStyle(ero.computedStyleSet, ero.style);
       }
+
+      if (changed) {
+        obj.markDirty();
+      }
     }
   }
 
@@ -58,36 +69,97 @@ public class LayoutCall {
     style.strikethrough = cstyle.strikethrough;
     style.obfuscated = cstyle.obfuscated;
     style.zindex = cstyle.zindex;
+    style.transition = toTicks(cstyle.transition);
+    style.transitionDelay = toTicks(cstyle.transitionDelay);
   }
 
-  static LayoutBox createLayoutTree(ElementRenderObject object, RenderToLayoutMapper lookupMap) {
+  //
+  // Layout nodes are kept on the render objects between reflows. Each
+  // reflow only brings the cached tree in line with the render tree, any
+  // node whose children were added, removed, reordered or marked dirty is
+  // flagged, so the reflow only measures the branches that changed.
+  //
+
+  static LayoutBox syncLayoutTree(ElementRenderObject object, RenderToLayoutMapper lookupMap) {
+    boolean flex = object.computedStyleSet.display == DisplayType.FLEX;
     LayoutBox box;
-    if (object.computedStyleSet.display == DisplayType.FLEX) {
-      box = new FlexLayoutBox(object.style, object.computedStyleSet);
+
+    if (object.layoutNode instanceof LayoutBox existing
+        && (existing instanceof FlexLayoutBox) == flex
+    ) {
+      box = existing;
     } else {
-      box = new FlowLayoutBox(object.style, object.computedStyleSet);
+      if (flex) {
+        box = new FlexLayoutBox(object.style, object.computedStyleSet);
+      } else {
+        box = new FlowLayoutBox(object.style, object.computedStyleSet);
+      }
+
+      box.domIndex = object.domIndex;
+
+      if (object.size.x > 0 || object.size.y > 0) {
+        box.size.set(object.size);
+      }
+      if (object.layoutNode instanceof LayoutBox previous) {
+        box.scrollOffset.set(previous.scrollOffset);
+      }
+
+      object.layoutNode = box;
     }
 
     box.position.set(object.position);
-    box.domIndex = object.domIndex;
+    lookupMap.add(box, object);
+
+    List<RenderObject> childObjects = object.getChildObjects();
+    List<LayoutNode> nodes = box.getNodes();
+    boolean dirty = nodes.size() != childObjects.size();
 
-    if (object.size.x > 0 || object.size.y > 0) {
-      box.size.set(object.size);
+    for (int i = 0; i < childObjects.size(); i++) {
+      RenderObject childObject = childObjects.get(i);
+      LayoutNode node = syncLayoutNode(childObject, lookupMap);
+
+      if (node.domIndex != childObject.domIndex) {
+        node.domIndex = childObject.domIndex;
+        dirty = true;
+      }
+
+      // Hidden boxes aren't measured, so their flag stays set until
+      // they're shown again, at which point they're marked dirty anyway
+      if (node.layoutDirty && !isHidden(node)) {
+        dirty = true;
+      }
+
+      if (i >= nodes.size()) {
+        nodes.add(node);
+      } else if (nodes.get(i) != node) {
+        nodes.set(i, node);
+        dirty = true;
+      }
     }
 
-    lookupMap.add(box, object);
+    while (nodes.size() > childObjects.size()) {
+      nodes.removeLast();
+    }
 
-    for (RenderObject childObject : object.getChildObjects()) {
-      LayoutNode node = createLayoutNode(childObject, lookupMap);
-      box.getNodes().add(node);
+    if (dirty) {
+      box.layoutDirty = true;
     }
 
     return box;
   }
 
-  static LayoutNode createLayoutNode(RenderObject object, RenderToLayoutMapper lookupMap) {
+  private static boolean isHidden(LayoutNode node) {
+    return node instanceof LayoutBox box && box.getCstyle().display == DisplayType.NONE;
+  }
+
+  static LayoutNode syncLayoutNode(RenderObject object, RenderToLayoutMapper lookupMap) {
     if (object instanceof ElementRenderObject ero) {
-      return createLayoutTree(ero, lookupMap);
+      return syncLayoutTree(ero, lookupMap);
+    }
+
+    if (object.layoutNode != null) {
+      lookupMap.add(object.layoutNode, object);
+      return object.layoutNode;
     }
 
     LayoutItem item = new LayoutItem();
@@ -110,6 +182,7 @@ public class LayoutCall {
       }
     }
 
+    object.layoutNode = item;
     return item;
   }
 
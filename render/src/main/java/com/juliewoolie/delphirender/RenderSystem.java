@@ -1,12 +1,14 @@
 package com.juliewoolie.delphirender;
 
 import static com.juliewoolie.delphirender.Consts.MACRO_LAYER_DEPTH;
+import static com.juliewoolie.delphirender.Consts.SCROLL_STEP;
 
 import com.juliewoolie.chimera.ComputedStyleSet;
 import com.juliewoolie.chimera.DirtyBit;
 import com.juliewoolie.chimera.StyleUpdateCallbacks;
 import com.juliewoolie.chimera.system.StyleNode;
 import com.juliewoolie.chimera.system.StyleObjectModel;
+import com.juliewoolie.delphi.ViewStats.Phase;
 import com.juliewoolie.delphidom.ChatElement;
 import com.juliewoolie.delphidom.DelphiCanvasElement;
 import com.juliewoolie.delphidom.DelphiElement;
@@ -14,6 +16,7 @@ import com.juliewoolie.delphidom.DelphiInputElement;
 import com.juliewoolie.delphidom.DelphiItemElement;
 import com.juliewoolie.delphidom.DelphiNode;
 import com.juliewoolie.delphidom.ExtendedView;
+import com.juliewoolie.delphidom.FrameStats;
 import com.juliewoolie.delphidom.Text;
 import com.juliewoolie.delphirender.math.Rectangle;
 import com.juliewoolie.delphirender.object.CanvasRenderObject;
@@ -31,13 +34,16 @@ import com.juliewoolie.dom.event.EventTypes;
 import com.juliewoolie.dom.event.InputEvent;
 import com.juliewoolie.dom.event.MouseEvent;
 import com.juliewoolie.dom.event.MutationEvent;
+import com.juliewoolie.dom.event.ScrollDirection;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectArrayList;
-import java.util.List;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import lombok.Getter;
 import lombok.Setter;
+import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Display;
 import org.bukkit.entity.Entity;
@@ -55,13 +61,15 @@ public class RenderSystem implements StyleUpdateCallbacks {
   private boolean active;
   private FontMeasureCallback fontMetrics;
 
-  private final List<Entity> entities = new ObjectArrayList<>();
+  private final Set<Entity> entities = new ObjectLinkedOpenHashSet<>();
+  private final EntityWriteMetrics writeMetrics = new EntityWriteMetrics();
 
   private final Map<DelphiNode, RenderObject> renderElements = new Object2ObjectOpenHashMap<>();
   private ElementRenderObject renderRoot = null;
 
   private boolean layoutTriggered = false;
   private boolean updateTriggered = false;
+  private boolean respawnTriggered = false;
 
   public RenderSystem(ExtendedView view, RenderScreen screen) {
     this.view = view;
@@ -104,14 +112,37 @@ public class RenderSystem implements StyleUpdateCallbacks {
       return;
     }
 
-    renderRoot.moveTo(new Vector2f(0, view.getScreen().getHeight()));
-    LayoutCall.nlayout(renderRoot, screen.getDimensions());
+    FrameStats stats = view.getStats();
+    long start = stats.begin(Phase.LAYOUT);
 
-    renderRoot.killRecursive();
-    renderRoot.spawnRecursive();
+    try {
+      renderRoot.moveTo(new Vector2f(0, view.getScreen().getHeight()));
+      LayoutCall.nlayout(renderRoot, screen.getDimensions());
+    } finally {
+      stats.end(Phase.LAYOUT, start);
+    }
+
+    start = stats.begin(Phase.ENTITY_SYNC);
+
+    try {
+      renderRoot.killRecursive();
+      renderRoot.spawnRecursive();
+    } finally {
+      stats.end(Phase.ENTITY_SYNC, start);
+    }
   }
 
   public void kill() {
+    // Kill through the render objects, so they drop their references to
+    // the entities they're releasing back into the pool
+    for (RenderObject obj : renderElements.values()) {
+      if (obj.parent != null) {
+        continue;
+      }
+
+      obj.killRecursive();
+    }
+
     for (Entity entity : entities) {
       entity.remove();
     }
@@ -124,14 +155,37 @@ public class RenderSystem implements StyleUpdateCallbacks {
       return;
     }
 
+    FrameStats stats = view.getStats();
+
     if (layoutTriggered) {
       layoutTriggered = false;
-      LayoutCall.nlayout(renderRoot, screen.getDimensions());
+
+      long start = stats.begin(Phase.LAYOUT);
+
+      try {
+        LayoutCall.nlayout(renderRoot, screen.getDimensions());
+      } finally {
+        stats.end(Phase.LAYOUT, start);
+      }
     }
 
-    if (updateTriggered) {
+    if (respawnTriggered) {
+      respawnTriggered = false;
       updateTriggered = false;
-      renderRoot.spawnRecursive();
+
+      if (renderRoot.spawned) {
+        respawn();
+      }
+    } else if (updateTriggered) {
+      updateTriggered = false;
+
+      long start = stats.begin(Phase.ENTITY_SYNC);
+
+      try {
+        renderRoot.spawnDirty();
+      } finally {
+        stats.end(Phase.ENTITY_SYNC, start);
+      }
     }
   }
 
@@ -140,6 +194,9 @@ public class RenderSystem implements StyleUpdateCallbacks {
   // maximum of once per tick. This means, all changes made to the DOM tree
   // in that time are all executed and laid out in a single go.
   //
+  // Entity updates only touch the render objects that have been marked
+  // dirty, see RenderObject.markDirty()
+  //
 
   public void triggerRealign() {
     layoutTriggered = true;
@@ -259,9 +316,38 @@ public class RenderSystem implements StyleUpdateCallbacks {
     return obj;
   }
 
+  /**
+   * Called after the screen was moved, rotated or scaled. Updates the
+   * location and transformation of every existing entity in place, without
+   * running layout again.
+   */
   public void screenMoved() {
-    if (renderRoot != null && renderRoot.spawned) {
+    if (renderRoot == null || !renderRoot.spawned) {
+      return;
+    }
+
+    reproject();
+  }
+
+  private void reproject() {
+    FrameStats stats = view.getStats();
+    long start = stats.begin(Phase.ENTITY_SYNC);
+
+    try {
+      renderRoot.reprojectRecursive();
+    } finally {
+      stats.end(Phase.ENTITY_SYNC, start);
+    }
+  }
+
+  private void respawn() {
+    FrameStats stats = view.getStats();
+    long start = stats.begin(Phase.ENTITY_SYNC);
+
+    try {
       renderRoot.spawnRecursive();
+    } finally {
+      stats.end(Phase.ENTITY_SYNC, start);
     }
   }
 
@@ -289,14 +375,14 @@ public class RenderSystem implements StyleUpdateCallbacks {
     }
 
     if (changed(changes, DirtyBit.LAYOUT)) {
-      triggerRealign();
-      triggerUpdate();
+      obj.markLayoutDirty();
+      obj.markDirty();
     } else if (respawn) {
       if (obj instanceof ElementRenderObject er) {
         LayoutCall.applyVisualStyle(styleNode.getComputedSet(), er.style);
       }
 
-      triggerUpdate();
+      obj.markDirty();
     }
   }
 
@@ -306,7 +392,7 @@ public class RenderSystem implements StyleUpdateCallbacks {
       return;
     }
 
-    triggerUpdate();
+    obj.markDirty();
   }
 
   public void contentChanged(DelphiNode node) {
@@ -335,14 +421,21 @@ public class RenderSystem implements StyleUpdateCallbacks {
       item.item = itemEl.getItemStack();
       reflow = false;
     } else if (node instanceof DelphiCanvasElement) {
-      reflow = false;
+      ElementRenderObject el = (ElementRenderObject) obj;
+      CanvasRenderObject canvas = el.onlyChild();
+      canvas.markContentDirty();
+      return;
     }
 
     if (reflow) {
-      triggerRealign();
+      if (obj instanceof ElementRenderObject el) {
+        el.onlyChild().markLayoutDirty();
+      } else {
+        obj.markLayoutDirty();
+      }
     }
 
-    triggerUpdate();
+    obj.markDirty();
   }
 
   public void tooltipChanged(DelphiElement element, DelphiNode old, DelphiNode titleNode) {
@@ -376,10 +469,19 @@ public class RenderSystem implements StyleUpdateCallbacks {
     obj.spawnRecursive();
   }
 
+  /**
+   * Called after the screen's dimensions changed. Unlike a transformation,
+   * this changes the layout, so the tree is laid out again on the next tick
+   * and every entity is moved to its new position.
+   */
   public void screenSizeChanged(float newHeight) {
-    if (renderRoot != null) {
-      renderRoot.moveTo(new Vector2f(0, newHeight));
+    if (renderRoot == null) {
+      return;
     }
+
+    renderRoot.moveTo(new Vector2f(0, newHeight));
+    renderRoot.markLayoutDirty();
+    respawnTriggered = true;
   }
 
   public void removeEntity(Display entity) {
@@ -392,6 +494,69 @@ public class RenderSystem implements StyleUpdateCallbacks {
     view.handleEntityVisibility(display);
   }
 
+  /**
+   * Borrows an entity from the shared {@link DisplayEntityPool}. The entity
+   * must be registered with {@link #addEntity(Display)} after it has been
+   * configured.
+   *
+   * @param location Entity location
+   * @param type Entity type
+   * @param initializer Entity initializer
+   *
+   * @return Borrowed entity
+   */
+  public <T extends Display> T borrowEntity(Location location, Class<T> type, Consumer<T> initializer) {
+    return DisplayEntityPool.shared().borrow(location, type, initializer);
+  }
+
+  /**
+   * Hides an entity from this system's viewers and releases it back into
+   * the shared {@link DisplayEntityPool}.
+   *
+   * @param entity Entity to release
+   */
+  public void releaseEntity(Display entity) {
+    if (!entities.remove(entity)) {
+      return;
+    }
+
+    view.revokeEntityVisibility(entity);
+    DisplayEntityPool.shared().release(entity);
+  }
+
+  /**
+   * Scrolls the closest {@code overflow: scroll} element, starting from
+   * {@code target}, that can still be scrolled in the specified direction.
+   *
+   * @param target Node the cursor is over
+   * @param direction Scroll direction
+   *
+   * @return {@code true}, if an element was scrolled, {@code false} otherwise
+   */
+  public boolean scroll(DelphiNode target, ScrollDirection direction) {
+    if (direction == ScrollDirection.NONE) {
+      return false;
+    }
+
+    RenderObject obj = getRenderElement(target);
+    if (obj == null) {
+      return false;
+    }
+
+    float amount = direction == ScrollDirection.DOWN ? SCROLL_STEP : -SCROLL_STEP;
+    ElementRenderObject el = obj instanceof ElementRenderObject ero ? ero : obj.parent;
+
+    while (el != null) {
+      if (el.scrollBy(amount)) {
+        return true;
+      }
+
+      el = el.parent;
+    }
+
+    return false;
+  }
+
   public DelphiElement findCursorContainingNode(Vector2f cursorScreen) {
     DelphiElement p = (DelphiElement) view.getDocument().getBody();
 
@@ -406,6 +571,15 @@ public class RenderSystem implements StyleUpdateCallbacks {
         return p;
       }
 
+      // Clipped content can't be hovered
+      if (getRenderElement(p) instanceof ElementRenderObject pObj && pObj.clipsContent()) {
+        pObj.getClipRect(rectangle);
+
+        if (!rectangle.contains(cursorScreen)) {
+          return p;
+        }
+      }
+
       for (DelphiNode child : p.childList()) {
         if (!(child instanceof DelphiElement el)) {
           continue;
@@ -495,9 +669,8 @@ public class RenderSystem implements StyleUpdateCallbacks {
         RenderObject tree = initRenderTree((DelphiNode) event.getNode());
         parentObj.addChild(event.getMutationIndex(), tree);
 
-        if (parentObj.spawned) {
-          tree.spawnRecursive();
-        }
+        // Spawned on the next tick, after the new tree has been laid out
+        tree.markDirty();
       } else {
         RenderObject nodeObj = getRenderElement(event.getNode());
         if (nodeObj == null) {
@@ -548,8 +721,8 @@ public class RenderSystem implements StyleUpdateCallbacks {
 
       sro.content = ncontent;
 
-      triggerRealign();
-      triggerUpdate();
+      sro.markLayoutDirty();
+      sro.markDirty();
     }
   }
 }
@@ -83,6 +83,9 @@ public class RenderTreePrint extends XmlPrintVisitor {
 
     nlIndent().append("world: ").append(view.getWorld().getName());
     nlIndent().append("render-object-count: ").append(system.getRenderElements().size());
+    nlIndent().append("entity-count: ").append(system.getEntities().size());
+    nlIndent().append("entity-writes-applied: ").append(system.getWriteMetrics().getAppliedWrites());
+    nlIndent().append("entity-writes-skipped: ").append(system.getWriteMetrics().getSkippedWrites());
     nlIndent().append("module-name: ").append(view.getResources().getModuleName());
     nlIndent().append("instance-name: ").append(view.getInstanceName());
 
@@ -157,6 +160,9 @@ public class RenderTreePrint extends XmlPrintVisitor {
     nlIndent().append("order: ").append(style.order);
     nlIndent().append("box-sizing: ").append(style.boxSizing);
     nlIndent().append("visibility: ").append(style.visibility);
+    nlIndent().append("overflow: ").append(style.overflow);
+    nlIndent().append("transition: ").append(style.transition).append("t");
+    nlIndent().append("transition-delay: ").append(style.transitionDelay).append("t");
   }
 
   private void appendRect(Rect rect) {
@@ -0,0 +1,216 @@
+package com.juliewoolie.delphirender;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.flattener.FlattenerListener;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.format.TextDecoration.State;
+import org.jetbrains.annotations.NotNull;
+import org.joml.Vector2f;
+
+/**
+ * Least-recently-used cache of measured text sizes, shared between all
+ * render systems.
+ * <p>
+ * Entries are keyed by the flattened text with only the style parts that
+ * affect measuring (bold and font), so text that only differs in color
+ * shares an entry. The font metrics and their generation are part of the
+ * key, reloading fonts makes every older entry unreachable.
+ */
+public class TextMeasureCache {
+
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private static final TextMeasureCache SHARED = new TextMeasureCache(DEFAULT_CAPACITY);
+
+  /* Separates style markers from text in the flattened key */
+  private static final char STYLE_MARKER = '\u0000';
+
+  private final int capacity;
+  private final Map<MeasureKey, Vector2f> sizes;
+
+  private long hits = 0;
+  private long misses = 0;
+
+  public TextMeasureCache(int capacity) {
+    this.capacity = capacity;
+    this.sizes = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<MeasureKey, Vector2f> eldest) {
+        return size() > TextMeasureCache.this.capacity;
+      }
+    };
+  }
+
+  public static TextMeasureCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * Measures text, or gets the size from the cache if the same text has
+   * already been measured with the same metrics.
+   *
+   * @param text Text to measure
+   * @param metrics Font metrics, or {@code null} to use the fallback measure
+   * @param out Size output, in font pixels
+   */
+  public void measure(Component text, FontMeasureCallback metrics, Vector2f out) {
+    KeyBuilder builder = new KeyBuilder();
+    TextUtil.FLATTENER.flatten(text, builder);
+
+    int generation = metrics == null ? 0 : metrics.getGeneration();
+    MeasureKey key = new MeasureKey(builder.result.toString(), metrics, generation);
+
+    synchronized (sizes) {
+      Vector2f cached = sizes.get(key);
+
+      if (cached != null) {
+        hits++;
+        out.set(cached);
+        return;
+      }
+
+      misses++;
+    }
+
+    TextMeasure measure;
+    if (metrics == null) {
+      measure = new SimpleTextMeasure();
+    } else {
+      measure = new MetricTextMeasure(metrics);
+    }
+
+    TextUtil.FLATTENER.flatten(text, measure);
+    measure.outputSize(out);
+
+    synchronized (sizes) {
+      sizes.put(key, new Vector2f(out));
+    }
+  }
+
+  public int size() {
+    synchronized (sizes) {
+      return sizes.size();
+    }
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getHits() {
+    synchronized (sizes) {
+      return hits;
+    }
+  }
+
+  public long getMisses() {
+    synchronized (sizes) {
+      return misses;
+    }
+  }
+
+  public void clear() {
+    synchronized (sizes) {
+      sizes.clear();
+      hits = 0;
+      misses = 0;
+    }
+  }
+
+  @Override
+  public String toString() {
+    synchronized (sizes) {
+      return getClass().getSimpleName()
+          + "[size=" + sizes.size()
+          + ", capacity=" + capacity
+          + ", hits=" + hits
+          + ", misses=" + misses
+          + "]";
+    }
+  }
+
+  private record MeasureKey(String text, FontMeasureCallback metrics, int generation) {
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof MeasureKey other)) {
+        return false;
+      }
+
+      return generation == other.generation
+          && metrics == other.metrics
+          && text.equals(other.text);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(text, System.identityHashCode(metrics), generation);
+    }
+  }
+
+  private static class KeyBuilder implements FlattenerListener {
+
+    private final StringBuilder result = new StringBuilder();
+    private final List<Style> styles = new ObjectArrayList<>();
+
+    private boolean lastBold = false;
+    private Key lastFont = null;
+
+    @Override
+    public void pushStyle(@NotNull Style style) {
+      styles.addLast(style);
+    }
+
+    @Override
+    public void popStyle(@NotNull Style style) {
+      styles.removeLast();
+    }
+
+    @Override
+    public void component(@NotNull String text) {
+      boolean bold = false;
+      Key font = null;
+      boolean boldFound = false;
+
+      // Resolved in the same order TextMeasure merges its style stack in
+      for (int i = 0; i < styles.size(); i++) {
+        Style s = styles.get(i);
+
+        if (!boldFound) {
+          State state = s.decoration(TextDecoration.BOLD);
+          if (state != State.NOT_SET) {
+            bold = state == State.TRUE;
+            boldFound = true;
+          }
+        }
+
+        if (font == null) {
+          font = s.font();
+        }
+
+        if (boldFound && font != null) {
+          break;
+        }
+      }
+
+      if (bold != lastBold || !Objects.equals(font, lastFont)) {
+        result.append(STYLE_MARKER)
+            .append(bold ? 'b' : '-')
+            .append(font == null ? "" : font.asString())
+            .append(STYLE_MARKER);
+
+        lastBold = bold;
+        lastFont = font;
+      }
+
+      result.append(text);
+    }
+  }
+}
@@ -22,10 +22,53 @@ public class Rectangle {
         && (relY >= 0 && relY <= size.y);
   }
 
+  public boolean intersects(Rectangle other) {
+    return intersects(other.position.x, other.position.y, other.size.x, other.size.y);
+  }
+
+  public boolean intersects(float x, float y, float width, float height) {
+    return position.x < x + width
+        && x < position.x + size.x
+        && position.y < y + height
+        && y < position.y + size.y;
+  }
+
+  /**
+   * Shrinks this rectangle to the area it shares with another rectangle.
+   * If they don't overlap, the size is set to 0.
+   *
+   * @param other Other rectangle
+   */
+  public void intersect(Rectangle other) {
+    float minX = Math.max(position.x, other.position.x);
+    float minY = Math.max(position.y, other.position.y);
+    float maxX = Math.min(position.x + size.x, other.position.x + other.size.x);
+    float maxY = Math.min(position.y + size.y, other.position.y + other.size.y);
+
+    position.set(minX, minY);
+    size.set(Math.max(0.0f, maxX - minX), Math.max(0.0f, maxY - minY));
+  }
+
   public void getMax(Vector2f out) {
     out.set(position).add(size);
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Rectangle other)) {
+      return false;
+    }
+    return position.equals(other.position) && size.equals(other.size);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * position.hashCode() + size.hashCode();
+  }
+
   @Override
   public String toString() {
     return "(position=" + position + ", size=" + size + ")";
@@ -26,7 +26,7 @@ public class BoxRenderObject extends SingleEntityRenderObject<TextDisplay> {
 
   @Override
   protected TextDisplay spawnEntity(World w, Location l) {
-    return w.spawn(l, TextDisplay.class, td -> {
+    return system.borrowEntity(l, TextDisplay.class, td -> {
       td.text(Consts.EMPTY_CONTENT);
       td.setTextOpacity(Consts.EMPTY_TEXT_OPACITY);
     });
@@ -34,7 +34,7 @@ public class BoxRenderObject extends SingleEntityRenderObject<TextDisplay> {
 
   @Override
   protected void configure(TextDisplay entity, Transformation trans) {
-    entity.setBackgroundColor(Objects.requireNonNullElse(color, NIL_COLOR));
+    state.backgroundColor(Objects.requireNonNullElse(color, NIL_COLOR));
 
     Vector3f scale = trans.getScale();
     Vector3f offset = trans.getTranslation();
@@ -0,0 +1,173 @@
+package com.juliewoolie.delphirender.object;
+
+import static com.juliewoolie.delphidom.DelphiCanvas.CHANNELS;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_ALPHA;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_BLUE;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_GREEN;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_RED;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.BitSet;
+
+/**
+ * Greedy rectangle mesher for canvas pixel data.
+ * <p>
+ * Splits a canvas into non-overlapping, single color rectangles. Starting
+ * from the top left, every uncovered, non-transparent pixel starts a new
+ * rectangle which is grown as far right as possible and then as far down
+ * as possible. Covered pixels are tracked in a bitmap, so every pixel is
+ * only visited a constant amount of times.
+ */
+public class CanvasMesher {
+
+  /* Ints per quad in the output list */
+  public static final int QUAD_SIZE = 5;
+
+  public static final int QUAD_X = 0;
+  public static final int QUAD_Y = 1;
+  public static final int QUAD_WIDTH = 2;
+  public static final int QUAD_HEIGHT = 3;
+  public static final int QUAD_ARGB = 4;
+
+  private final BitSet covered = new BitSet();
+
+  /**
+   * Meshes pixel data into quads.
+   * <p>
+   * Each quad is written to the output list as {@link #QUAD_SIZE} ints:
+   * x, y, width, height and the quad's ARGB color.
+   *
+   * @param data RGBA pixel data
+   * @param width Canvas width
+   * @param height Canvas height
+   * @param out Quad output list, cleared before meshing
+   *
+   * @return Amount of quads created
+   */
+  public int mesh(byte[] data, int width, int height, IntArrayList out) {
+    out.clear();
+
+    if (data == null || width <= 0 || height <= 0) {
+      return 0;
+    }
+
+    covered.clear();
+    return meshArea(data, width, 0, 0, width, height, out);
+  }
+
+  /**
+   * Meshes only the pixels in a region, pixels outside the region are
+   * treated as if they were already covered by another quad.
+   *
+   * @param data RGBA pixel data
+   * @param width Canvas width
+   * @param height Canvas height
+   * @param region Pixel indexes to mesh
+   * @param minX Region bounding box min x
+   * @param minY Region bounding box min y
+   * @param maxX Region bounding box max x (exclusive)
+   * @param maxY Region bounding box max y (exclusive)
+   * @param out Quad output list, cleared before meshing
+   *
+   * @return Amount of quads created
+   *
+   * @see #mesh(byte[], int, int, IntArrayList)
+   */
+  public int meshRegion(
+      byte[] data,
+      int width,
+      int height,
+      BitSet region,
+      int minX,
+      int minY,
+      int maxX,
+      int maxY,
+      IntArrayList out
+  ) {
+    out.clear();
+
+    if (data == null || width <= 0 || height <= 0) {
+      return 0;
+    }
+
+    covered.clear();
+    covered.set(0, width * height);
+    covered.andNot(region);
+
+    return meshArea(data, width, minX, minY, maxX, maxY, out);
+  }
+
+  private int meshArea(
+      byte[] data,
+      int width,
+      int minX,
+      int minY,
+      int maxX,
+      int maxY,
+      IntArrayList out
+  ) {
+    for (int y = minY; y < maxY; y++) {
+      int row = y * width;
+
+      for (int x = minX; x < maxX; x++) {
+        int idx = row + x;
+
+        if (covered.get(idx)) {
+          continue;
+        }
+
+        int color = argb(data, idx);
+        if ((color >>> 24) == 0) {
+          continue;
+        }
+
+        int mw = 1;
+        while (x + mw < maxX && !covered.get(idx + mw) && argb(data, idx + mw) == color) {
+          mw++;
+        }
+
+        int mh = 1;
+        while (y + mh < maxY && rowMatches(data, width, x, y + mh, mw, color)) {
+          mh++;
+        }
+
+        for (int dy = 0; dy < mh; dy++) {
+          int start = idx + (dy * width);
+          covered.set(start, start + mw);
+        }
+
+        out.add(x);
+        out.add(y);
+        out.add(mw);
+        out.add(mh);
+        out.add(color);
+
+        x += mw - 1;
+      }
+    }
+
+    return out.size() / QUAD_SIZE;
+  }
+
+  private boolean rowMatches(byte[] data, int width, int x, int y, int len, int color) {
+    int start = x + (y * width);
+    int end = start + len;
+
+    for (int i = start; i < end; i++) {
+      if (covered.get(i) || argb(data, i) != color) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  static int argb(byte[] data, int pixel) {
+    int idx = pixel * CHANNELS;
+
+    return ((data[idx + CH_ALPHA] & 0xff) << 24)
+        | ((data[idx + CH_RED] & 0xff) << 16)
+        | ((data[idx + CH_GREEN] & 0xff) << 8)
+        | (data[idx + CH_BLUE] & 0xff);
+  }
+}
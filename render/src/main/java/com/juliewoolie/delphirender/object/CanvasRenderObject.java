@@ -8,56 +8,120 @@ import static com.juliewoolie.delphirender.Consts.EMPTY_TD_BLOCK_SIZE_X;
 import static com.juliewoolie.delphirender.Consts.EMPTY_TD_BLOCK_SIZE_Y;
 import static com.juliewoolie.delphirender.Consts.EMPTY_TEXT_OPACITY;
 import static com.juliewoolie.delphirender.object.BoxRenderObject.visualCenterOffset;
+import static com.juliewoolie.delphirender.object.CanvasMesher.QUAD_ARGB;
+import static com.juliewoolie.delphirender.object.CanvasMesher.QUAD_HEIGHT;
+import static com.juliewoolie.delphirender.object.CanvasMesher.QUAD_SIZE;
+import static com.juliewoolie.delphirender.object.CanvasMesher.QUAD_WIDTH;
+import static com.juliewoolie.delphirender.object.CanvasMesher.QUAD_X;
+import static com.juliewoolie.delphirender.object.CanvasMesher.QUAD_Y;
 
 import com.juliewoolie.delphidom.DelphiCanvas;
-import com.juliewoolie.delphidom.Loggers;
+import com.juliewoolie.delphidom.DirtyRegion;
+import com.juliewoolie.delphirender.DisplayState;
 import com.juliewoolie.delphirender.RenderSystem;
+import com.juliewoolie.delphirender.math.Rectangle;
 import com.juliewoolie.nlayout.MeasureFunc;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import org.bukkit.Color;
 import org.bukkit.Location;
-import org.bukkit.World;
 import org.bukkit.entity.TextDisplay;
 import org.bukkit.util.Transformation;
 import org.joml.Vector2f;
 import org.joml.Vector3f;
-import org.joml.Vector4i;
-import org.slf4j.Logger;
 
 public class CanvasRenderObject extends RenderObject implements MeasureFunc {
 
-  private static final Logger LOGGER = Loggers.getLogger();
-
   public DelphiCanvas canvas;
 
-  public final List<TextDisplay> entities = new ObjectArrayList<>();
-  public int entityIdx = 0;
+  /**
+   * Entity of each quad slot. Slots freed by a partial redraw, that weren't
+   * reused, have a {@code null} entity.
+   */
+  public final List<DisplayState> entities = new ObjectArrayList<>();
+
+  private final CanvasMesher mesher = new CanvasMesher();
+  private final IntArrayList meshed = new IntArrayList();
+
+  /* Quad of each slot, QUAD_SIZE ints per slot, a width of 0 marks a free slot */
+  private final IntArrayList quads = new IntArrayList();
+  private final IntArrayList freeSlots = new IntArrayList();
+  private final IntArrayList releasedSlots = new IntArrayList();
+
+  /* Slot of the quad covering each pixel, or -1 */
+  private int[] owners;
+  private final BitSet region = new BitSet();
+
+  /* Geometry the current quads were drawn with */
+  private final Vector2f drawnPosition = new Vector2f();
+  private final Vector2f drawnPixelSize = new Vector2f();
+  private float drawnZ;
+  private int drawnWidth = -1;
+  private int drawnHeight = -1;
+
+  private boolean contentDirty = false;
+
+  private final Location location = new Location(null, 0, 0, 0);
+  private final Vector2f pos = new Vector2f();
+  private Color lastColor;
 
   public CanvasRenderObject(RenderSystem system) {
     super(system);
   }
 
-  private TextDisplay allocEntity(Location location) {
-    if (entityIdx < entities.size()) {
-      TextDisplay display = entities.get(entityIdx++);
-      display.teleport(location);
-      return display;
+  /**
+   * Marks only the canvas' pixels as changed. Unless the canvas has also
+   * been moved or resized, only the quads covering the canvas' dirty region
+   * are re-meshed on the next update.
+   */
+  public void markContentDirty() {
+    contentDirty = true;
+    markDirty();
+  }
+
+  @Override
+  public void spawnDirty(Rectangle clip) {
+    if (!dirty) {
+      return;
     }
 
-    TextDisplay display = system.getWorld().spawn(location, TextDisplay.class);
-    display.text(EMPTY_CONTENT);
-    display.setTextOpacity(EMPTY_TEXT_OPACITY);
+    if (contentDirty && !isClipped(clip) && redrawDirtyRegion()) {
+      dirty = false;
+      contentDirty = false;
+      return;
+    }
 
-    configureEntity(display);
+    spawnRecursive(clip);
+  }
 
-    system.addEntity(display);
-    entities.addLast(display);
+  @Override
+  public void spawnRecursive(Rectangle clip) {
+    contentDirty = false;
+    super.spawnRecursive(clip);
+  }
+
+  private void getPixelSize(Vector2f out) {
+    if (parent != null) {
+      parent.getContentSize(out);
+    } else {
+      out.set(this.size);
+    }
 
-    entityIdx = entities.size();
+    out.div(canvas.getWidth(), canvas.getHeight());
+  }
+
+  private boolean geometryChanged() {
+    Vector2f pixelSize = new Vector2f();
+    getPixelSize(pixelSize);
 
-    return display;
+    return canvas.getWidth() != drawnWidth
+        || canvas.getHeight() != drawnHeight
+        || !drawnPixelSize.equals(pixelSize)
+        || !drawnPosition.equals(position)
+        || drawnZ != depth + getZIndexDepth();
   }
 
   @Override
@@ -65,207 +129,305 @@ public class CanvasRenderObject extends RenderObject implements MeasureFunc {
     int h = canvas.getHeight();
     int w = canvas.getWidth();
 
-    Vector2f size;
-    if (parent != null) {
-      size = new Vector2f();
-      parent.getContentSize(size);
-    } else {
-      size = this.size;
-    }
+    getPixelSize(drawnPixelSize);
+    drawnPosition.set(position);
+    drawnZ = depth + getZIndexDepth();
+    drawnWidth = w;
+    drawnHeight = h;
 
-    Vector2f pixelSize = new Vector2f(size).div(w, h);
-    Vector2f pos = new Vector2f();
-    Vector4i color = new Vector4i();
+    location.setWorld(system.getWorld());
+    canvas.getDirtyRegion().clear();
 
-    World world = system.getWorld();
-    Location location = new Location(world, 0, 0, 0);
+    int count = mesher.mesh(canvas.getPixelData(), w, h, meshed);
 
-    int idx = 0;
-    this.entityIdx = 0;
+    int pixels = Math.max(w * h, 0);
+    if (owners == null || owners.length != pixels) {
+      owners = new int[pixels];
+    }
+    Arrays.fill(owners, -1);
 
-    List<PixelMesh> meshes = greedyMesh();
+    quads.clear();
+    quads.addAll(meshed);
+    freeSlots.clear();
 
-    for (int i = 0; i < meshes.size(); i++) {
-      PixelMesh mesh = meshes.get(i);
+    // Slots are filled in order, so existing entities are reused and
+    // DisplayState skips the writes for quads that didn't change
+    for (int slot = 0; slot < count; slot++) {
+      drawQuad(slot);
+    }
 
-      pos.set(this.position);
-      pos.x += mesh.x * pixelSize.x;
-      pos.y -= mesh.y * pixelSize.y;
+    if (count < entities.size()) {
+      List<DisplayState> unused = entities.subList(count, entities.size());
+      for (DisplayState state : unused) {
+        if (state == null) {
+          continue;
+        }
+        system.releaseEntity(state.getEntity());
+      }
+      unused.clear();
+    }
+  }
 
-      pos.x -= BOX_OVERPRINT;
-      pos.y += BOX_OVERPRINT;
+  /**
+   * Re-meshes the canvas' dirty region and every quad it overlaps, leaving
+   * all other quads and their entities untouched.
+   *
+   * @return {@code false}, if the whole canvas has to be spawned again
+   */
+  private boolean redrawDirtyRegion() {
+    DirtyRegion dirtyRegion = canvas.getDirtyRegion();
+
+    if (owners == null || dirtyRegion.isFull() || geometryChanged()) {
+      return false;
+    }
 
-      screenLocation(pos, location);
-      TextDisplay td = allocEntity(location);
+    if (dirtyRegion.isEmpty()) {
+      return true;
+    }
 
-      Color bcolor = Color.fromARGB(mesh.alpha, mesh.red, mesh.green, mesh.blue);
-      td.setBackgroundColor(bcolor);
+    int w = drawnWidth;
+    int h = drawnHeight;
 
-      Transformation trans = newTransform();
+    int minX = w;
+    int minY = h;
+    int maxX = 0;
+    int maxY = 0;
 
-      float mw = (pixelSize.x * mesh.width) + (BOX_OVERPRINT * 2.0f);
-      float mh = (pixelSize.y * mesh.height) + (BOX_OVERPRINT * 2.0f);
+    region.clear();
+    releasedSlots.clear();
 
-      Vector3f scale = trans.getScale();
-      scale.x = EMPTY_TD_BLOCK_SIZE_X * mw;
-      scale.y = EMPTY_TD_BLOCK_SIZE_Y * mh;
+    for (int r = 0; r < dirtyRegion.size(); r++) {
+      int rMinX = Math.max(dirtyRegion.minX(r), 0);
+      int rMinY = Math.max(dirtyRegion.minY(r), 0);
+      int rMaxX = Math.min(dirtyRegion.maxX(r), w);
+      int rMaxY = Math.min(dirtyRegion.maxY(r), h);
 
-      Vector3f offset = trans.getTranslation();
-      offset.x += (mw * 0.5f) - visualCenterOffset(scale.x);
-      offset.y -= mh;
-      offset.z = depth + getZIndexDepth();
+      if (rMinX >= rMaxX || rMinY >= rMaxY) {
+        continue;
+      }
 
-      screen.project(trans);
-      td.setTransformation(trans);
+      minX = Math.min(minX, rMinX);
+      minY = Math.min(minY, rMinY);
+      maxX = Math.max(maxX, rMaxX);
+      maxY = Math.max(maxY, rMaxY);
+
+      for (int y = rMinY; y < rMaxY; y++) {
+        int row = y * w;
+        region.set(row + rMinX, row + rMaxX);
+
+        for (int x = rMinX; x < rMaxX; x++) {
+          int slot = owners[row + x];
+
+          if (slot == -1 || quads.getInt(slot * QUAD_SIZE + QUAD_WIDTH) == 0) {
+            continue;
+          }
+
+          // The quad covering a changed pixel is re-meshed as a whole, and
+          // its entity is reused for one of the new quads
+          int base = slot * QUAD_SIZE;
+          int qx = quads.getInt(base + QUAD_X);
+          int qy = quads.getInt(base + QUAD_Y);
+          int qw = quads.getInt(base + QUAD_WIDTH);
+          int qh = quads.getInt(base + QUAD_HEIGHT);
+
+          for (int dy = 0; dy < qh; dy++) {
+            int start = ((qy + dy) * w) + qx;
+            region.set(start, start + qw);
+          }
+
+          minX = Math.min(minX, qx);
+          minY = Math.min(minY, qy);
+          maxX = Math.max(maxX, qx + qw);
+          maxY = Math.max(maxY, qy + qh);
+
+          quads.set(base + QUAD_WIDTH, 0);
+          releasedSlots.add(slot);
+        }
+      }
     }
 
-    Vector2f pixelOverprintSize = new Vector2f(pixelSize);
-    pixelOverprintSize.x += (BOX_OVERPRINT * 2.0f);
-    pixelOverprintSize.y += (BOX_OVERPRINT * 2.0f);
+    dirtyRegion.clear();
 
-    for (int y = 0; y < h; y++) {
-      for (int x = 0; x < w; x++) {
-        if (containsAny(meshes, x, y)) {
-          idx++;
-          continue;
-        }
+    if (minX >= maxX || minY >= maxY) {
+      return true;
+    }
+
+    for (int i = region.nextSetBit(0); i >= 0; i = region.nextSetBit(i + 1)) {
+      owners[i] = -1;
+    }
 
-        canvas.sample(idx, color);
+    int count = mesher.meshRegion(
+        canvas.getPixelData(),
+        w, h,
+        region,
+        minX, minY, maxX, maxY,
+        meshed
+    );
+
+    location.setWorld(system.getWorld());
+
+    for (int i = 0; i < count; i++) {
+      int slot;
+
+      if (!releasedSlots.isEmpty()) {
+        slot = releasedSlots.popInt();
+      } else if (!freeSlots.isEmpty()) {
+        slot = freeSlots.popInt();
+      } else {
+        slot = entities.size();
+        quads.size(quads.size() + QUAD_SIZE);
+        entities.add(null);
+      }
 
-        if (color.w <= 0) {
-          idx++;
-          continue;
-        }
+      int base = slot * QUAD_SIZE;
+      for (int j = 0; j < QUAD_SIZE; j++) {
+        quads.set(base + j, meshed.getInt(i * QUAD_SIZE + j));
+      }
 
-        pos.set(this.position);
-        pos.x += x * pixelSize.x;
-        pos.y -= y * pixelSize.y;
+      drawQuad(slot);
+    }
 
-        pos.x -= BOX_OVERPRINT;
-        pos.y += BOX_OVERPRINT;
+    for (int i = 0; i < releasedSlots.size(); i++) {
+      int slot = releasedSlots.getInt(i);
+      DisplayState state = entities.set(slot, null);
 
-        screenLocation(pos, location);
-        TextDisplay td = allocEntity(location);
+      if (state != null) {
+        system.releaseEntity(state.getEntity());
+      }
 
-        Color bukkitColor = Color.fromARGB(color.w, color.x, color.y, color.z);
-        td.setBackgroundColor(bukkitColor);
+      freeSlots.add(slot);
+    }
 
-        Transformation trans = newTransform();
+    return true;
+  }
 
-        Vector3f scale = trans.getScale();
-        scale.x = EMPTY_TD_BLOCK_SIZE_X * (pixelOverprintSize.x);
-        scale.y = EMPTY_TD_BLOCK_SIZE_Y * (pixelOverprintSize.y);
+  /**
+   * Moves every quad's entity to where the screen now projects it. The
+   * quads themselves are kept, so nothing is re-meshed.
+   */
+  @Override
+  public void reproject() {
+    if (owners == null) {
+      return;
+    }
 
-        Vector3f offset = trans.getTranslation();
-        offset.x += (pixelOverprintSize.x * 0.5f) - visualCenterOffset(scale.x);
-        offset.y -= pixelSize.y;
-        offset.z = depth + getZIndexDepth();
+    location.setWorld(system.getWorld());
 
-        screen.project(trans);
-        td.setTransformation(trans);
+    for (int slot = 0; slot < entities.size(); slot++) {
+      DisplayState td = entities.get(slot);
 
-        idx++;
+      if (td == null || quads.getInt(slot * QUAD_SIZE + QUAD_WIDTH) == 0) {
+        continue;
       }
+
+      placeQuad(slot, td);
     }
+  }
+
+  private void drawQuad(int slot) {
+    int base = slot * QUAD_SIZE;
+    int qx = quads.getInt(base + QUAD_X);
+    int qy = quads.getInt(base + QUAD_Y);
+    int qw = quads.getInt(base + QUAD_WIDTH);
+    int qh = quads.getInt(base + QUAD_HEIGHT);
+    int argb = quads.getInt(base + QUAD_ARGB);
 
+    DisplayState td = slot < entities.size() ? entities.get(slot) : null;
 
-    if (idx < entities.size()) {
-      List<TextDisplay> unused = entities.subList(idx, entities.size());
-      for (TextDisplay display : unused) {
-        system.removeEntity(display);
-        display.remove();
+    if (td == null) {
+      quadLocation(slot);
+      td = allocEntity(location);
+
+      if (slot < entities.size()) {
+        entities.set(slot, td);
+      } else {
+        entities.add(td);
       }
-      unused.clear();
     }
-  }
 
-  @Override
-  public void kill() {
-    for (TextDisplay entity : entities) {
-      system.removeEntity(entity);
-      entity.remove();
+    // Quads are meshed row by row, neighbouring quads often share a color
+    if (lastColor == null || lastColor.asARGB() != argb) {
+      lastColor = Color.fromARGB(argb);
     }
-    entities.clear();
-  }
+    td.backgroundColor(lastColor);
 
-  List<PixelMesh> greedyMesh() {
-    List<PixelMesh> meshes = new ArrayList<>();
+    placeQuad(slot, td);
 
-    int h = canvas.getHeight();
-    int w = canvas.getWidth();
+    for (int dy = 0; dy < qh; dy++) {
+      int start = ((qy + dy) * drawnWidth) + qx;
+      Arrays.fill(owners, start, start + qw, slot);
+    }
+  }
 
-    Vector4i color = new Vector4i();
-    Vector4i dcolor = new Vector4i();
+  private void quadLocation(int slot) {
+    int base = slot * QUAD_SIZE;
 
-    yloop: for (int y = 0; y < h; y++) {
-      xloop: for (int x = 0; x < w; x++) {
-        if (containsAny(meshes, x, y)) {
-          continue xloop;
-        }
+    pos.set(drawnPosition);
+    pos.x += quads.getInt(base + QUAD_X) * drawnPixelSize.x;
+    pos.y -= quads.getInt(base + QUAD_Y) * drawnPixelSize.y;
 
-        canvas.sample(x, y, color);
-        if (color.w <= 0) {
-          continue xloop;
-        }
+    pos.x -= BOX_OVERPRINT;
+    pos.y += BOX_OVERPRINT;
 
-        int mw = 1;
-        int mh = 1;
+    screenLocation(pos, location);
+  }
 
-        canvas.sample(x + 1, y, dcolor);
+  /* Writes the projected location and transformation of a quad's entity */
+  private void placeQuad(int slot, DisplayState td) {
+    int base = slot * QUAD_SIZE;
+    int qw = quads.getInt(base + QUAD_WIDTH);
+    int qh = quads.getInt(base + QUAD_HEIGHT);
 
-        while (dcolor.equals(color)) {
-          mw++;
-          canvas.sample(x + mw, y, dcolor);
-        }
+    quadLocation(slot);
+    td.teleport(location);
 
-        while (sampleLineEquals(x, y + mh, mw, color, dcolor)) {
-          mh++;
-        }
+    Transformation trans = newTransform();
 
-        if (mw < 2 && mh < 2) {
-          continue;
-        }
+    float mw = (drawnPixelSize.x * qw) + (BOX_OVERPRINT * 2.0f);
+    float mh = (drawnPixelSize.y * qh) + (BOX_OVERPRINT * 2.0f);
 
-        PixelMesh mesh = new PixelMesh();
-        mesh.x = x;
-        mesh.y = y;
-        mesh.width = mw;
-        mesh.height = mh;
-        mesh.red = color.x;
-        mesh.green = color.y;
-        mesh.blue = color.z;
-        mesh.alpha = color.w;
-
-        meshes.add(mesh);
-
-        // If canvas is literally just one color
-        if (x == 0 && y == 0 && mw == w && mh == h) {
-          break yloop;
-        }
-      }
-    }
+    Vector3f scale = trans.getScale();
+    scale.x = EMPTY_TD_BLOCK_SIZE_X * mw;
+    scale.y = EMPTY_TD_BLOCK_SIZE_Y * mh;
+
+    Vector3f offset = trans.getTranslation();
+    offset.x += (mw * 0.5f) - visualCenterOffset(scale.x);
+    offset.y -= mh;
+    offset.z = drawnZ;
 
-    return meshes;
+    screen.project(trans);
+    td.transformation(trans);
   }
 
-  private boolean sampleLineEquals(int x, int y, int w, Vector4i color, Vector4i dcolor) {
-    for (int i = 0; i < w; i++) {
-      canvas.sample(x + i, y, dcolor);
-      if (!dcolor.equals(color)) {
-        return false;
-      }
-    }
-    return true;
+  private DisplayState allocEntity(Location location) {
+    TextDisplay display = system.borrowEntity(location, TextDisplay.class, td -> {
+      td.setTextOpacity(EMPTY_TEXT_OPACITY);
+    });
+
+    DisplayState state = new DisplayState(display, system.getWriteMetrics());
+    state.text(EMPTY_CONTENT);
+    configureEntity(state);
+
+    system.addEntity(display);
+    return state;
   }
 
-  boolean containsAny(List<PixelMesh> meshes, int x, int y) {
-    for (int i = 0; i < meshes.size(); i++) {
-      if (!meshes.get(i).contains(x, y)) {
+  @Override
+  public void kill() {
+    for (DisplayState state : entities) {
+      if (state == null) {
         continue;
       }
-      return true;
+      system.releaseEntity(state.getEntity());
     }
-    return false;
+
+    entities.clear();
+    quads.clear();
+    freeSlots.clear();
+
+    owners = null;
+    drawnWidth = -1;
+    drawnHeight = -1;
   }
 
   @Override
@@ -273,22 +435,4 @@ public class CanvasRenderObject extends RenderObject implements MeasureFunc {
     out.x = canvas.getWidth() * CHAR_PX_SIZE_X;
     out.y = canvas.getHeight() * CHAR_PX_SIZE_Y;
   }
-
-  static class PixelMesh {
-    int x;
-    int y;
-
-    int width;
-    int height;
-
-    int red;
-    int green;
-    int blue;
-    int alpha;
-
-    boolean contains(int x, int y) {
-      return (x >= this.x && (x < (this.x + width)))
-          && (y >= this.y && (y < (this.y + height)));
-    }
-  }
 }
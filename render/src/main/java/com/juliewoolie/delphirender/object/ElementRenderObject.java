@@ -5,11 +5,14 @@ import com.juliewoolie.delphidom.Rect;
 import com.juliewoolie.delphirender.Consts;
 import com.juliewoolie.delphirender.FullStyle;
 import com.juliewoolie.delphirender.RenderSystem;
+import com.juliewoolie.delphirender.math.Rectangle;
 import com.juliewoolie.dom.style.DisplayType;
+import com.juliewoolie.dom.style.Overflow;
 import com.juliewoolie.dom.style.Visibility;
 import com.juliewoolie.nlayout.LayoutBox;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import lombok.Getter;
 import org.bukkit.Color;
 import org.joml.Vector2f;
@@ -26,6 +29,11 @@ public class ElementRenderObject extends RenderObject {
   public final ComputedStyleSet computedStyleSet;
   public boolean spawned = false;
 
+  /**
+   * Set when any object below this element has been marked dirty.
+   */
+  public boolean childrenDirty = false;
+
   public final BoxRenderObject[] boxes = new BoxRenderObject[BOXES];
 
   @Getter
@@ -33,6 +41,10 @@ public class ElementRenderObject extends RenderObject {
 
   public float depthScale = 1.0f;
 
+  // Clip rect the children were last culled against, children only have
+  // to be culled again when it moves or changes size
+  private Rectangle lastChildClip;
+
   public ElementRenderObject(RenderSystem system, ComputedStyleSet set) {
     super(system);
 
@@ -70,16 +82,164 @@ public class ElementRenderObject extends RenderObject {
     return style.display == DisplayType.NONE || style.visibility != Visibility.VISIBLE;
   }
 
-  public void spawnRecursive() {
+  public boolean clipsContent() {
+    return style.overflow != Overflow.VISIBLE;
+  }
+
+  /**
+   * Gets the area this element's content is clipped to, the area inside the
+   * element's outline and border.
+   *
+   * @param out Result rectangle
+   */
+  public void getClipRect(Rectangle out) {
+    Rect outline = style.outline;
+    Rect border = style.border;
+
+    out.size.x = size.x - outline.x() - border.x();
+    out.size.y = size.y - outline.y() - border.y();
+    out.position.x = position.x + outline.left + border.left;
+    out.position.y = position.y - outline.top - border.top - out.size.y;
+  }
+
+  /**
+   * Gets the clip rect this element's children are spawned with.
+   *
+   * @param clip Clip rect this element is spawned with, or {@code null}
+   * @return {@code clip}, if this element doesn't clip its content,
+   *         otherwise the area shared by {@code clip} and this element's
+   *         clip rect
+   */
+  public Rectangle getChildClipRect(Rectangle clip) {
+    if (!clipsContent()) {
+      return clip;
+    }
+
+    Rectangle rect = new Rectangle();
+    getClipRect(rect);
+
+    if (clip != null) {
+      rect.intersect(clip);
+    }
+
+    return rect;
+  }
+
+  /**
+   * Scrolls the content of an {@code overflow: scroll} element.
+   * <p>
+   * The content is moved on the next layout.
+   *
+   * @param amount Distance to scroll, positive values scroll down
+   * @return {@code true}, if the element could be scrolled, {@code false}
+   *         if it's not scrollable or already scrolled to the end
+   */
+  public boolean scrollBy(float amount) {
+    if (style.overflow != Overflow.SCROLL || !(layoutNode instanceof LayoutBox box)) {
+      return false;
+    }
+
+    Vector2f inner = new Vector2f();
+    box.getInnerSize(inner);
+
+    float max = Math.max(0.0f, box.contentSize.y - inner.y);
+    float offset = Math.clamp(box.scrollOffset.y + amount, 0.0f, max);
+
+    if (offset == box.scrollOffset.y) {
+      return false;
+    }
+
+    box.scrollOffset.y = offset;
+    system.triggerRealign();
+
+    return true;
+  }
+
+  @Override
+  public void markDirty() {
+    super.markDirty();
+
+    // Text, item and canvas objects take their size and style from this
+    // element, so they have to be updated along with it
+    for (RenderObject childObject : childObjects) {
+      if (childObject instanceof ElementRenderObject) {
+        continue;
+      }
+
+      childObject.dirty = true;
+      childrenDirty = true;
+    }
+  }
+
+  @Override
+  public void spawnDirty(Rectangle clip) {
+    if (!dirty && !childrenDirty) {
+      return;
+    }
+
+    // Not spawned or being hidden, the whole subtree has to be updated
+    if (!spawned || isHidden()) {
+      spawnRecursive(clip);
+      return;
+    }
+
+    Rectangle childClip = getChildClipRect(clip);
+
+    if (dirty) {
+      dirty = false;
+      spawnSelf(clip);
+
+      // Moving or resizing the clip rect can bring children into view
+      // without any of them having changed
+      if (clipsContent() && !Objects.equals(childClip, lastChildClip)) {
+        lastChildClip = childClip;
+        childrenDirty = false;
+
+        for (RenderObject childObject : childObjects) {
+          childObject.spawnRecursive(childClip);
+        }
+        return;
+      }
+    }
+
+    if (!childrenDirty) {
+      return;
+    }
+
+    childrenDirty = false;
+
+    for (RenderObject childObject : childObjects) {
+      childObject.spawnDirty(childClip);
+    }
+  }
+
+  @Override
+  public void spawnRecursive(Rectangle clip) {
+    dirty = false;
+    childrenDirty = false;
+
     if (isHidden()) {
       killRecursive();
       return;
     }
 
-    spawn();
+    spawnSelf(clip);
+
+    // Children can overflow this element, so they're culled on their own
+    // even if this element is clipped
+    Rectangle childClip = getChildClipRect(clip);
+    lastChildClip = childClip;
 
     for (RenderObject childObject : childObjects) {
-      childObject.spawnRecursive();
+      childObject.spawnRecursive(childClip);
+    }
+  }
+
+  private void spawnSelf(Rectangle clip) {
+    if (isClipped(clip)) {
+      kill();
+    } else {
+      spawn();
     }
   }
 
@@ -183,6 +343,24 @@ public class ElementRenderObject extends RenderObject {
     spawned = true;
   }
 
+  @Override
+  public void reproject() {
+    for (BoxRenderObject box : boxes) {
+      box.reproject();
+    }
+  }
+
+  @Override
+  public void reprojectRecursive() {
+    reproject();
+
+    // Children are culled on their own, so even the children of a killed
+    // element may have entities
+    for (RenderObject childObject : childObjects) {
+      childObject.reprojectRecursive();
+    }
+  }
+
   @Override
   public void kill() {
     for (BoxRenderObject box : boxes) {
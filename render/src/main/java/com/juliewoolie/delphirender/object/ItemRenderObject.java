@@ -56,12 +56,12 @@ public class ItemRenderObject extends SingleEntityRenderObject<ItemDisplay> {
     offset.y -= size.y * Y_OFF_MODIFIER;
 //    offset.z += Z_OFF;
 
-    entity.setItemStack(item);
+    state.itemStack(item);
   }
 
   @Override
   protected ItemDisplay spawnEntity(World w, Location l) {
-    return w.spawn(l, ItemDisplay.class, id -> {
+    return system.borrowEntity(l, ItemDisplay.class, id -> {
       id.setItemDisplayTransform(ItemDisplayTransform.GUI);
     });
   }
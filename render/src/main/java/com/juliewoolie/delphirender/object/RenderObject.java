@@ -1,12 +1,13 @@
 package com.juliewoolie.delphirender.object;
 
 import com.juliewoolie.delphirender.Consts;
+import com.juliewoolie.delphirender.DisplayState;
 import com.juliewoolie.delphirender.FullStyle;
 import com.juliewoolie.delphirender.RenderScreen;
 import com.juliewoolie.delphirender.RenderSystem;
 import com.juliewoolie.delphirender.math.Rectangle;
+import com.juliewoolie.nlayout.LayoutNode;
 import org.bukkit.Location;
-import org.bukkit.entity.Display;
 import org.bukkit.entity.Display.Brightness;
 import org.bukkit.entity.TextDisplay;
 import org.bukkit.util.Transformation;
@@ -30,6 +31,18 @@ public abstract class RenderObject {
   public float depth = 0.0f;
   public int domIndex = 0;
 
+  /**
+   * Set when this object's position, size, style or content has changed
+   * since it was last spawned. New objects start out dirty.
+   */
+  public boolean dirty = true;
+
+  /**
+   * Layout node this object was laid out with, kept between reflows so
+   * unchanged parts of the tree don't have to be measured again.
+   */
+  public LayoutNode layoutNode;
+
   public RenderObject(RenderSystem system) {
     this.system = system;
     this.screen = system.getScreen();
@@ -50,6 +63,41 @@ public abstract class RenderObject {
     rectangle.size.set(this.size);
   }
 
+  /**
+   * Tests if this object lies entirely outside a clip rect.
+   * <p>
+   * Clipped objects aren't spawned. Entities can't be cut off, so objects
+   * that are only partly outside the clip rect are still spawned in full.
+   *
+   * @param clip Clip rect this object is spawned with, or {@code null}
+   * @return {@code true}, if this object is clipped
+   */
+  public boolean isClipped(Rectangle clip) {
+    if (clip == null) {
+      return false;
+    }
+
+    return !clip.intersects(position.x, position.y - size.y, size.x, size.y);
+  }
+
+  /**
+   * Finds the clip rect this object is spawned with, the area shared by the
+   * clip rects of every ancestor with {@code overflow: hidden} or
+   * {@code overflow: scroll}.
+   * <p>
+   * Only used when spawning starts from this object, during a recursive
+   * spawn, the clip rect is passed down from the parent.
+   *
+   * @return Clip rect, or {@code null}, if no ancestor clips its content
+   */
+  public Rectangle findClipRect() {
+    if (parent == null) {
+      return null;
+    }
+
+    return parent.getChildClipRect(parent.findClipRect());
+  }
+
   protected Location getLocation() {
     Location l = new Location(system.getWorld(), 0, 0, 0);
     screenLocation(this.position, l);
@@ -76,10 +124,10 @@ public abstract class RenderObject {
     return parent.style;
   }
 
-  protected void configureEntity(Display display) {
-    display.setBrightness(BRIGHTNESS);
+  protected void configureEntity(DisplayState state) {
+    state.brightness(BRIGHTNESS);
 
-    if (display instanceof TextDisplay text) {
+    if (state.getEntity() instanceof TextDisplay text) {
       text.setSeeThrough(SEE_THROUGH);
     }
   }
@@ -93,15 +141,106 @@ public abstract class RenderObject {
     );
   }
 
+  protected static Transformation copyTransform(Transformation trans) {
+    return new Transformation(
+        new Vector3f(trans.getTranslation()),
+        new Quaternionf(trans.getLeftRotation()),
+        new Vector3f(trans.getScale()),
+        new Quaternionf(trans.getRightRotation())
+    );
+  }
+
   public abstract void spawn();
 
   public abstract void kill();
 
+  /**
+   * Moves this object's spawned entities to wherever the screen now
+   * projects them, after the screen was moved, rotated or scaled.
+   * <p>
+   * Only the location and transformation of each entity is written again.
+   * Content, colors and sizes are left as they were last spawned.
+   */
+  public abstract void reproject();
+
+  public void reprojectRecursive() {
+    reproject();
+  }
+
+  /**
+   * Marks this object as needing to be re-spawned and flags every parent
+   * object, so the next render tick can find this object without having to
+   * walk the whole tree.
+   */
+  public void markDirty() {
+    dirty = true;
+
+    ElementRenderObject p = parent;
+    while (p != null) {
+      p.childrenDirty = true;
+      p = p.parent;
+    }
+
+    system.triggerUpdate();
+  }
+
+  /**
+   * Marks this object as needing to be measured again on the next reflow.
+   * <p>
+   * The parent's layout node is flagged as well, as hiding an element
+   * changes its parent's layout without anything below the parent being
+   * measured.
+   */
+  public void markLayoutDirty() {
+    if (layoutNode != null) {
+      layoutNode.layoutDirty = true;
+    }
+    if (parent != null && parent.layoutNode != null) {
+      parent.layoutNode.layoutDirty = true;
+    }
+
+    system.triggerRealign();
+  }
+
+  /**
+   * Re-spawns this object, if it has been marked dirty.
+   */
+  public void spawnDirty() {
+    spawnDirty(findClipRect());
+  }
+
+  /**
+   * Re-spawns this object, if it has been marked dirty.
+   * @param clip Clip rect this object is spawned with, or {@code null}
+   */
+  public void spawnDirty(Rectangle clip) {
+    if (!dirty) {
+      return;
+    }
+
+    spawnRecursive(clip);
+  }
+
   public void killRecursive() {
     kill();
   }
 
   public void spawnRecursive() {
+    spawnRecursive(findClipRect());
+  }
+
+  /**
+   * Spawns this object and everything below it.
+   * @param clip Clip rect this object is spawned with, or {@code null}
+   */
+  public void spawnRecursive(Rectangle clip) {
+    dirty = false;
+
+    if (isClipped(clip)) {
+      kill();
+      return;
+    }
+
     spawn();
   }
 }
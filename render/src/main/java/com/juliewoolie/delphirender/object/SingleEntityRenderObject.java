@@ -1,5 +1,7 @@
 package com.juliewoolie.delphirender.object;
 
+import com.juliewoolie.delphirender.DisplayState;
+import com.juliewoolie.delphirender.FullStyle;
 import com.juliewoolie.delphirender.RenderSystem;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -10,6 +12,10 @@ import org.joml.Vector3f;
 public abstract class SingleEntityRenderObject<T extends Display> extends RenderObject {
 
   public T entity;
+  public DisplayState state;
+
+  /* Transformation of the last spawn, before it was projected onto the screen */
+  private Transformation screenTransform;
 
   public SingleEntityRenderObject(RenderSystem system) {
     super(system);
@@ -24,7 +30,7 @@ public abstract class SingleEntityRenderObject<T extends Display> extends Render
     }
 
     Location loc = getLocation();
-    entity.teleport(loc);
+    state.teleport(loc);
   }
 
   boolean isSpawned() {
@@ -43,10 +49,19 @@ public abstract class SingleEntityRenderObject<T extends Display> extends Render
 
     if (!isSpawned()) {
       entity = spawnEntity(location.getWorld(), location);
+      state = new DisplayState(entity, system.getWriteMetrics());
+
       system.addEntity(entity);
-      configureEntity(entity);
+      configureEntity(state);
     } else {
-      entity.teleport(location);
+      // Only entities that already exist are transitioned, a new entity
+      // should appear where it's meant to be
+      FullStyle style = getParentStyle();
+      if (style != null) {
+        state.transition(style.transitionDelay, style.transition);
+      }
+
+      state.teleport(location);
     }
 
     Transformation trans = newTransform();
@@ -85,9 +100,23 @@ public abstract class SingleEntityRenderObject<T extends Display> extends Render
     offset.z = depth + getZIndexDepth();
 
     configure(entity, trans);
+    screenTransform = copyTransform(trans);
+
     screen.project(trans);
+    state.transformation(trans);
+  }
+
+  @Override
+  public void reproject() {
+    if (!isSpawned() || screenTransform == null) {
+      return;
+    }
 
-    entity.setTransformation(trans);
+    state.teleport(getLocation());
+
+    Transformation trans = copyTransform(screenTransform);
+    screen.project(trans);
+    state.transformation(trans);
   }
 
   @Override
@@ -96,9 +125,10 @@ public abstract class SingleEntityRenderObject<T extends Display> extends Render
       return;
     }
 
-    system.removeEntity(entity);
-    entity.remove();
+    system.releaseEntity(entity);
 
     entity = null;
+    state = null;
+    screenTransform = null;
   }
 }
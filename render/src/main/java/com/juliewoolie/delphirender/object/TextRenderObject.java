@@ -6,11 +6,8 @@ import static com.juliewoolie.delphirender.object.BoxRenderObject.NIL_COLOR;
 
 import com.juliewoolie.delphirender.FontMeasureCallback;
 import com.juliewoolie.delphirender.FullStyle;
-import com.juliewoolie.delphirender.MetricTextMeasure;
 import com.juliewoolie.delphirender.RenderSystem;
-import com.juliewoolie.delphirender.SimpleTextMeasure;
-import com.juliewoolie.delphirender.TextMeasure;
-import com.juliewoolie.delphirender.TextUtil;
+import com.juliewoolie.delphirender.TextMeasureCache;
 import com.juliewoolie.nlayout.MeasureFunc;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextDecoration;
@@ -34,7 +31,7 @@ public abstract class TextRenderObject
 
   @Override
   protected TextDisplay spawnEntity(World w, Location l) {
-    return w.spawn(l, TextDisplay.class, txt -> {
+    return system.borrowEntity(l, TextDisplay.class, txt -> {
       txt.setBackgroundColor(NIL_COLOR);
       txt.setLineWidth(Integer.MAX_VALUE);
     });
@@ -43,12 +40,11 @@ public abstract class TextRenderObject
   @Override
   protected void configure(TextDisplay entity, Transformation trans) {
     Component text = text();
-    entity.text(text);
-    entity.setLineWidth(Integer.MAX_VALUE);
+    state.text(text);
 
     FullStyle style = getParentStyle();
     if (style != null) {
-      entity.setShadowed(style.textShadowed);
+      state.shadowed(style.textShadowed);
     }
 
     configureTextSize(this, text, trans.getScale());
@@ -67,18 +63,8 @@ public abstract class TextRenderObject
   }
 
   static void measureText(TextRenderObject obj, Component text, Vector2f out) {
-    TextMeasure measure;
     FontMeasureCallback metrics = obj.system.getFontMetrics();
-
-    if (metrics == null) {
-      measure = new SimpleTextMeasure();
-    } else {
-      measure = new MetricTextMeasure(metrics);
-    }
-
-    TextUtil.FLATTENER.flatten(text, measure);
-
-    measure.outputSize(out);
+    TextMeasureCache.shared().measure(text, metrics, out);
 
     out.x *= CHAR_PX_SIZE_X;
     out.y *= CHAR_PX_SIZE_Y;
@@ -0,0 +1,218 @@
+package com.juliewoolie.delphirender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.juliewoolie.chimera.ComputedStyleSet;
+import com.juliewoolie.delphidom.DelphiCanvas;
+import com.juliewoolie.delphidom.DelphiCanvasElement;
+import com.juliewoolie.delphidom.DelphiDocument;
+import com.juliewoolie.delphidom.ExtendedView;
+import com.juliewoolie.delphidom.FrameStats;
+import com.juliewoolie.delphirender.object.CanvasRenderObject;
+import com.juliewoolie.delphirender.object.ElementRenderObject;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.entity.Display;
+import org.bukkit.util.Transformation;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+class ReprojectTest {
+
+  static final Set<String> REPROJECT_CALLS = Set.of("teleport", "setTransformation");
+
+  static Object defaultValue(Class<?> type) {
+    if (type == boolean.class) {
+      return false;
+    }
+    if (type == int.class) {
+      return 0;
+    }
+    if (type == long.class) {
+      return 0L;
+    }
+    if (type == float.class) {
+      return 0.0f;
+    }
+    if (type == double.class) {
+      return 0.0d;
+    }
+    if (type == byte.class) {
+      return (byte) 0;
+    }
+    if (type == short.class) {
+      return (short) 0;
+    }
+    if (type == char.class) {
+      return '\0';
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T> T stub(Class<T> type, InvocationHandler handler) {
+    return (T) Proxy.newProxyInstance(
+        ReprojectTest.class.getClassLoader(),
+        new Class[] {type},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "equals" -> proxy == args[0];
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "toString" -> type.getSimpleName();
+          default -> handler.invoke(proxy, method, args);
+        }
+    );
+  }
+
+  /* Screen that projects everything with a movable offset */
+  static class TestScreen implements InvocationHandler {
+    final Vector3f offset = new Vector3f();
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      switch (method.getName()) {
+        case "screenToWorld" -> {
+          Vector2f point = (Vector2f) args[0];
+          ((Vector3f) args[1]).set(point.x, point.y, 0).add(offset);
+        }
+        case "project" -> ((Transformation) args[0]).getTranslation().add(offset);
+        case "getDimensions" -> ((Vector2f) args[0]).set(5, 3);
+        default -> {
+          return defaultValue(method.getReturnType());
+        }
+      }
+      return null;
+    }
+  }
+
+  /* Records every call made to a display entity */
+  static class EntityLog implements InvocationHandler {
+    final List<String> calls = new ArrayList<>();
+    Location location;
+
+    EntityLog(Location location) {
+      this.location = location.clone();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      return switch (method.getName()) {
+        case "getLocation" -> location.clone();
+        case "isDead" -> false;
+        case "teleport" -> {
+          calls.add("teleport");
+          location = ((Location) args[0]).clone();
+          yield true;
+        }
+        default -> {
+          calls.add(method.getName());
+          yield defaultValue(method.getReturnType());
+        }
+      };
+    }
+  }
+
+  static class TestRenderSystem extends RenderSystem {
+    final Map<Display, EntityLog> logs = new IdentityHashMap<>();
+    int borrowed = 0;
+    int released = 0;
+
+    TestRenderSystem(ExtendedView view, RenderScreen screen) {
+      super(view, screen);
+    }
+
+    @Override
+    public <T extends Display> T borrowEntity(Location location, Class<T> type, Consumer<T> initializer) {
+      EntityLog log = new EntityLog(location);
+      T entity = stub(type, log);
+
+      logs.put(entity, log);
+      borrowed++;
+
+      initializer.accept(entity);
+      return entity;
+    }
+
+    @Override
+    public void releaseEntity(Display entity) {
+      released++;
+    }
+  }
+
+  @Test
+  void testScreenMovedOnlyMovesEntities() {
+    TestScreen screen = new TestScreen();
+    FrameStats stats = new FrameStats();
+
+    ExtendedView view = stub(ExtendedView.class, (proxy, method, args) -> {
+      if (method.getName().equals("getStats")) {
+        return stats;
+      }
+      return defaultValue(method.getReturnType());
+    });
+
+    TestRenderSystem system = new TestRenderSystem(view, stub(RenderScreen.class, screen));
+
+    ElementRenderObject root = new ElementRenderObject(system, new ComputedStyleSet());
+    root.style.backgroundColor = Color.RED;
+    root.size.set(2, 2);
+    root.moveTo(0, 2);
+
+    DelphiCanvas canvas = new DelphiCanvasElement(DelphiDocument.createEmpty()).canvas;
+    canvas.setSize(2, 2);
+    canvas.setPixels(0, 0, 2, 2, new int[] {0xffff0000, 0xffff0000, 0xff0000ff, 0xff0000ff});
+
+    CanvasRenderObject canvasObject = new CanvasRenderObject(system);
+    canvasObject.canvas = canvas;
+    canvasObject.size.set(2, 2);
+    canvasObject.moveTo(0, 2);
+    root.addChild(0, canvasObject);
+
+    system.setRenderRoot(root);
+    root.spawnRecursive();
+
+    // Background box and one quad per canvas row
+    assertEquals(3, system.borrowed);
+    assertEquals(2, canvasObject.entities.size());
+
+    Map<Display, Location> spawnedAt = new IdentityHashMap<>();
+    for (Map.Entry<Display, EntityLog> entry : system.logs.entrySet()) {
+      spawnedAt.put(entry.getKey(), entry.getValue().location.clone());
+      entry.getValue().calls.clear();
+    }
+
+    // Changed behind the render object's back, a re-mesh would pick this up
+    // and write new background colors
+    Arrays.fill(canvas.getPixelData(), (byte) 0x7f);
+
+    screen.offset.set(10, 0, 5);
+    system.screenMoved();
+
+    assertEquals(3, system.borrowed);
+    assertEquals(0, system.released);
+    assertEquals(2, canvasObject.entities.size());
+
+    for (Map.Entry<Display, EntityLog> entry : system.logs.entrySet()) {
+      EntityLog log = entry.getValue();
+      Location before = spawnedAt.get(entry.getKey());
+
+      assertTrue(REPROJECT_CALLS.containsAll(log.calls), "Unexpected entity writes: " + log.calls);
+      assertTrue(log.calls.contains("setTransformation"), "Transformation not updated");
+
+      assertEquals(before.getX() + 10, log.location.getX(), 0.0001);
+      assertEquals(before.getY(), log.location.getY(), 0.0001);
+      assertEquals(before.getZ() + 5, log.location.getZ(), 0.0001);
+    }
+  }
+}
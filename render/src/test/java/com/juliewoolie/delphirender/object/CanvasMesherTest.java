@@ -0,0 +1,157 @@
+package com.juliewoolie.delphirender.object;
+
+import static com.juliewoolie.delphidom.DelphiCanvas.CHANNELS;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_ALPHA;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_BLUE;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_GREEN;
+import static com.juliewoolie.delphidom.DelphiCanvas.CH_RED;
+import static com.juliewoolie.delphirender.object.CanvasMesher.QUAD_ARGB;
+import static com.juliewoolie.delphirender.object.CanvasMesher.QUAD_HEIGHT;
+import static com.juliewoolie.delphirender.object.CanvasMesher.QUAD_SIZE;
+import static com.juliewoolie.delphirender.object.CanvasMesher.QUAD_WIDTH;
+import static com.juliewoolie.delphirender.object.CanvasMesher.QUAD_X;
+import static com.juliewoolie.delphirender.object.CanvasMesher.QUAD_Y;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+
+public class CanvasMesherTest {
+
+  static final int RED = 0xffff0000;
+  static final int BLUE = 0xff0000ff;
+  static final int CLEAR = 0;
+
+  interface Pattern {
+    int argb(int x, int y);
+  }
+
+  static byte[] canvas(int width, int height, Pattern pattern) {
+    byte[] data = new byte[width * height * CHANNELS];
+
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int argb = pattern.argb(x, y);
+        int idx = (x + (y * width)) * CHANNELS;
+
+        data[idx + CH_ALPHA] = (byte) (argb >>> 24);
+        data[idx + CH_RED] = (byte) (argb >>> 16);
+        data[idx + CH_GREEN] = (byte) (argb >>> 8);
+        data[idx + CH_BLUE] = (byte) argb;
+      }
+    }
+
+    return data;
+  }
+
+  /**
+   * Checks that every quad has a single color, that no quads overlap, and
+   * that every non-transparent pixel in the region is covered
+   */
+  static void assertCoverage(byte[] data, int width, int height, BitSet region, IntArrayList quads) {
+    int[] coverage = new int[width * height];
+
+    for (int i = 0; i < quads.size(); i += QUAD_SIZE) {
+      int qx = quads.getInt(i + QUAD_X);
+      int qy = quads.getInt(i + QUAD_Y);
+      int qw = quads.getInt(i + QUAD_WIDTH);
+      int qh = quads.getInt(i + QUAD_HEIGHT);
+      int color = quads.getInt(i + QUAD_ARGB);
+
+      for (int y = qy; y < qy + qh; y++) {
+        for (int x = qx; x < qx + qw; x++) {
+          int pixel = x + (y * width);
+          assertEquals(color, CanvasMesher.argb(data, pixel), "Quad color differs at " + x + ", " + y);
+          coverage[pixel]++;
+        }
+      }
+    }
+
+    for (int pixel = 0; pixel < coverage.length; pixel++) {
+      boolean opaque = (CanvasMesher.argb(data, pixel) >>> 24) != 0;
+      boolean included = region == null || region.get(pixel);
+      int expected = opaque && included ? 1 : 0;
+
+      assertEquals(
+          expected,
+          coverage[pixel],
+          "Pixel " + (pixel % width) + ", " + (pixel / width) + " covered wrong amount of times"
+      );
+    }
+  }
+
+  static IntArrayList mesh(byte[] data, int width, int height) {
+    IntArrayList quads = new IntArrayList();
+    new CanvasMesher().mesh(data, width, height, quads);
+    assertCoverage(data, width, height, null, quads);
+    return quads;
+  }
+
+  @Test
+  void testSolid() {
+    IntArrayList quads = mesh(canvas(8, 6, (x, y) -> RED), 8, 6);
+    assertArrayEquals(new int[] {0, 0, 8, 6, RED}, quads.toIntArray());
+  }
+
+  @Test
+  void testTransparent() {
+    IntArrayList quads = mesh(canvas(4, 4, (x, y) -> CLEAR), 4, 4);
+    assertEquals(0, quads.size());
+  }
+
+  @Test
+  void testStripes() {
+    IntArrayList columns = mesh(canvas(6, 4, (x, y) -> x % 2 == 0 ? RED : BLUE), 6, 4);
+    assertEquals(6, columns.size() / QUAD_SIZE);
+
+    IntArrayList rows = mesh(canvas(6, 4, (x, y) -> y % 2 == 0 ? RED : BLUE), 6, 4);
+    assertEquals(4, rows.size() / QUAD_SIZE);
+  }
+
+  @Test
+  void testCheckerboard() {
+    IntArrayList quads = mesh(canvas(4, 4, (x, y) -> (x + y) % 2 == 0 ? RED : CLEAR), 4, 4);
+    assertEquals(8, quads.size() / QUAD_SIZE);
+  }
+
+  @Test
+  void testNoOverlap() {
+    // R R B
+    // R R R
+    // R R R
+    byte[] data = canvas(3, 3, (x, y) -> x == 2 && y == 0 ? BLUE : RED);
+    IntArrayList quads = mesh(data, 3, 3);
+
+    assertArrayEquals(
+        new int[] {
+            0, 0, 2, 3, RED,
+            2, 0, 1, 1, BLUE,
+            2, 1, 1, 2, RED
+        },
+        quads.toIntArray()
+    );
+  }
+
+  @Test
+  void testPartialRegion() {
+    int width = 8;
+    int height = 8;
+    byte[] data = canvas(width, height, (x, y) -> RED);
+
+    BitSet region = new BitSet();
+    for (int y = 2; y < 4; y++) {
+      for (int x = 2; x < 5; x++) {
+        region.set(x + (y * width));
+      }
+    }
+
+    IntArrayList quads = new IntArrayList();
+    int count = new CanvasMesher().meshRegion(data, width, height, region, 2, 2, 5, 4, quads);
+
+    assertEquals(1, count);
+    assertArrayEquals(new int[] {2, 2, 3, 2, RED}, quads.toIntArray());
+    assertCoverage(data, width, height, region, quads);
+  }
+}
@@ -6,4 +6,5 @@ include("chimera")
 include("dom")
 include("nlayout")
 include("render")
-include("hephaestus")
\ No newline at end of file
+include("hephaestus")
+include("benchmarks")